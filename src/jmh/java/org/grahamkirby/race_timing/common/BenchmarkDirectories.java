@@ -0,0 +1,51 @@
+/*
+ * race-timing - <https://github.com/grahamkirby/race-timing>
+ * Copyright © 2026 Graham Kirby (race-timing@kirby-family.net)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.grahamkirby.race_timing.common;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.stream.Stream;
+
+/** Creates and deletes the temporary directories holding the synthetic races used by benchmarks. */
+public final class BenchmarkDirectories {
+
+    private static final String DIRECTORY_NAME_PREFIX = "benchmark";
+
+    private BenchmarkDirectories() {
+    }
+
+    //////////////////////////////////////////////////////////////////////////////////////////////////
+
+    public static Path create() throws IOException {
+
+        return Files.createTempDirectory(DIRECTORY_NAME_PREFIX);
+    }
+
+    /** Deletes the given directory and all its contents. */
+    public static void delete(final Path directory) throws IOException {
+
+        try (final Stream<Path> paths = Files.walk(directory)) {
+
+            // Contents are deleted before the directories containing them.
+            for (final Path path : paths.sorted(Comparator.reverseOrder()).toList())
+                Files.delete(path);
+        }
+    }
+}
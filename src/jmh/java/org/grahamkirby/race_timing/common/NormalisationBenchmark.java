@@ -0,0 +1,105 @@
+/*
+ * race-timing - <https://github.com/grahamkirby/race-timing>
+ * Copyright © 2026 Graham Kirby (race-timing@kirby-family.net)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.grahamkirby.race_timing.common;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures normalisation of each of the names, clubs and times in a field of the given size.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class NormalisationBenchmark {
+
+    @Param({"100", "1000", "10000"})
+    public int field_size;
+
+    private Path directory;
+    private NormalisationProcessor normalisation;
+    private String[] runner_names;
+    private String[] club_names;
+    private String[] times;
+
+    //////////////////////////////////////////////////////////////////////////////////////////////////
+
+    @Setup
+    public void setup() throws IOException {
+
+        final SyntheticRaceGenerator races = new SyntheticRaceGenerator(field_size);
+        directory = BenchmarkDirectories.create();
+
+        final Path config_path = races.writeIndividualRace(directory, 1);
+
+        normalisation = ((RaceInternal) new RaceFactory().makeRace(config_path)).getNormalisationProcessor();
+
+        runner_names = new String[field_size];
+        club_names = new String[field_size];
+        times = new String[field_size];
+
+        for (int i = 0; i < field_size; i++) {
+            runner_names[i] = races.makeRawRunnerName();
+            club_names[i] = races.makeRawClubName();
+            times[i] = races.makeRawTime();
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDownTrial() throws IOException {
+
+        BenchmarkDirectories.delete(directory);
+    }
+
+    //////////////////////////////////////////////////////////////////////////////////////////////////
+
+    @Benchmark
+    public void parseTime(final Blackhole blackhole) {
+
+        for (final String time : times)
+            blackhole.consume(NormalisationProcessor.parseTime(time));
+    }
+
+    @Benchmark
+    public void cleanRunnerName(final Blackhole blackhole) {
+
+        for (final String name : runner_names)
+            blackhole.consume(normalisation.cleanRunnerName(name));
+    }
+
+    @Benchmark
+    public void cleanClubName(final Blackhole blackhole) {
+
+        for (final String club : club_names)
+            blackhole.consume(normalisation.cleanClubName(club));
+    }
+
+    @Benchmark
+    public void htmlEncode(final Blackhole blackhole) {
+
+        for (final String name : runner_names)
+            blackhole.consume(normalisation.htmlEncode(name));
+    }
+}
@@ -0,0 +1,105 @@
+/*
+ * race-timing - <https://github.com/grahamkirby/race-timing>
+ * Copyright © 2026 Graham Kirby (race-timing@kirby-family.net)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.grahamkirby.race_timing.common;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the generic result processing steps for an individual race with a field of the given size.
+ * <br />
+ * Sorting and prize allocation update the results in place, so each invocation first restores the
+ * results, and the cost of doing so is included in the measurement. Restoring them in a per-invocation
+ * setup method instead would distort the timing of such short operations.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RaceResultsProcessorBenchmark {
+
+    @Param({"100", "1000", "10000"})
+    public int field_size;
+
+    private Path directory;
+    private RaceResultsProcessor processor;
+    private List<RaceResult> sorted_results;
+    private List<RaceResult> shuffled_results;
+
+    //////////////////////////////////////////////////////////////////////////////////////////////////
+
+    @Setup(Level.Trial)
+    public void setupTrial() throws IOException {
+
+        directory = BenchmarkDirectories.create();
+
+        final Path config_path = new SyntheticRaceGenerator(field_size).writeIndividualRace(directory, field_size);
+        final RaceInternal race = (RaceInternal) new RaceFactory().makeRace(config_path);
+
+        if (race.processResults() == null) throw new IllegalStateException(race.getNotesProcessor().getCombinedNotes());
+
+        processor = race.getResultsProcessor();
+        sorted_results = new ArrayList<>(processor.getOverallResults());
+
+        shuffled_results = new ArrayList<>(sorted_results);
+        Collections.shuffle(shuffled_results, new Random(0));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDownTrial() throws IOException {
+
+        BenchmarkDirectories.delete(directory);
+    }
+
+    //////////////////////////////////////////////////////////////////////////////////////////////////
+
+    @Benchmark
+    public List<RaceResult> sortOverallResults() {
+
+        processor.overall_results = new ArrayList<>(shuffled_results);
+        processor.sortOverallResults();
+
+        return processor.overall_results;
+    }
+
+    @Benchmark
+    public List<RaceResult> setPositionStrings() {
+
+        processor.setPositionStrings(sorted_results);
+        return sorted_results;
+    }
+
+    @Benchmark
+    public RaceResultsProcessor allocatePrizes() {
+
+        processor.overall_results = sorted_results;
+        processor.clearPrizes();
+        processor.allocatePrizes();
+
+        return processor;
+    }
+}
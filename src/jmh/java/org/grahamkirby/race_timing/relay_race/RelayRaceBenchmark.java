@@ -0,0 +1,98 @@
+/*
+ * race-timing - <https://github.com/grahamkirby/race-timing>
+ * Copyright © 2026 Graham Kirby (race-timing@kirby-family.net)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.grahamkirby.race_timing.relay_race;
+
+import org.grahamkirby.race_timing.common.BenchmarkDirectories;
+import org.grahamkirby.race_timing.common.SyntheticRaceGenerator;
+import org.grahamkirby.race_timing.common.RaceResults;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures processing of a relay race with the given number of teams.
+ * <br />
+ * Interpolation of missing times and guessing of missing bib numbers update the raw results in
+ * place, so are measured as part of processing a freshly loaded race. Their cost is the difference
+ * between runs with and without missing data.
+ * <br />
+ * Since each invocation consumes a freshly loaded race, races are loaded in batches before each
+ * iteration, and each score is the time to process a batch of {@value #BATCH_SIZE} races. Loading
+ * each race in a per-invocation setup method instead would distort the timing.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, batchSize = RelayRaceBenchmark.BATCH_SIZE)
+@Measurement(iterations = 5, batchSize = RelayRaceBenchmark.BATCH_SIZE)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RelayRaceBenchmark {
+
+    static final int BATCH_SIZE = 20;
+
+    // Guessing of missing bib numbers scales badly, so larger fields are impractical.
+    @Param({"100", "300", "1000"})
+    public int field_size;
+
+    @Param({"0", "5"})
+    public int missing_data_percentage;
+
+    private Path directory;
+    private Path config_path;
+
+    private final RelayRace[] races = new RelayRace[BATCH_SIZE];
+    private int next_race_index;
+
+    //////////////////////////////////////////////////////////////////////////////////////////////////
+
+    @Setup(Level.Trial)
+    public void setupTrial() throws IOException {
+
+        directory = BenchmarkDirectories.create();
+        config_path = new SyntheticRaceGenerator(field_size).setMissingDataPercentage(missing_data_percentage).writeRelayRace(directory, field_size);
+
+        // Check that the generated race is valid, so that the error path is not being measured.
+        final RelayRace race = (RelayRace) new RelayRaceFactory().makeRace(config_path);
+        if (race.processResults() == null) throw new IllegalStateException(race.getNotesProcessor().getCombinedNotes());
+    }
+
+    @Setup(Level.Iteration)
+    public void setupIteration() throws IOException {
+
+        for (int i = 0; i < BATCH_SIZE; i++)
+            races[i] = (RelayRace) new RelayRaceFactory().makeRace(config_path);
+
+        next_race_index = 0;
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDownTrial() throws IOException {
+
+        BenchmarkDirectories.delete(directory);
+    }
+
+    //////////////////////////////////////////////////////////////////////////////////////////////////
+
+    @Benchmark
+    public RaceResults processResults() {
+
+        return races[next_race_index++].processResults();
+    }
+}
@@ -0,0 +1,88 @@
+/*
+ * race-timing - <https://github.com/grahamkirby/race-timing>
+ * Copyright © 2026 Graham Kirby (race-timing@kirby-family.net)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.grahamkirby.race_timing.series_race;
+
+import org.grahamkirby.race_timing.common.BenchmarkDirectories;
+import org.grahamkirby.race_timing.common.SyntheticRaceGenerator;
+import org.grahamkirby.race_timing.common.SyntheticRaceGenerator.SeriesScoring;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures calculation of series results with each scorer, for a pool of runners of the given size
+ * taking part in a series of individual races. The individual races are only processed once.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SeriesRaceScorerBenchmark {
+
+    @Param({"100", "1000", "5000"})
+    public int field_size;
+
+    @Param
+    public SeriesScoring scoring;
+
+    private Path directory;
+    private SeriesRace race;
+
+    //////////////////////////////////////////////////////////////////////////////////////////////////
+
+    @Setup(Level.Trial)
+    public void setupTrial() throws IOException {
+
+        directory = BenchmarkDirectories.create();
+
+        final Path config_path = new SyntheticRaceGenerator(field_size).writeSeriesRace(directory, field_size, SyntheticRaceGenerator.DEFAULT_NUMBER_OF_SERIES_RACES, scoring);
+
+        race = (SeriesRace) new SeriesRaceFactory().makeRace(config_path);
+        if (race.processResults() == null) throw new IllegalStateException(race.getNotesProcessor().getCombinedNotes());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDownTrial() throws IOException {
+
+        BenchmarkDirectories.delete(directory);
+    }
+
+    //////////////////////////////////////////////////////////////////////////////////////////////////
+
+    @Benchmark
+    public SeriesRaceResultsProcessor calculateResults() throws IOException {
+
+        final SeriesRaceResultsProcessor processor = new SeriesRaceResultsProcessor(makeScorer(), race);
+        processor.calculateResults();
+
+        return processor;
+    }
+
+    private SeriesRaceScorer makeScorer() {
+
+        return switch (scoring) {
+            case AGGREGATE_TIMES -> new AggregateTimesScorer(race);
+            case INDIVIDUAL_TIMES -> new IndividualTimesScorer(race);
+            case INDIVIDUAL_POSITIONS -> new IndividualPositionsScorer(race);
+        };
+    }
+}
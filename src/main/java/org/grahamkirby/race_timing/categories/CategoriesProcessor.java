@@ -18,6 +18,7 @@
 package org.grahamkirby.race_timing.categories;
 
 import org.grahamkirby.race_timing.common.Config;
+import org.grahamkirby.race_timing.common.ResourceCache;
 
 import java.io.IOException;
 import java.nio.file.Path;
@@ -90,8 +91,8 @@ public final class CategoriesProcessor  {
         final Path entry_categories_path = config.getPath(KEY_ENTRY_CATEGORIES_PATH);
         final Path prize_categories_path = config.getPath(KEY_PRIZE_CATEGORIES_PATH);
 
-        entry_categories = loadCategories(entry_categories_path, EntryCategory::new);
-        prize_categories = loadCategories(prize_categories_path, PrizeCategory::new);
+        entry_categories = ResourceCache.get(entry_categories_path, "entry categories", path -> loadCategories(path, EntryCategory::new));
+        prize_categories = ResourceCache.get(prize_categories_path, "prize categories", path -> loadCategories(path, PrizeCategory::new));
 
         validateCategories(entry_categories, EntryCategory::getGender);
         validateCategories(prize_categories, this::getEligibleGenderList);
@@ -209,12 +210,12 @@ public final class CategoriesProcessor  {
             throw new RuntimeException(ERROR_INCONSISTENT_GENDERS + " (" + String.join(CONFIG_INNER_SEPARATOR, entry_genders) + ") and " + EROR_PRIZE_CATEGORIES + " (" + String.join(CONFIG_INNER_SEPARATOR, prize_genders) + ")");
     }
 
-    private <C extends Category> List<C> loadCategories(final Path entry_categories_path, final Function<String, C> make_category) throws IOException {
+    private static <C extends Category> List<C> loadCategories(final Path categories_path, final Function<String, C> make_category) throws IOException {
 
-        return readAllLines(entry_categories_path).stream().
+        return readAllLines(categories_path).stream().
             filter(line -> !line.startsWith(COMMENT_SYMBOL)).
             map(make_category).
-            collect(Collectors.toList());
+            toList();
     }
 
     private boolean isResultEligibleForPrizeCategoryByClub(final String club, final PrizeCategory prize_category) {
@@ -0,0 +1,236 @@
+/*
+ * race-timing - <https://github.com/grahamkirby/race-timing>
+ * Copyright © 2026 Graham Kirby (race-timing@kirby-family.net)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.grahamkirby.race_timing.common;
+
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.TreeSet;
+import java.util.stream.Stream;
+
+import static org.grahamkirby.race_timing.common.Config.*;
+
+/**
+ * Records the inputs from which the output of a race was generated, so that the race need not be
+ * processed again if none of them has changed.
+ * <br />
+ * The manifest is a text file in the race's output directory, listing the selected outputs and a hash
+ * of each input file, of the software, and of each output file. Input files comprise the files in the race's input
+ * directory and its subdirectories (excluding output directories), the files referred to from its
+ * configuration including shared resource files, and, for a series, the input directories of its
+ * individual races. The output is up to date if all these hashes are unchanged, so deleting or
+ * editing an output file also causes the race to be processed again.
+ */
+public class BuildManifest {
+
+    private static final String DIGEST_ALGORITHM = "SHA-256";
+
+    private static final String SOFTWARE_ENTRY = "software";
+    private static final String INPUT_ENTRY = "input";
+    private static final String OUTPUT_ENTRY = "output";
+    private static final String OUTPUT_PLAN_ENTRY = "outputs";
+    private static final String ENTRY_SEPARATOR = "\t";
+
+    // The software hash doesn't change during a run, so is only computed once.
+    private static String software_hash;
+
+    private final Config config;
+    private final Path manifest_path;
+
+    // Recorded before the race is processed, so that any input changes made during processing
+    // will be detected next time.
+    private final List<String> input_lines;
+
+    //////////////////////////////////////////////////////////////////////////////////////////////////
+
+    public BuildManifest(final Config config) throws IOException {
+
+        this.config = config;
+
+        final String race_name = config.getString(KEY_RACE_NAME_FOR_FILENAMES);
+        final String year = config.getString(KEY_YEAR);
+
+        manifest_path = config.getOutputDirectoryPath().resolve(race_name + "_" + FILE_BUILD_MANIFEST + "_" + year + "." + TEXT_FILE_SUFFIX);
+        input_lines = makeInputLines();
+    }
+
+    //////////////////////////////////////////////////////////////////////////////////////////////////
+
+    /** Tests whether the output was generated from the current inputs and software, and is unchanged since. */
+    public boolean isUpToDate() throws IOException {
+
+        if (!Files.exists(manifest_path)) return false;
+
+        final List<String> recorded_lines = readAllLines(manifest_path);
+
+        // Outputs are listed after inputs.
+        if (recorded_lines.size() <= input_lines.size() || !recorded_lines.subList(0, input_lines.size()).equals(input_lines)) return false;
+
+        for (final String line : recorded_lines.subList(input_lines.size(), recorded_lines.size())) {
+
+            final String[] elements = line.split(ENTRY_SEPARATOR);
+            final Path output_path = config.getOutputDirectoryPath().resolve(elements[1]);
+
+            if (!elements[0].equals(OUTPUT_ENTRY) || !Files.isRegularFile(output_path) || !hash(output_path).equals(elements[2])) return false;
+        }
+
+        return true;
+    }
+
+    /** Records the inputs as they were when this manifest was created, and the current outputs. */
+    public void write() throws IOException {
+
+        final List<String> lines = new ArrayList<>(input_lines);
+
+        for (final Path output_path : getOutputPaths())
+            lines.add(OUTPUT_ENTRY + ENTRY_SEPARATOR + output_path.getFileName() + ENTRY_SEPARATOR + hash(output_path));
+
+        Files.write(manifest_path, lines);
+    }
+
+    //////////////////////////////////////////////////////////////////////////////////////////////////
+
+    private List<String> makeInputLines() throws IOException {
+
+        final List<String> lines = new ArrayList<>();
+        lines.add(SOFTWARE_ENTRY + ENTRY_SEPARATOR + getSoftwareHash());
+
+        // A different selection of outputs may need files that weren't generated last time.
+        lines.add(OUTPUT_PLAN_ENTRY + ENTRY_SEPARATOR + config.get(KEY_OUTPUTS));
+
+        for (final Path input_path : getInputPaths())
+            lines.add(INPUT_ENTRY + ENTRY_SEPARATOR + input_path + ENTRY_SEPARATOR + hash(input_path));
+
+        return lines;
+    }
+
+    private List<Path> getInputPaths() throws IOException {
+
+        // Sorted so that the manifest doesn't depend on the order in which files are listed.
+        final TreeSet<Path> paths = new TreeSet<>();
+        paths.add(IGNORED_FILE_NAMES_PATH);
+
+        for (final Path directory : getInputDirectories(config))
+            paths.addAll(getFilesWithin(directory));
+
+        for (final Path path : config.getPathValues())
+            if (Files.isRegularFile(path)) paths.add(path.normalize());
+
+        return new ArrayList<>(paths);
+    }
+
+    /** Gets the directories whose contents, other than output directories, are inputs to the race with the given config. */
+    static List<Path> getInputDirectories(final Config config) {
+
+        final List<Path> directories = new ArrayList<>();
+        directories.add(config.getConfigPath().getParent());
+
+        // The individual races of a series may be outside its input directory.
+        if (config.containsKey(KEY_RACES))
+            for (final String race_config_path : config.getString(KEY_RACES).split(CONFIG_OUTER_SEPARATOR))
+                if (!race_config_path.isBlank())
+                    directories.add(config.interpretPath(race_config_path.strip()).getParent());
+
+        return directories;
+    }
+
+    /** Tests whether the given relative path lies within an output directory. */
+    static boolean isWithinOutputDirectory(final Path relative_path) {
+
+        for (final Path element : relative_path)
+            if (element.toString().equals(OUTPUT_DIRECTORY_NAME)) return true;
+
+        return false;
+    }
+
+    private List<Path> getOutputPaths() throws IOException {
+
+        try (final Stream<Path> paths = Files.list(config.getOutputDirectoryPath())) {
+
+            return paths.
+                filter(Files::isRegularFile).
+                filter(path -> !path.equals(manifest_path)).
+                sorted().
+                toList();
+        }
+    }
+
+    private static List<Path> getFilesWithin(final Path directory) throws IOException {
+
+        if (!Files.isDirectory(directory)) return List.of();
+
+        try (final Stream<Path> paths = Files.walk(directory)) {
+
+            return paths.
+                filter(Files::isRegularFile).
+                filter(path -> !isWithinOutputDirectory(directory.relativize(path))).
+                map(Path::normalize).
+                toList();
+        }
+    }
+
+    /** Gets a hash of the compiled classes, which changes whenever the processing code changes. */
+    public static synchronized String getSoftwareHash() throws IOException {
+
+        if (software_hash == null) {
+
+            // The location of the compiled classes, which is either a jar file or a directory.
+            final Path code_location = getCodeLocation();
+            final MessageDigest digest = makeDigest();
+
+            for (final Path path : Files.isDirectory(code_location) ? new TreeSet<>(getFilesWithin(code_location)) : List.of(code_location))
+                digest.update(Files.readAllBytes(path));
+
+            software_hash = HexFormat.of().formatHex(digest.digest());
+        }
+
+        return software_hash;
+    }
+
+    private static Path getCodeLocation() {
+
+        try {
+            return Path.of(BuildManifest.class.getProtectionDomain().getCodeSource().getLocation().toURI());
+
+        } catch (final URISyntaxException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private static String hash(final Path path) throws IOException {
+
+        return HexFormat.of().formatHex(makeDigest().digest(Files.readAllBytes(path)));
+    }
+
+    private static MessageDigest makeDigest() {
+
+        try {
+            return MessageDigest.getInstance(DIGEST_ALGORITHM);
+
+        } catch (final NoSuchAlgorithmException e) {
+            // Every Java platform is required to support SHA-256.
+            throw new RuntimeException(e);
+        }
+    }
+}
@@ -0,0 +1,128 @@
+/*
+ * race-timing - <https://github.com/grahamkirby/race-timing>
+ * Copyright © 2026 Graham Kirby (race-timing@kirby-family.net)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.grahamkirby.race_timing.common;
+
+import com.itextpdf.io.font.constants.StandardFonts;
+import com.itextpdf.kernel.font.PdfFont;
+import com.itextpdf.kernel.pdf.PdfDocument;
+import com.itextpdf.kernel.pdf.PdfWriter;
+import com.itextpdf.layout.Document;
+import com.itextpdf.layout.element.Paragraph;
+import com.itextpdf.layout.element.Text;
+import org.grahamkirby.race_timing.categories.PrizeCategory;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+import static org.grahamkirby.race_timing.common.Config.*;
+
+/** Prints prizes to a PDF document, one section per prize category. */
+public abstract class CommonPrizesPDFPrinter implements PrizesPDFPrinter {
+
+    public static final String PDF_PRIZE_FONT_NAME = StandardFonts.HELVETICA;
+    public static final String PDF_PRIZE_FONT_BOLD_NAME = StandardFonts.HELVETICA_BOLD;
+    public static final String PDF_PRIZE_FONT_ITALIC_NAME = StandardFonts.HELVETICA_OBLIQUE;
+    public static final int PDF_PRIZE_FONT_SIZE = 24;
+    public static final int INDENT = 24;
+
+    protected final RaceResults race_results;
+
+    //////////////////////////////////////////////////////////////////////////////////////////////////
+
+    protected CommonPrizesPDFPrinter(final RaceResults race_results) {
+        this.race_results = race_results;
+    }
+
+    //////////////////////////////////////////////////////////////////////////////////////////////////
+
+    /** Gets the text for a prize winner. */
+    protected abstract String getPrizeWinnerText(RaceResult result);
+
+    @Override
+    public void printPrizes(final OutputStream stream) throws IOException {
+
+        try (final Document document = new Document(new PdfDocument(new PdfWriter(stream)))) {
+            printPrizes(document, new PdfFontPool());
+        }
+    }
+
+    protected void printPrizes(final Document document, final PdfFontPool fonts) throws IOException {
+
+        final String year = race_results.getConfig().getString(KEY_YEAR);
+        final String race_name = race_results.getConfig().getRaceName();
+
+        final ResultPrinter printer = new PrizeResultPrinterPDF(document, fonts);
+
+        final Paragraph section_header = new Paragraph().
+            setFont(fonts.getFont(PDF_PRIZE_FONT_NAME)).
+            setFontSize(PDF_PRIZE_FONT_SIZE).
+            add(race_name + " " + year + " " + CATEGORY_PRIZES);
+
+        document.add(section_header);
+
+        for (final PrizeCategory category : RaceOutput.getCategoriesWithPrizes(race_results))
+            printPrizes(category, document, fonts, printer);
+    }
+
+    //////////////////////////////////////////////////////////////////////////////////////////////////
+
+    /** Prints prizes within a given category. */
+    private void printPrizes(final PrizeCategory category, final Document document, final PdfFontPool fonts, final ResultPrinter printer) throws IOException {
+
+        final PdfFont bold_font = fonts.getFont(PDF_PRIZE_FONT_BOLD_NAME);
+
+        final Paragraph category_header = new Paragraph(CATEGORY + ": " + category.getLongName()).
+            setFont(bold_font).
+            setUnderline().
+            setPaddingTop(PDF_PRIZE_FONT_SIZE);
+
+        document.add(category_header);
+
+        printer.print(race_results.getPrizeWinners(category));
+    }
+
+    private final class PrizeResultPrinterPDF extends ResultPrinter {
+
+        private final Document document;
+        private final PdfFontPool fonts;
+
+        private PrizeResultPrinterPDF(final Document document, final PdfFontPool fonts) {
+
+            super(CommonPrizesPDFPrinter.this.race_results, null);
+            this.document = document;
+            this.fonts = fonts;
+        }
+
+        @Override
+        public void printResult(final RaceResult result) throws IOException {
+
+            final PdfFont font = fonts.getFont(PDF_PRIZE_FONT_NAME);
+            final Paragraph paragraph = new Paragraph().setFont(font).setMarginBottom(0);
+
+            paragraph.add(new Text(getPrizeWinnerText(result)).setFont(font));
+
+            document.add(paragraph);
+        }
+
+        @Override
+        public void printNoResults() throws IOException {
+
+            document.add(new Paragraph(NO_RESULTS).setFont(fonts.getFont(PDF_PRIZE_FONT_ITALIC_NAME)));
+        }
+    }
+}
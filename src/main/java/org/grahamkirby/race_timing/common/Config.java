@@ -17,7 +17,6 @@
  */
 package org.grahamkirby.race_timing.common;
 
-import com.itextpdf.io.font.constants.StandardFonts;
 
 import java.io.*;
 import java.nio.charset.StandardCharsets;
@@ -37,20 +36,24 @@ public class Config {
     public static final int TIME_INDEX = 3;
     public static final int COMMENT_INDEX = 4;
 
-    public static final int INDENT = 24;
-
     public static final Duration DUMMY_WINNING_TIME = Duration.ofMinutes(10);
     public static final Duration DUMMY_INTERVAL = Duration.ofSeconds(12);
 
     public static final String CSV_FILE_SUFFIX = "csv";
     public static final String HTML_FILE_SUFFIX = "html";
     public static final String PDF_FILE_SUFFIX = "pdf";
+    public static final String JSON_FILE_SUFFIX = "json";
     public static final String TEXT_FILE_SUFFIX = "txt";
+    public static final String SNAPSHOT_FILE_SUFFIX = "bin";
 
     public static final String FILE_TIMES_COLLATED = "times_collated";
     public static final String FILE_POCKET_TIMER_INPUT = "racers";
     public static final String FILE_DUMMY_RAWTIMES = "dummy_rawtimes";
     public static final String FILE_PROCESSING_NOTES = "processing_notes";
+    public static final String FILE_SNAPSHOT = "snapshot";
+    public static final String FILE_BUILD_MANIFEST = "build_manifest";
+    public static final String FILE_TIMINGS = "timings";
+    public static final String FILE_RESULTS = "results";
 
     public static final String ERROR_DUPLICATED_CATEGORY_NAME = "duplicated category name";
     public static final String ERROR_ILLEGAL_AGE_RANGE = "illegal age range";
@@ -72,6 +75,7 @@ public class Config {
     public static final String INVALID_CATEGORY_IN_ENTRY = "invalid category in entry";
     public static final String AT_LINE1 = "result out of order at line";
     public static final String NO_APPLICABLE_RACE_TYPE_FOR_CONFIG_FILE = "no applicable race type for config file";
+    public static final String NO_RAW_RESULTS_FILE_FOR_CONFIG_FILE = "no raw results file to watch for config file";
     public static final String CANNOT_CREATE_OUTPUT_DIRECTORY_OR_FILE_WITHIN_IT = "cannot create output directory, or file within it";
     public static final String INVALID_NUMBER_OF_ELEMENTS = "invalid number of elements";
     public static final String UNREGISTERED_BIB_NUMBER = "unregistered bib number";
@@ -84,6 +88,8 @@ public class Config {
     public static final String DUPLICATE_RACES_SPECIFIED_IN_FILE = "duplicate races specified in file";
     public static final String INVALID_CONFIG_FOR_RACE = "invalid config for race";
     public static final String INVALID_CATEGORY_CHANGE = "invalid category change";
+    public static final String INVALID_OUTPUT = "invalid output";
+    public static final String INVALID_PAGE_SIZE = "invalid page size";
     public static final String CHANGED_FROM = "changed from";
     public static final String DURING_SERIES = "during series";
 
@@ -98,6 +104,11 @@ public class Config {
     public static final String CATEGORY = "Category";
     public static final String CATEGORY_PRIZES = "Category Prizes";
     public static final String COMBINED = "combined";
+    public static final String CATEGORIES = "Categories";
+    public static final String INDEX = "Index";
+    public static final String PREVIOUS = "Previous";
+    public static final String NEXT = "Next";
+    public static final String RESULTS_BY_PAGE = "Results by page";
 
     public static final String NOTES_CONVERTED_TO_TITLE_CASE = "Converted to title case";
     public static final String NOTES_UNKNOWN_CATEGORY = "unknown category so omitted from overall results";
@@ -182,6 +193,7 @@ public class Config {
 
     public static final String KEY_ANNOTATIONS_PATH = "ANNOTATIONS_PATH";
     public static final String KEY_CAPITALISATION_STOP_WORDS_PATH = "CAPITALISATION_STOP_WORDS_PATH";
+    public static final String KEY_CACHE_INDIVIDUAL_RACES = "CACHE_INDIVIDUAL_RACES";
     public static final String KEY_CATEGORY_MAP_PATH = "CATEGORY_MAP_PATH";
     public static final String KEY_CHECK_INPUT_FILES_USED = "CHECK_INPUT_FILES_USED";
     public static final String KEY_DEAD_HEATS = "DEAD_HEATS";
@@ -223,6 +235,9 @@ public class Config {
     public static final String KEY_RACE_NAME_FOR_FILENAMES = "RACE_NAME_FOR_FILENAMES";
     public static final String KEY_RACE_CATEGORIES_PATH = "RACE_CATEGORIES_PATH";
     public static final String KEY_RACE_NAME_FOR_RESULTS = "RACE_NAME_FOR_RESULTS";
+    public static final String KEY_OUTPUT_TIMINGS = "OUTPUT_TIMINGS";
+    public static final String KEY_OUTPUTS = "OUTPUTS";
+    public static final String KEY_HTML_PAGE_SIZE = "HTML_PAGE_SIZE";
     public static final String KEY_RACE_TEMPORAL_ORDER = "RACE_TEMPORAL_ORDER";
     public static final String KEY_RAW_RESULTS_PATH = "RAW_RESULTS_PATH";
     public static final String KEY_SCORE_FOR_FIRST_PLACE = "SCORE_FOR_FIRST_PLACE";
@@ -246,11 +261,6 @@ public class Config {
     /** Comment symbol used within configuration files. */
     public static final String COMMENT_SYMBOL = "#";
 
-    public static final String PDF_PRIZE_FONT_NAME = StandardFonts.HELVETICA;
-    public static final String PDF_PRIZE_FONT_BOLD_NAME = StandardFonts.HELVETICA_BOLD;
-    public static final String PDF_PRIZE_FONT_ITALIC_NAME = StandardFonts.HELVETICA_OBLIQUE;
-    public static final int PDF_PRIZE_FONT_SIZE = 24;
-
     /** Platform-specific line separator used in creating output files. */
     public static final String LINE_SEPARATOR = System.lineSeparator();
 
@@ -266,13 +276,14 @@ public class Config {
     /** Web link to application on GitHub. */
     public static final String SOFTWARE_CREDIT_LINK_TEXT = "<p style=\"font-size:smaller; font-style:italic;\">Results generated using <a href=\"https://github.com/grahamkirby/race-timing\">race-timing</a>.</p>";
     public static final String OUTPUT_DIRECTORY_NAME = "output";
+    public static final String CONFIG_FILE_NAME = "config." + TEXT_FILE_SUFFIX;
     public static final String MISSING_CONFIG_FILE = "missing config file";
     public static final String UNUSED_KEYS = "unused keys";
     public static final String UNUSED_INPUT_FILES = "unused input files";
 
     //////////////////////////////////////////////////////////////////////////////////////////////////
 
-    private final Map<String, Object> config_map;
+    private final Map<String, Object> config_map = new HashMap<>();
     private final List<String> unused_keys;
     private final List<Path> unused_files;
 
@@ -280,16 +291,18 @@ public class Config {
     private final List<ConfigProcessor> config_adjusters = new ArrayList<>();
     private final List<ConfigProcessor> config_validators = new ArrayList<>();
 
+    // The timings key is read without recording it as used, both before and after its value has been parsed.
+    private final PhaseTimings timings = new PhaseTimings(
+        () -> (String) config_map.get(KEY_RACE_NAME_FOR_RESULTS),
+        () -> Boolean.parseBoolean(String.valueOf(config_map.get(KEY_OUTPUT_TIMINGS))));
+
     //////////////////////////////////////////////////////////////////////////////////////////////////
 
     public Config(final Path config_file_path) throws IOException {
 
         this.config_path = config_file_path;
-        config_map = new HashMap<>();
 
-        final Properties properties = loadProperties(config_file_path);
-
-        properties.forEach((key, value) -> config_map.put((String) key, value));
+        timings.time("load config", () -> loadProperties(config_file_path).forEach((key, value) -> config_map.put((String) key, value)), config_map::size);
 
         unused_keys = new ArrayList<>(config_map.keySet());
         unused_keys.removeAll(REQUIRED_CONFIG_KEYS);
@@ -300,7 +313,12 @@ public class Config {
 
     public static List<String> getIgnoredFileNames() throws IOException {
 
-        return readAllLines(IGNORED_FILE_NAMES_PATH).stream().
+        return ResourceCache.get(IGNORED_FILE_NAMES_PATH, "ignored file names", Config::loadIgnoredFileNames);
+    }
+
+    private static List<String> loadIgnoredFileNames(final Path ignored_file_names_path) throws IOException {
+
+        return readAllLines(ignored_file_names_path).stream().
             map(NormalisationProcessor::stripComment).
             filter(Predicate.not(String::isBlank)).
             toList();
@@ -352,6 +370,35 @@ public class Config {
         }
     }
 
+    /** Gets the names of the input files not yet used. */
+    public List<String> getUnusedInputFileNames() {
+
+        return unused_files.stream().
+            map(path -> path.getFileName().toString()).
+            toList();
+    }
+
+    /** Records the given keys as used, without getting their values. */
+    public void recordKeysAsUsed(final List<String> keys) {
+
+        unused_keys.removeAll(keys);
+    }
+
+    /** Records as used all input files other than those with the given names. */
+    public void retainUnusedInputFiles(final List<String> file_names) {
+
+        unused_files.removeIf(path -> !file_names.contains(path.getFileName().toString()));
+    }
+
+    /** Gets all path values, without recording the corresponding keys or files as used. */
+    public List<Path> getPathValues() {
+
+        return config_map.values().stream().
+            filter(value -> value instanceof Path).
+            map(value -> (Path) value).
+            toList();
+    }
+
     public Object get(final String key) {
 
         unused_keys.remove(key);
@@ -426,14 +473,23 @@ public class Config {
 
     public void processConfigAdjusters() {
 
-        for (final ConfigProcessor processor : config_adjusters)
-            processor.processConfig();
+        timings.time("adjust config", () -> {
+            for (final ConfigProcessor processor : config_adjusters)
+                processor.processConfig();
+        }, config_map::size);
     }
 
     public void processConfigValidators() {
 
-        for (final ConfigProcessor processor : config_validators)
-            processor.processConfig();
+        timings.time("validate config", () -> {
+            for (final ConfigProcessor processor : config_validators)
+                processor.processConfig();
+        }, config_map::size);
+    }
+
+    /** Gets the timings of the phases of processing the race using this configuration. */
+    public PhaseTimings getTimings() {
+        return timings;
     }
 
     /**
@@ -0,0 +1,40 @@
+/*
+ * race-timing - <https://github.com/grahamkirby/race-timing>
+ * Copyright © 2026 Graham Kirby (race-timing@kirby-family.net)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.grahamkirby.race_timing.common;
+
+import java.nio.file.Path;
+import java.util.List;
+
+/** A race whose results can be updated as further raw results are recorded, without reprocessing
+ *  the results already recorded. */
+public interface IncrementalRace extends Race {
+
+    /**
+     * Gets the raw results file that is appended to as results are recorded.
+     * @return the raw results path, or null if the race is not processed from raw results
+     */
+    Path getRawResultsPath();
+
+    /**
+     * Adds results for lines newly appended to the raw results file, updating positions and prizes.
+     * @param lines the appended lines, which may include comments and blank lines
+     * @param first_line_number the line number within the raw results file of the first appended line
+     * @return a view on the updated results
+     */
+    RaceResults appendRawResults(List<String> lines, int first_line_number);
+}
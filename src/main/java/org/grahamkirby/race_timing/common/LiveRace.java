@@ -0,0 +1,260 @@
+/*
+ * race-timing - <https://github.com/grahamkirby/race-timing>
+ * Copyright © 2026 Graham Kirby (race-timing@kirby-family.net)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.grahamkirby.race_timing.common;
+
+import java.io.IOException;
+import java.nio.file.*;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static java.nio.file.StandardWatchEventKinds.ENTRY_CREATE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_DELETE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_MODIFY;
+import static org.grahamkirby.race_timing.common.Config.*;
+
+/**
+ * Processes a race and then keeps its results up to date while the raw results file is being
+ * recorded, rewriting the results each time new lines are appended to the file.
+ * <br />
+ * Where the race supports it, appended lines are added to the existing results without reprocessing
+ * the whole race. The race is processed from scratch if it does not, if lines already read from the
+ * raw results file have been changed, if any other input file has changed, or if an error occurred
+ * previously. Notes are only written when the race is processed from scratch.
+ * <br />
+ * A series race has no raw results file of its own, so it is processed from scratch whenever any
+ * input to the series or to one of its individual races changes.
+ * <br />
+ * If a port number is given as a second argument, the output is served over HTTP by a
+ * {@link ResultsServer} on that port instead of being written to the output directory. Each new
+ * finisher and prize change is then also pushed to event stream clients.
+ */
+public class LiveRace {
+
+    private final Path config_file_path;
+    private final ResultsServer server;
+
+    private Race race;
+    private RawResultsTail tail;
+    private boolean reprocessing_required;
+
+    // Directories whose contents, other than the raw results file, are inputs to the race.
+    private Set<Path> input_directories = Set.of();
+
+    //////////////////////////////////////////////////////////////////////////////////////////////////
+
+    public LiveRace(final Path config_file_path) {
+        this(config_file_path, null);
+    }
+
+    /** Creates a live race whose output is published by the given server, if not null. */
+    public LiveRace(final Path config_file_path, final ResultsServer server) {
+
+        this.config_file_path = config_file_path;
+        this.server = server;
+    }
+
+    //////////////////////////////////////////////////////////////////////////////////////////////////
+
+    public static void main(final String[] args) {
+
+        try {
+            final ResultsServer server = args.length > 1 ? new ResultsServer(Integer.parseInt(args[1])) : null;
+            if (server != null) server.start();
+
+            new LiveRace(Path.of(args[0]), server).processAndWatch();
+
+        } catch (final Exception e) {
+            System.err.println(e.getMessage() + LINE_SEPARATOR);
+        }
+    }
+
+    /** Processes the race, then updates the results whenever the raw results file or any other
+     *  file in an input directory changes. Only returns if interrupted or if the files cannot be
+     *  watched. */
+    public void processAndWatch() throws IOException, InterruptedException {
+
+        try (final WatchService watcher = FileSystems.getDefault().newWatchService()) {
+
+            update();
+            watchInputs(watcher);
+
+            while (true) {
+
+                final WatchKey key = watcher.take();
+                final Path directory = (Path) key.watchable();
+
+                boolean changed = false;
+
+                for (final WatchEvent<?> event : key.pollEvents()) {
+
+                    final boolean overflow = event.kind() == StandardWatchEventKinds.OVERFLOW;
+
+                    if (!overflow && isRawResultsFile(directory.resolve((Path) event.context())))
+                        changed = true;
+
+                    // Entries, categories and other inputs are only read when the race is processed from scratch.
+                    else if (overflow || input_directories.contains(directory)) {
+                        inputChanged();
+                        changed = true;
+                    }
+                }
+
+                if (changed) {
+                    update();
+
+                    // The individual races of a series may have changed.
+                    watchInputs(watcher);
+                }
+
+                if (!key.reset()) return;
+            }
+        }
+    }
+
+    /** Brings the results up to date with the current contents of the raw results file, processing
+     *  the race from scratch on the first call. */
+    public void update() throws IOException {
+
+        if (race == null || reprocessing_required || tail == null || !(race instanceof IncrementalRace) || tail.wasRewritten())
+            processFully();
+        else
+            processIncrementally((IncrementalRace) race);
+    }
+
+    /** Records that an input file other than the raw results file has changed, so that the race
+     *  will be processed from scratch at the next update. */
+    public void inputChanged() {
+
+        reprocessing_required = true;
+    }
+
+    //////////////////////////////////////////////////////////////////////////////////////////////////
+
+    private void processFully() throws IOException {
+
+        race = new RaceFactory().makeRace(config_file_path);
+        if (server != null) server.attach((RaceInternal) race);
+        final Path raw_results_path = getRawResultsPath(race);
+        tail = raw_results_path != null ? new RawResultsTail(raw_results_path) : null;
+
+        // Record the file contents before processing, so that any lines appended during processing
+        // will be picked up by the next update.
+        if (tail != null) tail.skipToEnd();
+
+        reprocessing_required = true;
+
+        if (race.configIsValid()) {
+
+            // Prize changes are published as events, whether or not any prize output is planned.
+            if (server != null) {
+
+                final Config config = ((RaceInternal) race).getConfig();
+                config.replace(KEY_OUTPUTS, ((OutputPlan) config.get(KEY_OUTPUTS)).requiring(OutputPlan.View.PRIZES));
+            }
+
+            final RaceResults results = race.processResults();
+
+            // If results is null then an error has occurred during processing.
+            // Details will have been recorded in the notes.
+            if (results != null) {
+
+                if (results.getOverallResults().isEmpty())
+                    race.outputPreRaceFiles();
+                else
+                    race.outputResults(results);
+
+                reprocessing_required = false;
+            }
+        }
+
+        race.outputNotes();
+
+        // Clients cannot tell which results have changed, so must reload them all.
+        if (server != null) server.publishEvent(ResultsEventStream.RESET_EVENT, Map.of());
+    }
+
+    private void processIncrementally(final IncrementalRace incremental_race) throws IOException {
+
+        final int first_line_number = tail.getNextLineNumber();
+        final List<String> lines = tail.readNewLines();
+
+        if (lines.isEmpty()) return;
+
+        try {
+            final ResultsDelta delta = server != null ? new ResultsDelta((RaceInternal) incremental_race) : null;
+            final RaceResults results = incremental_race.appendRawResults(lines, first_line_number);
+
+            if (!results.getOverallResults().isEmpty())
+                incremental_race.outputResults(results);
+
+            if (delta != null) publishEvents(delta);
+
+        } catch (final RuntimeException e) {
+
+            // The error will be recorded in the notes when the race is next processed from scratch.
+            System.err.println(e.getMessage() + LINE_SEPARATOR);
+            reprocessing_required = true;
+        }
+    }
+
+    private void publishEvents(final ResultsDelta delta) {
+
+        for (final ResultsDelta.FinisherEvent event : delta.getFinisherEvents())
+            server.publishEvent(ResultsEventStream.FINISHER_EVENT, event);
+
+        for (final ResultsDelta.PrizeEvent event : delta.getPrizeEvents())
+            server.publishEvent(ResultsEventStream.PRIZE_EVENT, event);
+    }
+
+    private void watchInputs(final WatchService watcher) throws IOException {
+
+        final Set<Path> directories = new HashSet<>();
+
+        for (final Path directory : BuildManifest.getInputDirectories(((RaceInternal) race).getConfig()))
+            directories.add(directory.toAbsolutePath().normalize());
+
+        // Registering a directory that is already watched has no effect.
+        for (final Path directory : directories)
+            if (Files.isDirectory(directory))
+                directory.register(watcher, ENTRY_CREATE, ENTRY_MODIFY, ENTRY_DELETE);
+
+        if (tail != null)
+            tail.getRawResultsPath().toAbsolutePath().normalize().getParent().register(watcher, ENTRY_CREATE, ENTRY_MODIFY);
+
+        input_directories = directories;
+    }
+
+    private boolean isRawResultsFile(final Path path) {
+
+        return tail != null && tail.getRawResultsPath().toAbsolutePath().normalize().equals(path);
+    }
+
+    /** Gets the path of the race's raw results file, or null for a series race, which has none of its own. */
+    private Path getRawResultsPath(final Race race) {
+
+        final Config config = race instanceof RaceInternal race_internal ? race_internal.getConfig() : null;
+        final Path raw_results_path = config != null ? config.getPath(KEY_RAW_RESULTS_PATH) : null;
+
+        if (raw_results_path == null && (config == null || !config.containsKey(KEY_RACES)))
+            throw new RuntimeException(NO_RAW_RESULTS_FILE_FOR_CONFIG_FILE + " '" + config_file_path.getFileName() + "'");
+
+        return raw_results_path;
+    }
+}
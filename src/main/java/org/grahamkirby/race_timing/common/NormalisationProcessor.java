@@ -22,7 +22,6 @@ import java.nio.file.Path;
 import java.time.Duration;
 import java.time.format.DateTimeParseException;
 import java.util.*;
-import java.util.function.Function;
 import java.util.stream.Collectors;
 
 import static org.grahamkirby.race_timing.common.Config.*;
@@ -38,20 +37,34 @@ public class NormalisationProcessor {
     private static final int DURATION_PARSING_MAX_NUMBER_OF_DECIMAL_PLACES = (int) Math.log10(NANOSECONDS_PER_SECOND);
     private static final int DURATION_DISPLAY_MAX_NUMBER_OF_DECIMAL_PLACES = 3;
 
+    private static final char LAST_LATIN_1_CHARACTER = '\u00FF';
+
     /** Characters treated as word separators when converting string to title case. */
-    private static final Set<Character> WORD_SEPARATORS = Set.of(' ', '-', '\'', '"', '‘', '’', '“', '”');
+    private static final String WORD_SEPARATORS = " -'\"‘’“”";
+
+    /** Mask selecting the bits of a case-folded hash used to filter stop word lookups. */
+    private static final int STOP_WORD_HASH_MASK = (1 << 16) - 1;
+
+    /** Capitalisation stop words indexed by case-folded form, with the masked hashes of the stop words. */
+    private record StopWords(Map<String, List<String>> words_by_folded_form, BitSet hashes) {}
 
-    /** Used when replacing double spaces with single space. */
-    private static final Map<String, String> DOUBLE_SPACE_REMOVAL_MAP = Map.of("  ", " ");
+    /** Strings that should not be converted to title case, indexed by case-folded form. Each entry
+     *  lists the stop words differing only in case, in stop word set iteration order. */
+    private Map<String, List<String>> capitalisation_stop_words;
 
-    /** Strings that should not be converted to title case. */
-    private Set<String> capitalisation_stop_words;
+    /** Masked case-folded hashes of the stop words, so that most words can be rejected without forming
+     *  their case-folded key. */
+    private BitSet capitalisation_stop_word_hashes;
 
     /** Map for entry category normalisation. */
     private Map<String, String> category_map;
 
-    /** Mappings for non-standard entry column formats. */
-    private List<String> entry_column_mappings;
+    /** Mappings for non-standard entry column formats. Each mapped element is formed from the listed
+     *  zero-based column indices of the original elements. */
+    private int[][] entry_column_mappings;
+
+    /** Reused when combining multiple columns into a single mapped element. */
+    private final StringBuilder mapped_element_builder = new StringBuilder();
 
     /** Records words within runner, club and team names that are not already in title case in the entry file. */
     private Set<String> non_title_case_words;
@@ -62,16 +75,6 @@ public class NormalisationProcessor {
     /** Map from accented strings to corresponding entities. */
     private Map<String, String> normalised_html_entities;
 
-    private static final List<Function<String, String>> QUOTE_CLEANING_MAPPINGS = List.of(
-
-        x -> x.replace("'", "’"),             // Straight apostrophe/quote to curly apostrophe/closing curly quote.
-        x -> x.replace("\"", "”"),            // Straight double quote to closing curly.
-        x -> x.replaceAll("([- ])’", "$1‘"),  // Closing curly quote at start of word (preceded by space or hyphen) to opening.
-        x -> x.replaceAll("^’", "‘"),         // Closing curly quote at start of string to opening.
-        x -> x.replaceAll("([- ])”", "$1“"),  // Closing double curly quote at start of word (preceded by space or hyphen) to opening.
-        x -> x.replaceAll("^”", "“")          // Closing double curly quote at start of string to opening.
-    );
-
     //////////////////////////////////////////////////////////////////////////////////////////////////
 
     private final Config config;
@@ -103,26 +106,51 @@ public class NormalisationProcessor {
     }
 
     /** Maps race entry elements as defined by the previously configured mapping. */
-    public List<String> mapRaceEntryElements(final List<String> elements) {
+    public String[] mapRaceEntryElements(final String[] elements) {
 
         // Expected format of mappings: "1,3-2,4,5",
         // meaning elements 2 and 3 should be swapped and concatenated with a space to give compound element.
 
-        return entry_column_mappings.stream().
-            map(s -> getMappedElement(elements, s)).
-            toList();
+        final String[] mapped_elements = new String[entry_column_mappings.length];
+
+        for (int i = 0; i < mapped_elements.length; i++)
+            mapped_elements[i] = getMappedElement(elements, entry_column_mappings[i]);
+
+        return mapped_elements;
     }
 
     //////////////////////////////////////////////////////////////////////////////////////////////////
 
+    /** Removes leading and trailing whitespace, replaces each pair of consecutive spaces with a
+     *  single space, and replaces straight quotes and apostrophes with curly versions. */
     public static String cleanSpacesAndQuotes(final String name) {
 
-        // Remove extra whitespace.
-        final String step1 = replaceAllMapEntries(name, DOUBLE_SPACE_REMOVAL_MAP);
-        final String step2 = step1.strip();
+        int start = 0;
+        int end = name.length();
+
+        while (start < end && Character.isWhitespace(name.charAt(start))) start++;
+        while (end > start && Character.isWhitespace(name.charAt(end - 1))) end--;
+
+        final StringBuilder result = new StringBuilder(end - start);
+        int number_of_consecutive_spaces = 0;
 
-        // Replace straight quotes and apostrophes with curly versions.
-        return replaceQuotes(step2);
+        for (int i = start; i < end; i++) {
+
+            final char c = name.charAt(i);
+
+            if (c == ' ')
+                number_of_consecutive_spaces++;
+
+            else {
+                // Each pair of spaces is replaced by one, so a run of three spaces becomes two.
+                result.repeat(' ', (number_of_consecutive_spaces + 1) / 2);
+                number_of_consecutive_spaces = 0;
+
+                result.append(replaceQuote(c, result.isEmpty() || isStartOfWordPrefix(result.charAt(result.length() - 1))));
+            }
+        }
+
+        return result.toString();
     }
 
     /** Cleans name by removing extra whitespace and converting to title case, unless present
@@ -142,12 +170,20 @@ public class NormalisationProcessor {
         return toTitleCase(normalised_name);
     }
 
-    private static String replaceQuotes(String s) {
+    /** Converts a straight or closing curly quote to an opening curly quote if at the start of a
+     *  word (the start of the string, or preceded by space or hyphen), otherwise to a closing curly quote. */
+    private static char replaceQuote(final char c, final boolean start_of_word) {
+
+        return switch (c) {
+            case '\'', '’' -> start_of_word ? '‘' : '’';
+            case '"', '”' -> start_of_word ? '“' : '”';
+            default -> c;
+        };
+    }
 
-        for (final Function<String, String> mapping : QUOTE_CLEANING_MAPPINGS)
-            s = mapping.apply(s);
+    private static boolean isStartOfWordPrefix(final char c) {
 
-        return s;
+        return c == ' ' || c == '-';
     }
 
     //////////////////////////////////////////////////////////////////////////////////////////////////
@@ -307,17 +343,39 @@ public class NormalisationProcessor {
     private void configure() throws IOException {
 
         entry_column_mappings = loadEntryColumnMapping();
-        category_map = loadCategoryMap();
-        normalised_club_names = loadNormalisationMap(KEY_NORMALISED_CLUB_NAMES_PATH, false);
-        normalised_html_entities = loadNormalisationMap(KEY_NORMALISED_HTML_ENTITIES_PATH, true);
+        category_map = ResourceCache.get(config.getPath(KEY_CATEGORY_MAP_PATH), "category map", NormalisationProcessor::loadCategoryMap);
+        normalised_club_names = ResourceCache.get(config.getPath(KEY_NORMALISED_CLUB_NAMES_PATH), "case insensitive normalisation map", path -> loadNormalisationMap(path, false));
+        normalised_html_entities = ResourceCache.get(config.getPath(KEY_NORMALISED_HTML_ENTITIES_PATH), "case sensitive normalisation map", path -> loadNormalisationMap(path, true));
 
-        final Path capitalisation_stop_words_path = config.getPath(KEY_CAPITALISATION_STOP_WORDS_PATH);
-        capitalisation_stop_words = new HashSet<>(readAllLines(capitalisation_stop_words_path));
+        final StopWords stop_words = ResourceCache.get(config.getPath(KEY_CAPITALISATION_STOP_WORDS_PATH), "capitalisation stop words", NormalisationProcessor::loadCapitalisationStopWords);
+        capitalisation_stop_words = stop_words.words_by_folded_form();
+        capitalisation_stop_word_hashes = stop_words.hashes();
 
         non_title_case_words = new HashSet<>();
     }
 
-    private List<String> loadEntryColumnMapping() {
+    private static StopWords loadCapitalisationStopWords(final Path capitalisation_stop_words_path) throws IOException {
+
+        final Map<String, List<String>> map = new HashMap<>();
+
+        for (final String word : new HashSet<>(readAllLines(capitalisation_stop_words_path)))
+            map.computeIfAbsent(foldCase(word, 0, word.length()), _ -> new ArrayList<>()).add(word);
+
+        return new StopWords(Collections.unmodifiableMap(map), loadCapitalisationStopWordHashes(map));
+    }
+
+    private static BitSet loadCapitalisationStopWordHashes(final Map<String, List<String>> capitalisation_stop_words) {
+
+        final BitSet hashes = new BitSet(STOP_WORD_HASH_MASK + 1);
+
+        for (final List<String> words : capitalisation_stop_words.values())
+            for (final String word : words)
+                hashes.set(foldedHash(word, 0, word.length()) & STOP_WORD_HASH_MASK);
+
+        return hashes;
+    }
+
+    private int[][] loadEntryColumnMapping() {
 
         // Columns can be re-ordered by permuting the column numbers, or combined into a single column with an intervening
         // space character, by grouping column numbers with a dash.
@@ -326,34 +384,40 @@ public class NormalisationProcessor {
         final String entry_column_map_string = config.getString(KEY_ENTRY_COLUMN_MAP);
 
         // Column mapping not used for relay races, so may not be set.
-        if (entry_column_map_string == null) return List.of();
+        if (entry_column_map_string == null) return new int[0][];
 
-        return Arrays.asList(entry_column_map_string.split(CONFIG_OUTER_SEPARATOR));
+        return Arrays.stream(entry_column_map_string.split(CONFIG_OUTER_SEPARATOR)).
+            map(NormalisationProcessor::loadColumnCombination).
+            toArray(int[][]::new);
     }
 
-    private Map<String, String> loadCategoryMap() throws IOException {
+    private static int[] loadColumnCombination(final String element_combination_map) {
 
-        final Map<String, String> map = new HashMap<>();
+        // Example: "3-5-4" gives column indices 2, 4, 3.
 
-        final Path category_map_path = config.getPath(KEY_CATEGORY_MAP_PATH);
-        if (category_map_path != null) {
+        return Arrays.stream(element_combination_map.split("-")).
+            mapToInt(column_number_as_string -> Integer.parseInt(column_number_as_string) - 1).
+            toArray();
+    }
 
-            readAllLines(category_map_path).stream().
-                filter(line -> !line.isEmpty()).
-                filter(line -> !line.startsWith(COMMENT_SYMBOL)).
-                forEachOrdered(line -> {
-                    final String[] parts = line.split(CONFIG_OUTER_SEPARATOR);
-                    map.put(parts[0], parts[1]);
-                });
-        }
+    private static Map<String, String> loadCategoryMap(final Path category_map_path) throws IOException {
 
-        return map;
+        final Map<String, String> map = new HashMap<>();
+
+        readAllLines(category_map_path).stream().
+            filter(line -> !line.isEmpty()).
+            filter(line -> !line.startsWith(COMMENT_SYMBOL)).
+            forEachOrdered(line -> {
+                final String[] parts = line.split(CONFIG_OUTER_SEPARATOR);
+                map.put(parts[0], parts[1]);
+            });
+
+        return Collections.unmodifiableMap(map);
     }
 
-    private Map<String, String> loadNormalisationMap(final String path_key, final boolean key_case_sensitive) throws IOException {
+    private static Map<String, String> loadNormalisationMap(final Path path, final boolean key_case_sensitive) throws IOException {
 
         final Map<String, String> map = key_case_sensitive ? new HashMap<>() : new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
-        final Path path = config.getPath(path_key);
 
         readAllLines(path).forEach(line -> {
 
@@ -361,87 +425,158 @@ public class NormalisationProcessor {
             map.put(parts[0], parts[1]);
         });
 
-        return map;
+        return Collections.unmodifiableMap(map);
     }
 
-    private static String getMappedElement(final List<String> elements, final String element_combination_map) {
+    private String getMappedElement(final String[] elements, final int[] column_indices) {
 
-        // If 'element_combination_map' contains "2" then the result is the second value in 'elements'.
+        // If 'column_indices' contains 1 then the result is the second value in 'elements'.
 
-        // If it contains "3-5-4" then the result is formed from the third, fifth and fourth values
+        // If it contains 2, 4, 3 then the result is formed from the third, fifth and fourth values
         // in 'elements' concatenated with spaces.
 
-        return Arrays.stream(element_combination_map.split("-")).
-            map(column_number_as_string -> elements.get(Integer.parseInt(column_number_as_string) - 1)).
-            collect(Collectors.joining(" "));
+        if (column_indices.length == 1) return elements[column_indices[0]];
+
+        mapped_element_builder.setLength(0);
+
+        for (final int column_index : column_indices) {
+            if (!mapped_element_builder.isEmpty()) mapped_element_builder.append(' ');
+            mapped_element_builder.append(elements[column_index]);
+        }
+
+        return mapped_element_builder.toString();
     }
 
     /** Converts the given string to title case, ignoring any words present in the stop word file. */
     private String toTitleCase(final String input) {
 
-        final String s = lookupInStopWords(input);
+        final String s = lookupInStopWords(input, 0, input.length());
         if (s != null) return s;
 
-        final StringBuilder result = new StringBuilder();
+        final StringBuilder result = new StringBuilder(input.length());
+        int word_start = 0;
+
+        for (int i = 0; i < input.length(); i++) {
+
+            final char c = input.charAt(i);
 
-        while (result.length() < input.length())
-            addNextWord(input, result);
+            if (WORD_SEPARATORS.indexOf(c) >= 0) {
+                appendTitleCaseWord(input, word_start, i, result);
+                result.append(c);
+                word_start = i + 1;
+            }
+        }
+
+        appendTitleCaseWord(input, word_start, input.length(), result);
 
         return result.toString();
     }
 
-    /** Checks whether the given word is present in the stop word file, first with exact match
-     *  and then case insensitive. Returns the matching word if found, otherwise null. */
-    private String lookupInStopWords(final String word) {
+    /** Checks whether the word between the given indices is present in the stop word file, first with
+     *  exact match and then case insensitive. Returns the matching word if found, otherwise null. */
+    private String lookupInStopWords(final String input, final int start, final int end) {
+
+        // Most words aren't stop words, so reject them before allocating a case-folded key.
+        if (!capitalisation_stop_word_hashes.get(foldedHash(input, start, end) & STOP_WORD_HASH_MASK)) return null;
+
+        final List<String> candidates = capitalisation_stop_words.get(foldCase(input, start, end));
+        if (candidates == null) return null;
+
+        final int length = end - start;
 
         // Try case sensitive match first.
-        if (capitalisation_stop_words.contains(word)) return word;
+        for (final String candidate : candidates)
+            if (candidate.length() == length && input.startsWith(candidate, start)) return candidate;
 
         // Try case insensitive match.
-        return capitalisation_stop_words.stream().
-            filter(w -> w.equalsIgnoreCase(word)).
-            findFirst().
-            orElse(null);
+        for (final String candidate : candidates)
+            if (candidate.length() == length && candidate.regionMatches(true, 0, input, start, length)) return candidate;
+
+        return null;
     }
 
-    /** Finds the next word in the given input not already added to the builder, and adds it
-     *  after converting to title case. */
-    private void addNextWord(final String input, final StringBuilder builder) {
+    /** Appends the word between the given indices after converting to title case, unless present
+     *  in stop word file. */
+    private void appendTitleCaseWord(final String input, final int start, final int end, final StringBuilder builder) {
 
-        char separator = 0;
-        int i;
-        for (i = builder.length(); i < input.length(); i++) {
-            final char c = input.charAt(i);
-            if (WORD_SEPARATORS.contains(c)) {
-                separator = c;
-                break;
-            }
+        if (start == end) return;
+
+        final String s = lookupInStopWords(input, start, end);
+
+        if (s != null)
+            builder.append(s);
+
+        else if (isTitleCase(input, start, end))
+            builder.append(input, start, end);
+
+        else {
+            non_title_case_words.add(input.substring(start, end));
+
+            builder.append(Character.toUpperCase(input.charAt(start)));
+            appendLowerCase(input, start + 1, end, builder);
         }
+    }
+
+    /** Tests whether the word between the given indices has title case. */
+    private static boolean isTitleCase(final String input, final int start, final int end) {
+
+        if (Character.isLowerCase(input.charAt(start))) return false;
 
-        final String next_word = input.substring(builder.length(), i);
+        for (int i = start + 1; i < end; i++)
+            if (Character.isUpperCase(input.charAt(i))) return false;
 
-        builder.append(toTitleCaseWord(next_word));
-        if (separator > 0) builder.append(separator);
+        return true;
     }
 
-    /** Converts the given word to title case, unless present in stop word file. */
-    private String toTitleCaseWord(final String word) {
+    private static void appendLowerCase(final String input, final int start, final int end, final StringBuilder builder) {
 
-        final String s = lookupInStopWords(word);
-        if (s != null) return s;
+        for (int i = start; i < end; i++)
+            if (input.charAt(i) > LAST_LATIN_1_CHARACTER) {
+
+                // Lower case conversion outside Latin-1 may depend on context, so use the full conversion.
+                builder.append(input.substring(start, end).toLowerCase());
+                return;
+            }
+
+        for (int i = start; i < end; i++)
+            builder.append(Character.toLowerCase(input.charAt(i)));
+    }
+
+    /** Converts the given part of a string to a form in which any strings that are equal ignoring case
+     *  are identical, consistent with {@link String#equalsIgnoreCase(String)}. */
+    private static String foldCase(final String s, final int start, final int end) {
+
+        final StringBuilder builder = new StringBuilder(end - start);
 
-        if (word.isEmpty() || isTitleCase(word)) return word;
+        for (int i = start; i < end; ) {
+
+            final int code_point = s.codePointAt(i);
+            builder.appendCodePoint(foldCodePoint(code_point));
+            i += Character.charCount(code_point);
+        }
+
+        return builder.toString();
+    }
+
+    /** Computes a hash of the given part of a string, consistent with {@link #foldCase(String, int, int)}
+     *  in that strings with the same case-folded form have the same hash. */
+    private static int foldedHash(final String s, final int start, final int end) {
+
+        int hash = 0;
+
+        for (int i = start; i < end; ) {
+
+            final int code_point = s.codePointAt(i);
+            hash = 31 * hash + foldCodePoint(code_point);
+            i += Character.charCount(code_point);
+        }
 
-        non_title_case_words.add(word);
-        return Character.toUpperCase(word.charAt(0)) + word.substring(1).toLowerCase();
+        return hash;
     }
 
-    /** Tests whether given word has title case. */
-    @SuppressWarnings("TypeMayBeWeakened")
-    private static boolean isTitleCase(final String word) {
+    private static int foldCodePoint(final int code_point) {
 
-        return !Character.isLowerCase(word.charAt(0)) &&
-            word.chars().boxed().skip(1).noneMatch(Character::isUpperCase);
+        return Character.toLowerCase(Character.toUpperCase(code_point));
     }
 
     /** For each map entry, searches for instances of the key in the given string (case insensitive)
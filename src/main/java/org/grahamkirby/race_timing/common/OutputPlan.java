@@ -0,0 +1,158 @@
+/*
+ * race-timing - <https://github.com/grahamkirby/race-timing>
+ * Copyright © 2026 Graham Kirby (race-timing@kirby-family.net)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.grahamkirby.race_timing.common;
+
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.grahamkirby.race_timing.common.Config.*;
+
+/**
+ * The outputs to be generated for a race, and the views of the results that must be computed for them.
+ * <br />
+ * The outputs are listed by name, comma-separated, either in the configuration file under the key
+ * OUTPUTS or on the command line, e.g. "OUTPUTS = overall_html, prizes_html". By default, all
+ * outputs other than the JSON results are generated. Outputs that don't apply to a given race type
+ * are ignored.
+ * <br />
+ * Each view is computed only if some planned output depends on it. For example, prizes are not
+ * allocated unless a prize or combined output is planned, and relay leg rankings are not computed
+ * unless a leg or combined output is planned.
+ */
+public final class OutputPlan {
+
+    /** A view of the results that need only be computed if some planned output depends on it. */
+    public enum View {
+
+        PRIZES(KEY_PREFER_LOWER_PRIZE_IN_MORE_GENERAL_CATEGORY, KEY_TEAM_PRIZE_GENDER_CATEGORIES, KEY_TEAM_PRIZE_NUMBER_TO_COUNT),
+        LEG_RANKINGS,
+        COLLATED_TIMES;
+
+        // Keys only used in computing this view, which are not reported as unused if it is not computed.
+        private final List<String> config_keys;
+
+        View(final String... config_keys) {
+            this.config_keys = List.of(config_keys);
+        }
+
+        public List<String> getConfigKeys() {
+            return config_keys;
+        }
+    }
+
+    /** An output that can be generated, and the views that it depends on. */
+    public enum Output {
+
+        OVERALL_CSV,
+        OVERALL_HTML,
+        PRIZES_PDF(View.PRIZES),
+        PRIZES_HTML(View.PRIZES),
+        PRIZES_TEXT(View.PRIZES),
+        COMBINED_HTML(View.PRIZES, View.LEG_RANKINGS),
+        DETAILED_CSV,
+        DETAILED_HTML,
+        LEG_CSV(View.LEG_RANKINGS),
+        LEG_HTML(View.LEG_RANKINGS),
+        COLLATED_TEXT(View.COLLATED_TIMES),
+        RESULTS_JSON(View.PRIZES, View.LEG_RANKINGS);
+
+        private final List<View> required_views;
+
+        Output(final View... required_views) {
+            this.required_views = List.of(required_views);
+        }
+
+        /** Gets the name used for this output in configuration. */
+        public String getName() {
+            return name().toLowerCase();
+        }
+    }
+
+    /** The outputs generated if none are specified. The JSON results must be requested explicitly. */
+    public static final OutputPlan DEFAULT = new OutputPlan(EnumSet.complementOf(EnumSet.of(Output.RESULTS_JSON)), EnumSet.noneOf(View.class));
+
+    private final Set<Output> outputs;
+    private final Set<View> views;
+
+    //////////////////////////////////////////////////////////////////////////////////////////////////
+
+    private OutputPlan(final Set<Output> outputs, final Set<View> additional_views) {
+
+        this.outputs = outputs;
+
+        views = EnumSet.copyOf(additional_views);
+        for (final Output output : outputs)
+            views.addAll(output.required_views);
+    }
+
+    //////////////////////////////////////////////////////////////////////////////////////////////////
+
+    /** Makes a plan from a comma-separated list of output names. */
+    public static OutputPlan parse(final String output_names) {
+
+        final Set<Output> outputs = EnumSet.noneOf(Output.class);
+
+        Arrays.stream(output_names.split(CONFIG_OUTER_SEPARATOR)).
+            map(String::strip).
+            filter(name -> !name.isEmpty()).
+            map(OutputPlan::getOutput).
+            forEach(outputs::add);
+
+        return new OutputPlan(outputs, EnumSet.noneOf(View.class));
+    }
+
+    /** Tests whether the given output is to be generated. */
+    public boolean includes(final Output output) {
+        return outputs.contains(output);
+    }
+
+    /** Tests whether the given view is needed by some planned output, or has been explicitly required. */
+    public boolean requires(final View view) {
+        return views.contains(view);
+    }
+
+    /** Makes a plan with the same outputs, that also requires the given view. */
+    public OutputPlan requiring(final View view) {
+
+        final Set<View> additional_views = EnumSet.copyOf(views);
+        additional_views.add(view);
+
+        return new OutputPlan(outputs, additional_views);
+    }
+
+    @Override
+    public String toString() {
+
+        return outputs.stream().
+            map(Output::getName).
+            collect(Collectors.joining(CONFIG_OUTER_SEPARATOR));
+    }
+
+    //////////////////////////////////////////////////////////////////////////////////////////////////
+
+    private static Output getOutput(final String name) {
+
+        return Arrays.stream(Output.values()).
+            filter(output -> output.getName().equalsIgnoreCase(name)).
+            findFirst().
+            orElseThrow(() -> new RuntimeException(INVALID_OUTPUT + " '" + name + "'"));
+    }
+}
@@ -0,0 +1,45 @@
+/*
+ * race-timing - <https://github.com/grahamkirby/race-timing>
+ * Copyright © 2026 Graham Kirby (race-timing@kirby-family.net)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.grahamkirby.race_timing.common;
+
+
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+
+import static org.grahamkirby.race_timing.common.Config.LINE_SEPARATOR;
+
+/** Base class for printing results to CSV files. */
+public abstract class OverallResultPrinterCSV extends TableResultPrinter {
+
+    protected OverallResultPrinterCSV(final RaceResults race, final OutputStreamWriter writer, final ResultTemplate.Builder<?> columns) {
+        super(race, writer, columns.compile(ResultTemplate.CSV));
+    }
+
+    //////////////////////////////////////////////////////////////////////////////////////////////////
+
+    @Override
+    public void printResultsHeader() throws IOException {
+
+        printHeaders("", LINE_SEPARATOR);
+    }
+
+    @Override
+    protected void printNoResults() {
+        throw new UnsupportedOperationException();
+    }
+}
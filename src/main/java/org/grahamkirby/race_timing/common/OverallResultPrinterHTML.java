@@ -20,16 +20,15 @@ package org.grahamkirby.race_timing.common;
 
 import java.io.IOException;
 import java.io.OutputStreamWriter;
-import java.util.List;
 
 import static org.grahamkirby.race_timing.common.Config.LINE_SEPARATOR;
 import static org.grahamkirby.race_timing.common.Config.NO_RESULTS;
 
 /** Base class for printing results to HTML files. */
-public abstract class OverallResultPrinterHTML extends ResultPrinter {
+public abstract class OverallResultPrinterHTML extends TableResultPrinter {
 
-    protected OverallResultPrinterHTML(final RaceResults race, final OutputStreamWriter writer) {
-        super(race, writer);
+    protected OverallResultPrinterHTML(final RaceResults race, final OutputStreamWriter writer, final ResultTemplate.Builder<?> columns) {
+        super(race, writer, columns.compile(ResultTemplate.HTML));
     }
 
     //////////////////////////////////////////////////////////////////////////////////////////////////
@@ -37,37 +36,17 @@ public abstract class OverallResultPrinterHTML extends ResultPrinter {
     @Override
     public void printResultsHeader() throws IOException {
 
-        writer.append("""
+        printHeaders("""
             <table class="fac-table">
                 <thead>
                     <tr>
-            """);
-
-        for (final String header : getResultsColumnHeaders())
-            writer.append("            <th>"  + header + "</th>" + LINE_SEPARATOR);
-
-        writer.append("""
+            """, """
                     </tr>
                 </thead>
                 <tbody>
             """);
     }
 
-    @Override
-    public void printResult(final RaceResult result) throws IOException {
-
-        writer.append("""
-                    <tr>
-            """);
-
-        for (final String element : getResultsElements(result))
-            writer.append("            <td>" + element + "</td>" + LINE_SEPARATOR);
-
-        writer.append("""
-                    </tr>
-            """);
-    }
-
     @Override
     public void printResultsFooter() throws IOException {
 
@@ -82,7 +61,4 @@ public abstract class OverallResultPrinterHTML extends ResultPrinter {
 
         writer.append("<p>" + NO_RESULTS + "</p>").append(LINE_SEPARATOR);
     }
-
-    protected abstract List<String> getResultsElements(final RaceResult result) throws IOException;
-    protected abstract List<String> getResultsColumnHeaders();
 }
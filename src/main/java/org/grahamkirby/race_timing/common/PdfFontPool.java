@@ -0,0 +1,52 @@
+/*
+ * race-timing - <https://github.com/grahamkirby/race-timing>
+ * Copyright © 2026 Graham Kirby (race-timing@kirby-family.net)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.grahamkirby.race_timing.common;
+
+import com.itextpdf.kernel.font.PdfFont;
+import com.itextpdf.kernel.font.PdfFontFactory;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Fonts for a single PDF document, each created on first use. A {@link PdfFont} is bound to the
+ * document in which it is first used, so a new pool is needed for each document.
+ * <br />
+ * The underlying font programs are independent of any document, and are already shared between
+ * documents by iText's own font program cache.
+ */
+public class PdfFontPool {
+
+    private final Map<String, PdfFont> fonts = new HashMap<>();
+
+    //////////////////////////////////////////////////////////////////////////////////////////////////
+
+    /** Gets the font with the given name, creating it if it hasn't already been used in this document. */
+    public PdfFont getFont(final String font_name) throws IOException {
+
+        PdfFont font = fonts.get(font_name);
+
+        if (font == null) {
+            font = PdfFontFactory.createFont(font_name);
+            fonts.put(font_name, font);
+        }
+
+        return font;
+    }
+}
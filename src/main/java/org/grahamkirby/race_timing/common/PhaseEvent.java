@@ -0,0 +1,43 @@
+/*
+ * race-timing - <https://github.com/grahamkirby/race-timing>
+ * Copyright © 2026 Graham Kirby (race-timing@kirby-family.net)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.grahamkirby.race_timing.common;
+
+import jdk.jfr.*;
+
+/**
+ * Flight Recorder event for a phase of processing a race. The event's duration is that of the phase.
+ * <br />
+ * Recorded when Flight Recorder is running with the event enabled, for example with
+ * {@code -XX:StartFlightRecording}, and viewable with {@code jfr print --events RacePhase}.
+ */
+@Name("org.grahamkirby.race_timing.RacePhase")
+@Label("Race Phase")
+@Category("Race Timing")
+@Description("A phase of processing a race")
+@StackTrace(false)
+class PhaseEvent extends Event {
+
+    @Label("Race")
+    String race_name;
+
+    @Label("Phase")
+    String phase;
+
+    @Label("Record Count")
+    int record_count;
+}
@@ -0,0 +1,179 @@
+/*
+ * race-timing - <https://github.com/grahamkirby/race-timing>
+ * Copyright © 2026 Graham Kirby (race-timing@kirby-family.net)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.grahamkirby.race_timing.common;
+
+import jdk.jfr.EventType;
+
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+import java.util.function.IntSupplier;
+import java.util.function.Supplier;
+
+import static org.grahamkirby.race_timing.common.Config.*;
+
+/**
+ * Records the time taken by each phase of processing a race, both as Flight Recorder
+ * {@link PhaseEvent}s and in a summary that can be written to the output directory.
+ * <br />
+ * Phases are only kept for the summary if it is to be written, and the summary only covers the
+ * phases since the previous summary, so that a race that is updated repeatedly doesn't accumulate
+ * timings. When Flight Recorder is not running and no summary is to be written, the cost of each
+ * phase is two clock reads.
+ */
+public class PhaseTimings {
+
+    /** Function that may throw a checked exception of a given type. */
+    @FunctionalInterface
+    public interface Step<E extends Exception> {
+        void run() throws E;
+    }
+
+    private record Timing(String phase, int record_count, long duration_nanos) {}
+
+    private static final String SUMMARY_HEADER = "Phase\tRecords\tTime (ms)";
+    private static final IntSupplier NO_RECORD_COUNT = () -> 0;
+    private static final EventType PHASE_EVENT_TYPE = EventType.getEventType(PhaseEvent.class);
+
+    private final Supplier<String> get_race_name;
+    private final BooleanSupplier is_summary_required;
+    private final List<Timing> timings = new ArrayList<>();
+
+    //////////////////////////////////////////////////////////////////////////////////////////////////
+
+    PhaseTimings(final Supplier<String> get_race_name, final BooleanSupplier is_summary_required) {
+
+        this.get_race_name = get_race_name;
+        this.is_summary_required = is_summary_required;
+    }
+
+    //////////////////////////////////////////////////////////////////////////////////////////////////
+
+    /** Runs and times the given step. */
+    public <E extends Exception> void time(final String phase, final Step<E> step) throws E {
+
+        time(phase, step, NO_RECORD_COUNT);
+    }
+
+    /** Runs and times the given step, recording the number of records it processed, as given by the
+     *  supplier after the step has run. */
+    public <E extends Exception> void time(final String phase, final Step<E> step, final IntSupplier get_record_count) throws E {
+
+        final PhaseEvent event = beginEvent();
+        final long start_time = System.nanoTime();
+
+        step.run();
+
+        record(event, phase, get_record_count.getAsInt(), System.nanoTime() - start_time);
+    }
+
+    /** Wraps the given stream so that the time from now until the stream is closed is recorded. */
+    public OutputStream time(final String phase, final OutputStream stream, final IntSupplier get_record_count) {
+
+        final PhaseEvent event = beginEvent();
+        final long start_time = System.nanoTime();
+
+        return new FilterOutputStream(stream) {
+
+            private boolean closed;
+
+            @Override
+            public void write(final byte[] bytes, final int offset, final int length) throws IOException {
+
+                // FilterOutputStream would otherwise write one byte at a time.
+                out.write(bytes, offset, length);
+            }
+
+            @Override
+            public void close() throws IOException {
+
+                super.close();
+
+                if (!closed) {
+                    closed = true;
+                    record(event, phase, get_record_count.getAsInt(), System.nanoTime() - start_time);
+                }
+            }
+        };
+    }
+
+    /** Writes a summary of the phases recorded since the previous summary, in the order in which they completed. */
+    public void writeSummary(final Path path) throws IOException {
+
+        final List<String> lines = new ArrayList<>();
+
+        lines.add(get_race_name.get());
+        lines.add("");
+        lines.add(SUMMARY_HEADER);
+
+        synchronized (timings) {
+            for (final Timing timing : timings)
+                lines.add(timing.phase + "\t" + timing.record_count + "\t" + formatMillis(timing.duration_nanos));
+
+            timings.clear();
+        }
+
+        Files.write(path, lines);
+    }
+
+    //////////////////////////////////////////////////////////////////////////////////////////////////
+
+    /** Begins an event for a phase, or returns null if Flight Recorder isn't recording such events. */
+    private static PhaseEvent beginEvent() {
+
+        if (!PHASE_EVENT_TYPE.isEnabled()) return null;
+
+        final PhaseEvent event = new PhaseEvent();
+        event.begin();
+
+        return event;
+    }
+
+    private void record(final PhaseEvent event, final String phase, final int record_count, final long duration_nanos) {
+
+        if (event != null) {
+
+            event.end();
+
+            if (event.shouldCommit()) {
+
+                event.race_name = get_race_name.get();
+                event.phase = phase;
+                event.record_count = record_count;
+                event.commit();
+            }
+        }
+
+        if (is_summary_required.getAsBoolean())
+            synchronized (timings) {
+                timings.add(new Timing(phase, record_count, duration_nanos));
+            }
+    }
+
+    private static String formatMillis(final long duration_nanos) {
+
+        return String.format(Locale.ROOT, "%.3f", duration_nanos / (double) TimeUnit.MILLISECONDS.toNanos(1));
+    }
+}
@@ -0,0 +1,37 @@
+/*
+ * race-timing - <https://github.com/grahamkirby/race-timing>
+ * Copyright © 2026 Graham Kirby (race-timing@kirby-family.net)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.grahamkirby.race_timing.common;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Prints prizes to a PDF document.
+ * <br />
+ * Implementations are the only classes that use iText. They are only loaded when a PDF is actually
+ * printed, so other processing doesn't pay the cost of loading iText.
+ */
+public interface PrizesPDFPrinter {
+
+    /**
+     * Prints the prizes as a PDF document to the given stream, which is closed afterwards.
+     * @param stream the stream
+     * @throws IOException if the document cannot be written
+     */
+    void printPrizes(OutputStream stream) throws IOException;
+}
@@ -61,9 +61,15 @@ public class RaceConfigAdjuster extends ConfigProcessor {
         config.replaceIfPresent(PATH_PROPERTY_KEYS, config::interpretPath);
         config.replaceIfPresent(KEY_CHECK_INPUT_FILES_USED, Boolean::parseBoolean);
         config.replaceIfPresent(KEY_PREFER_LOWER_PRIZE_IN_MORE_GENERAL_CATEGORY, Boolean::parseBoolean);
+        config.replaceIfPresent(KEY_OUTPUT_TIMINGS, Boolean::parseBoolean);
+        config.replaceIfPresent(KEY_OUTPUTS, OutputPlan::parse);
+        config.replaceIfPresent(KEY_HTML_PAGE_SIZE, ResultPagesHTML::parsePageSize);
 
         config.addIfAbsent(KEY_CHECK_INPUT_FILES_USED, true);
         config.addIfAbsent(KEY_PREFER_LOWER_PRIZE_IN_MORE_GENERAL_CATEGORY, true);
+        config.addIfAbsent(KEY_OUTPUT_TIMINGS, false);
+        config.addIfAbsent(KEY_OUTPUTS, OutputPlan.DEFAULT);
+        config.addIfAbsent(KEY_HTML_PAGE_SIZE, 0);
     }
 
     public static String makeDefaultEntryColumnMap(final int number_of_columns) {
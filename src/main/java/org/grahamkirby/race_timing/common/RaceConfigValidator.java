@@ -20,11 +20,13 @@ package org.grahamkirby.race_timing.common;
 import java.io.IOException;
 import java.nio.file.Path;
 import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
 import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -123,6 +125,28 @@ public abstract class RaceConfigValidator {
             });
     }
 
+    /**
+     * Checks that no participant is entered more than once, reporting all duplicates together.
+     * Entries are expected to correspond, in order, to the non-blank lines in the entries file.
+     */
+    public static void validateEntriesUnique(final List<RaceEntry> entries, final Path entries_path, final Function<RaceEntry, String> describe_entry) throws IOException {
+
+        final List<Integer> line_numbers = getEntryLineNumbers(entries_path);
+        final Set<Participant> seen = new HashSet<>();
+        final List<String> duplicates = new ArrayList<>();
+
+        for (int i = 0; i < entries.size(); i++) {
+
+            final RaceEntry entry = entries.get(i);
+
+            if (!seen.add(entry.getParticipant()))
+                duplicates.add(DUPLICATE_ENTRY + " '" + describe_entry.apply(entry) + "' " + AT_LINE + " " + line_numbers.get(i) + " " + IN_FILE + " '" + entries_path.getFileName() + "'");
+        }
+
+        if (!duplicates.isEmpty())
+            throw new RuntimeException(String.join(LINE_SEPARATOR, duplicates));
+    }
+
     public static void validateRecordedBibNumbersAreRegistered(final List<RaceEntry> entries, final Path raw_results_path) throws IOException {
 
         final BoxedLineNumber line_number = new BoxedLineNumber();
@@ -137,6 +161,52 @@ public abstract class RaceConfigValidator {
             forEach(bib_number -> validateResultBibNumberRegistered(bib_number, entry_bib_numbers, raw_results_path, line_number));
     }
 
+    /** Validates lines appended to a raw results file that has already been validated as a whole,
+     *  returning the corresponding raw results. */
+    public static List<RawResult> validateAppendedRawResults(final List<String> lines, final int first_line_number, final Path raw_results_path, final List<RaceEntry> entries, final List<RawResult> previous_raw_results) {
+
+        final Set<Integer> entry_bib_numbers = entries.stream().
+            map(RaceEntry::getBibNumber).
+            collect(Collectors.toSet());
+
+        final Set<Integer> recorded_bib_numbers = previous_raw_results.stream().
+            map(RawResult::getBibNumber).
+            collect(Collectors.toSet());
+
+        final BoxedDuration previous_time = new BoxedDuration();
+        for (final RawResult raw_result : previous_raw_results)
+            if (raw_result.getRecordedFinishTime() != null) previous_time.duration = raw_result.getRecordedFinishTime();
+
+        final BoxedLineNumber line_number = new BoxedLineNumber();
+        final List<RawResult> raw_results = new ArrayList<>();
+
+        for (int i = 0; i < lines.size(); i++) {
+
+            line_number.line = first_line_number + i;
+
+            final String original_line = lines.get(i);
+            final String cleaned_line = NormalisationProcessor.stripComment(original_line);
+            if (cleaned_line.isBlank()) continue;
+
+            validateRawResultLine(cleaned_line, original_line, raw_results_path, line_number.line);
+
+            final RawResult raw_result = new RawResult(cleaned_line);
+            final int bib_number = raw_result.getBibNumber();
+
+            validateResultBibNumberRegistered(bib_number, entry_bib_numbers, raw_results_path, line_number);
+
+            if (bib_number != UNKNOWN_BIB_NUMBER && !recorded_bib_numbers.add(bib_number))
+                throw new RuntimeException(DUPLICATE_BIB_NUMBER + " '" + bib_number + "' " + AT_LINE + " " + line_number.line + " " + IN_FILE + " '" + raw_results_path.getFileName() + "'");
+
+            if (raw_result.getRecordedFinishTime() != null)
+                validateConsecutiveRawResultsOrdering(raw_result.getRecordedFinishTime(), previous_time, raw_results_path, line_number);
+
+            raw_results.add(raw_result);
+        }
+
+        return raw_results;
+    }
+
     //////////////////////////////////////////////////////////////////////////////////////////////////
 
     private static void validateRawResultLine(final String cleaned_line, final String original_line, final Path raw_results_path, final int line_number) {
@@ -187,6 +257,15 @@ public abstract class RaceConfigValidator {
             throw new RuntimeException(UNREGISTERED_BIB_NUMBER + " '" + bib_number + "' " + AT_LINE + " " + line_number.line + " " + IN_FILE + " '" + raw_results_path.getFileName() + "'");
     }
 
+    private static List<Integer> getEntryLineNumbers(final Path entries_path) throws IOException {
+
+        final BoxedLineNumber line_number = new BoxedLineNumber();
+
+        return getCleanedLines(entries_path, line_number).
+            map(_ -> line_number.line).
+            toList();
+    }
+
     private static Stream<String> getCleanedLines(final Path file_path, final BoxedLineNumber line_number) throws IOException {
 
         return getCleanedLines(file_path, new BoxedLine(), line_number);
@@ -0,0 +1,279 @@
+/*
+ * race-timing - <https://github.com/grahamkirby/race-timing>
+ * Copyright © 2026 Graham Kirby (race-timing@kirby-family.net)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.grahamkirby.race_timing.common;
+
+import java.io.IOException;
+import java.nio.file.*;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.stream.Stream;
+
+import static java.nio.file.StandardWatchEventKinds.*;
+import static org.grahamkirby.race_timing.common.Config.*;
+
+/**
+ * Watches a tree of race input directories, and processes each race again whenever any of its
+ * inputs change. Running as a long-lived process avoids the cost of starting a new JVM, loading
+ * classes and resources and recompiling hot code for each run.
+ * <br />
+ * Every file named {@value Config#CONFIG_FILE_NAME} within the tree is taken to be a race
+ * configuration. Changes are debounced, so that a burst of changes, such as an editor saving
+ * several files, causes a single run. Races are processed by a bounded pool of worker threads. Races
+ * that share input directories, such as a series and its individual races, are never processed at
+ * the same time, since they may write to the same output directories. Each run is skipped if the
+ * race's {@link BuildManifest} shows that its output is already up to date.
+ * <br />
+ * Shared resources such as category definitions are parsed once and held in the {@link ResourceCache},
+ * and the font programs used for PDF output are held in iText's own font cache, so both stay loaded
+ * between runs.
+ */
+public class RaceDaemon {
+
+    /** Time after the most recent change to a race's inputs before it is processed. */
+    public static final Duration DEBOUNCE_DELAY = Duration.ofMillis(250);
+
+    private static final int DEFAULT_NUMBER_OF_WORKERS = Math.min(Runtime.getRuntime().availableProcessors(), 4);
+    private static final Duration SHUTDOWN_TIMEOUT = Duration.ofMinutes(1);
+
+    private final Path root_directory;
+    private final ExecutorService workers;
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+
+    // Directories whose contents are inputs to each race, keyed by config path.
+    private final Map<Path, List<Path>> input_directories = new ConcurrentHashMap<>();
+
+    // The following are guarded by this.
+    private final Map<Path, ScheduledFuture<?>> pending_runs = new HashMap<>();
+    private final Set<Path> running = new HashSet<>();
+    private final Set<Path> rerun_required = new HashSet<>();
+
+    // Races held back because a race sharing their inputs was running.
+    private final Set<Path> waiting = new LinkedHashSet<>();
+
+    private final Map<WatchKey, Path> watched_directories = new HashMap<>();
+
+    //////////////////////////////////////////////////////////////////////////////////////////////////
+
+    public RaceDaemon(final Path root_directory, final int number_of_workers) {
+
+        this.root_directory = root_directory.toAbsolutePath().normalize();
+        workers = Executors.newFixedThreadPool(number_of_workers);
+    }
+
+    //////////////////////////////////////////////////////////////////////////////////////////////////
+
+    public static void main(final String[] args) {
+
+        try {
+            final int number_of_workers = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_NUMBER_OF_WORKERS;
+
+            new RaceDaemon(Path.of(args[0]), number_of_workers).processAndWatch();
+
+        } catch (final Exception e) {
+            System.err.println(e.getMessage() + LINE_SEPARATOR);
+        }
+    }
+
+    /** Processes all races in the tree, then processes each again whenever its inputs change. Only
+     *  returns if interrupted or if the root directory can no longer be watched. */
+    public void processAndWatch() throws IOException, InterruptedException {
+
+        try (final WatchService watcher = FileSystems.getDefault().newWatchService()) {
+
+            // Register before the initial runs, so that no changes are missed.
+            watchTree(watcher, root_directory);
+
+            for (final Path config_path : findConfigFiles(root_directory))
+                addRace(config_path);
+
+            while (true) {
+
+                final WatchKey key = watcher.take();
+                final Path directory = watched_directories.get(key);
+
+                for (final WatchEvent<?> event : key.pollEvents())
+                    processEvent(watcher, directory, event);
+
+                if (!key.reset()) {
+                    watched_directories.remove(key);
+                    if (directory.equals(root_directory)) return;
+                }
+            }
+
+        } finally {
+            scheduler.shutdownNow();
+            workers.shutdownNow();
+
+            // Race processing doesn't respond to interruption, so let any run in progress finish
+            // writing its output.
+            workers.awaitTermination(SHUTDOWN_TIMEOUT.toMillis(), TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /** Records a change to the given file, causing any race that depends on it to be processed
+     *  after the debounce delay. */
+    public void fileChanged(final Path path) {
+
+        final Path changed_path = path.toAbsolutePath().normalize();
+
+        for (final Map.Entry<Path, List<Path>> entry : input_directories.entrySet())
+            if (entry.getValue().stream().anyMatch(changed_path::startsWith))
+                schedule(entry.getKey());
+    }
+
+    /** Adds the race with the given config file, and schedules it to be processed. */
+    public void addRace(final Path config_path) {
+
+        final Path normalised_path = config_path.toAbsolutePath().normalize();
+
+        input_directories.put(normalised_path, List.of(normalised_path.getParent()));
+        schedule(normalised_path);
+    }
+
+    //////////////////////////////////////////////////////////////////////////////////////////////////
+
+    private void processEvent(final WatchService watcher, final Path directory, final WatchEvent<?> event) throws IOException {
+
+        if (event.kind() == OVERFLOW) {
+
+            // Events have been lost, so anything may have changed.
+            input_directories.keySet().forEach(this::schedule);
+            return;
+        }
+
+        final Path path = directory.resolve((Path) event.context());
+
+        // Output files are written by the races themselves.
+        if (BuildManifest.isWithinOutputDirectory(root_directory.relativize(path))) return;
+
+        if (event.kind() == ENTRY_CREATE && Files.isDirectory(path)) {
+
+            watchTree(watcher, path);
+            for (final Path config_path : findConfigFiles(path))
+                addRace(config_path);
+        }
+        else if (path.getFileName().toString().equals(CONFIG_FILE_NAME)) {
+
+            if (event.kind() == ENTRY_DELETE) input_directories.remove(path);
+            else if (!input_directories.containsKey(path)) addRace(path);
+        }
+
+        fileChanged(path);
+    }
+
+    private synchronized void schedule(final Path config_path) {
+
+        final ScheduledFuture<?> previous_run = pending_runs.get(config_path);
+        if (previous_run != null) previous_run.cancel(false);
+
+        pending_runs.put(config_path, scheduler.schedule(() -> submit(config_path), DEBOUNCE_DELAY.toMillis(), TimeUnit.MILLISECONDS));
+    }
+
+    private synchronized void submit(final Path config_path) {
+
+        pending_runs.remove(config_path);
+
+        // Avoid overlapping runs for the same race, but make sure that changes made during a run are picked up.
+        if (running.contains(config_path))
+            rerun_required.add(config_path);
+        else if (sharesInputsWithRunningRace(config_path))
+            waiting.add(config_path);
+        else {
+            waiting.remove(config_path);
+            running.add(config_path);
+            workers.execute(() -> process(config_path));
+        }
+    }
+
+    private void process(final Path config_path) {
+
+        try {
+            if (!input_directories.containsKey(config_path)) return;
+
+            new RaceFactory().createAndProcessRace(new String[]{config_path.toString()});
+            updateInputDirectories(config_path);
+
+        } finally {
+            synchronized (this) {
+                running.remove(config_path);
+
+                // Races held back by this one go first, so that they aren't held back indefinitely by reruns.
+                final List<Path> waiting_races = List.copyOf(waiting);
+                waiting.clear();
+                waiting_races.forEach(this::submit);
+
+                if (rerun_required.remove(config_path)) submit(config_path);
+            }
+        }
+    }
+
+    private boolean sharesInputsWithRunningRace(final Path config_path) {
+
+        final List<Path> directories = input_directories.getOrDefault(config_path, List.of());
+
+        return running.stream().
+            map(running_path -> input_directories.getOrDefault(running_path, List.of())).
+            anyMatch(running_directories -> overlap(directories, running_directories));
+    }
+
+    /** Tests whether any directory in either list is within, or the same as, a directory in the other. */
+    private static boolean overlap(final List<Path> directories1, final List<Path> directories2) {
+
+        return directories1.stream().anyMatch(directory1 -> directories2.stream().
+            anyMatch(directory2 -> directory1.startsWith(directory2) || directory2.startsWith(directory1)));
+    }
+
+    private void updateInputDirectories(final Path config_path) {
+
+        try {
+            final Race race = new RaceFactory().makeRace(config_path);
+
+            if (race.configIsValid())
+                input_directories.computeIfPresent(config_path, (_, _) ->
+                    BuildManifest.getInputDirectories(((RaceInternal) race).getConfig()).stream().
+                        map(directory -> directory.toAbsolutePath().normalize()).
+                        toList());
+
+        } catch (final Exception _) {
+            // Any error will already have been reported when processing the race.
+        }
+    }
+
+    private void watchTree(final WatchService watcher, final Path directory) throws IOException {
+
+        try (final Stream<Path> directories = Files.walk(directory)) {
+
+            for (final Path sub_directory : directories.filter(Files::isDirectory).toList())
+                if (!BuildManifest.isWithinOutputDirectory(root_directory.relativize(sub_directory)))
+                    watched_directories.put(sub_directory.register(watcher, ENTRY_CREATE, ENTRY_MODIFY, ENTRY_DELETE), sub_directory);
+        }
+    }
+
+    private static List<Path> findConfigFiles(final Path directory) throws IOException {
+
+        try (final Stream<Path> paths = Files.walk(directory)) {
+
+            return paths.
+                filter(Files::isRegularFile).
+                filter(path -> path.getFileName().toString().equals(CONFIG_FILE_NAME)).
+                filter(path -> !BuildManifest.isWithinOutputDirectory(directory.relativize(path))).
+                toList();
+        }
+    }
+}
@@ -20,8 +20,6 @@ package org.grahamkirby.race_timing.common;
 import org.grahamkirby.race_timing.categories.EntryCategory;
 import org.grahamkirby.race_timing.individual_race.Runner;
 
-import java.util.List;
-
 public class RaceEntry {
 
     // Expected input format: "1", "John Smith", "Fife AC", "MS".
@@ -36,19 +34,19 @@ public class RaceEntry {
     //////////////////////////////////////////////////////////////////////////////////////////////////
 
     @SuppressWarnings({"OverlyBroadCatchBlock", "IfCanBeAssertion"})
-    public RaceEntry(final List<String> elements, final SingleRaceInternal race) {
+    public RaceEntry(final String[] elements, final SingleRaceInternal race) {
 
         final NormalisationProcessor normalisation = race.getNormalisationProcessor();
 
-        final List<String> mapped_elements = normalisation.mapRaceEntryElements(elements);
-        final String name = normalisation.cleanRunnerName(mapped_elements.get(NAME_INDEX));
-        final String club = normalisation.cleanClubName(mapped_elements.get(CLUB_INDEX));
+        final String[] mapped_elements = normalisation.mapRaceEntryElements(elements);
+        final String name = normalisation.cleanRunnerName(mapped_elements[NAME_INDEX]);
+        final String club = normalisation.cleanClubName(mapped_elements[CLUB_INDEX]);
 
-        final String category_short_name = normalisation.normaliseCategoryShortName(mapped_elements.get(CATEGORY_INDEX));
+        final String category_short_name = normalisation.normaliseCategoryShortName(mapped_elements[CATEGORY_INDEX]);
         final EntryCategory category = category_short_name.isEmpty() ? null : race.getCategoriesProcessor().getEntryCategory(category_short_name);
 
         participant = new Runner(name, club, category);
-        bib_number = Integer.parseInt(mapped_elements.get(BIB_NUMBER_INDEX));
+        bib_number = Integer.parseInt(mapped_elements[BIB_NUMBER_INDEX]);
     }
 
     public RaceEntry(final Participant participant, final int bib_number) {
@@ -23,6 +23,7 @@ import org.grahamkirby.race_timing.series_race.SeriesRaceFactory;
 
 import java.io.IOException;
 import java.nio.file.Path;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Properties;
 import java.util.function.Supplier;
@@ -44,13 +45,30 @@ public class RaceFactory {
         new RaceFactory().createAndProcessRace(args);
     }
 
+    /** Command-line option to process the race even if its inputs are unchanged since the last time. */
+    public static final String FORCE_OPTION = "--force";
+
+    /** Command-line option to generate only the listed outputs, overriding the configuration,
+     *  e.g. "--outputs=overall_html,prizes_html". */
+    public static final String OUTPUTS_OPTION = "--outputs=";
+
     public void createAndProcessRace(final String[] args) {
 
         try {
             final Race race = makeRace(Path.of(args[0]));
+            final boolean force = Arrays.asList(args).contains(FORCE_OPTION);
 
+            // The manifest is only created once the config is known to be valid, since otherwise
+            // the output directory may not be determined.
             if (race.configIsValid()) {
 
+                for (final String arg : args)
+                    if (arg.startsWith(OUTPUTS_OPTION))
+                        ((RaceInternal) race).getConfig().replace(KEY_OUTPUTS, OutputPlan.parse(arg.substring(OUTPUTS_OPTION.length())));
+
+                final BuildManifest manifest = new BuildManifest(((RaceInternal) race).getConfig());
+                if (!force && manifest.isUpToDate()) return;
+
                 final RaceResults results = race.processResults();
 
                 // If results is null then an error has occurred during processing.
@@ -61,6 +79,10 @@ public class RaceFactory {
                         race.outputPreRaceFiles();
                     else
                         race.outputResults(results);
+
+                    race.outputNotes();
+                    manifest.write();
+                    return;
                 }
             }
 
@@ -38,6 +38,12 @@ public interface RaceInternal extends Race {
      */
     void setOutput(RaceOutput output);
 
+    /**
+     * Gets the output details for the race.
+     * @return the output
+     */
+    RaceOutput getOutput();
+
     /**
      * Gets the race configuration.
      * @return the configuration
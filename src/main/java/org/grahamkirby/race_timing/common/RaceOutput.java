@@ -17,18 +17,16 @@
  */
 package org.grahamkirby.race_timing.common;
 
-import com.itextpdf.kernel.font.PdfFont;
-import com.itextpdf.kernel.font.PdfFontFactory;
-import com.itextpdf.kernel.pdf.PdfDocument;
-import com.itextpdf.kernel.pdf.PdfWriter;
-import com.itextpdf.layout.Document;
-import com.itextpdf.layout.element.Paragraph;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
 import org.grahamkirby.race_timing.categories.PrizeCategory;
 import org.grahamkirby.race_timing.series_race.SeriesRaceResults;
 
+import java.io.BufferedOutputStream;
 import java.io.IOException;
 import java.io.OutputStream;
 import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.List;
@@ -37,12 +35,22 @@ import java.util.function.Consumer;
 import java.util.function.Function;
 
 import static org.grahamkirby.race_timing.common.Config.*;
+import static org.grahamkirby.race_timing.common.OutputPlan.Output.*;
 
 public abstract class RaceOutput {
 
+    // Large enough for most output files to be written with a single system call.
+    private static final int OUTPUT_BUFFER_SIZE = 64 * 1024;
+
+    // Thread-safe once configured, so shared between races.
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
     protected RaceResults race_results;
     protected Config config;
 
+    // If set, output is written to the streams supplied by this rather than to files in the output directory.
+    private Function<Path, OutputStream> output_redirection;
+
     public RaceOutput(final Config config) {
         this.config = config;
     }
@@ -57,6 +65,8 @@ public abstract class RaceOutput {
 
         printPrizes();
         printCombined();
+        printJSON();
+        printTimings();
 
         try {
             results.getConfig().checkUnusedInputFiles();
@@ -78,12 +88,8 @@ public abstract class RaceOutput {
     protected abstract ResultPrinterGenerator getOverallResultCSVPrinterGenerator();
     protected abstract ResultPrinterGenerator getOverallResultHTMLPrinterGenerator();
     protected abstract ResultPrinterGenerator getPrizeHTMLPrinterGenerator();
-    protected abstract BiFunction<RaceResults, Document, ResultPrinter> getPrizePDFPrinterGenerator();
-
-    protected static PdfFont getFont(final String font_name) throws IOException {
-
-        return PdfFontFactory.createFont(font_name);
-    }
+    protected abstract Function<RaceResults, PrizesPDFPrinter> getPrizesPDFPrinterGenerator();
+    protected abstract BiFunction<RaceResults, JsonGenerator, ResultsJSONWriter> getResultsJSONWriterGenerator();
 
     //////////////////////////////////////////////////////////////////////////////////////////////////
 
@@ -95,24 +101,89 @@ public abstract class RaceOutput {
         return config.getOutputDirectoryPath().resolve(race_name + "_" + output_type + "_" + year + "." + file_suffix);
     }
 
+    /** Tests whether the given output is to be generated. */
+    protected boolean isPlanned(final OutputPlan.Output output) {
+
+        return ((OutputPlan) config.get(KEY_OUTPUTS)).includes(output);
+    }
+
+    /** Gets the number of results on each HTML page, or zero if HTML results are not split into pages. */
+    protected int getHTMLPageSize() {
+
+        return (Integer) config.get(KEY_HTML_PAGE_SIZE);
+    }
+
+    /** Tests whether the given HTML output is to be generated and split into pages. */
+    protected boolean isPaginated(final OutputPlan.Output output) {
+
+        return isPlanned(output) && getHTMLPageSize() > 0;
+    }
+
+    /** Makes a link to the HTML output with the given type. */
+    protected String makeLinkHTML(final String output_type, final String text) {
+
+        return "<a href=\"" + getOutputStreamPath(output_type, HTML_FILE_SUFFIX).getFileName() + "\">" + text + "</a>";
+    }
+
+    /** Redirects subsequent output to the streams supplied by the given function, which is passed the
+     *  path of the file that would otherwise be written. Passing null restores output to files. */
+    public void redirectOutput(final Function<Path, OutputStream> output_redirection) {
+        this.output_redirection = output_redirection;
+    }
+
     public OutputStream getOutputStream(final String output_type, final String file_suffix) throws IOException {
 
+        final Path path = getOutputStreamPath(output_type, file_suffix);
+        final String phase = "output " + output_type + "." + file_suffix;
+
+        // Each output is timed from when its stream is opened until it is closed.
+        if (output_redirection != null)
+            return config.getTimings().time(phase, output_redirection.apply(path), this::getNumberOfResults);
+
         try {
-            return Files.newOutputStream(getOutputStreamPath(output_type, file_suffix), STANDARD_FILE_OPEN_OPTIONS);
+            final OutputStream file_stream = new BufferedOutputStream(Files.newOutputStream(path, STANDARD_FILE_OPEN_OPTIONS), OUTPUT_BUFFER_SIZE);
+            return config.getTimings().time(phase, file_stream, this::getNumberOfResults);
         }
         catch (final IOException e) {
             throw new IOException(CANNOT_CREATE_OUTPUT_DIRECTORY_OR_FILE_WITHIN_IT + ": " + e.getMessage());
         }
     }
 
+    /** Gets a UTF-8 writer for the given output. */
+    public OutputStreamWriter getOutputWriter(final String output_type, final String file_suffix) throws IOException {
+
+        return new OutputStreamWriter(getOutputStream(output_type, file_suffix), StandardCharsets.UTF_8);
+    }
+
+    /** Writes a summary of the time taken by each phase of processing, if configured to do so. */
+    protected void printTimings() throws IOException {
+
+        if ((Boolean) config.get(KEY_OUTPUT_TIMINGS))
+            config.getTimings().writeSummary(getOutputStreamPath(FILE_TIMINGS, TEXT_FILE_SUFFIX));
+    }
+
+    private int getNumberOfResults() {
+
+        return race_results == null ? 0 : race_results.getOverallResults().size();
+    }
+
     protected void printResultsWithHeaderHTML(final OutputStreamWriter writer, final ResultPrinterGenerator make_overall_result_printer) throws IOException {
 
         writer.append("<h4>" + OVERALL + "</h4>").append(LINE_SEPARATOR);
 
-        printResults(writer, make_overall_result_printer.apply(race_results, writer), this::getResultsSubHeaderHTML);
+        printOverallResultsHTML(writer, make_overall_result_printer);
         writer.append(SOFTWARE_CREDIT_LINK_TEXT);
     }
 
+    /** Prints the overall results within another page, or a link to them if they are split into pages. */
+    protected void printOverallResultsHTML(final OutputStreamWriter writer, final ResultPrinterGenerator make_overall_result_printer) throws IOException {
+
+        if (isPaginated(OVERALL_HTML))
+            writer.append("<p>" + makeLinkHTML(OVERALL.toLowerCase(), RESULTS_BY_PAGE) + "</p>").append(LINE_SEPARATOR);
+        else
+            printResults(writer, make_overall_result_printer.apply(race_results, writer), this::getResultsSubHeaderHTML);
+    }
+
     protected String getResultsSubHeaderHTML(final String s) {
 
         return "<p></p>" + LINE_SEPARATOR + "<h4>" + s + "</h4>" + LINE_SEPARATOR;
@@ -129,20 +200,25 @@ public abstract class RaceOutput {
 
     private void printOverallResults() throws IOException {
 
-        printResultsCSV();
-        printResultsHTML();
+        if (isPlanned(OVERALL_CSV)) printResultsCSV();
+        if (isPlanned(OVERALL_HTML)) printResultsHTML();
     }
 
     protected void printPrizes() throws IOException {
 
-        printPrizesPDF();
-        printPrizesHTML();
-        printPrizesText();
+        if (isPlanned(PRIZES_PDF)) printPrizesPDF();
+        if (isPlanned(PRIZES_HTML)) printPrizesHTML();
+        if (isPlanned(PRIZES_TEXT)) printPrizesText();
     }
 
     private void printCombined() throws IOException {
 
-        printCombinedHTML();
+        if (isPlanned(COMBINED_HTML)) printCombinedHTML();
+    }
+
+    private void printJSON() throws IOException {
+
+        if (isPlanned(RESULTS_JSON)) printResultsJSON();
     }
 
     private void finaliseNotes() {
@@ -158,9 +234,7 @@ public abstract class RaceOutput {
 
         finaliseNotes();
 
-        final OutputStream stream = getOutputStream(FILE_PROCESSING_NOTES, TEXT_FILE_SUFFIX);
-
-        try (final OutputStreamWriter writer = new OutputStreamWriter(stream)) {
+        try (final OutputStreamWriter writer = getOutputWriter(FILE_PROCESSING_NOTES, TEXT_FILE_SUFFIX)) {
             writer.append(notes.getCombinedNotes());
         }
     }
@@ -169,7 +243,46 @@ public abstract class RaceOutput {
 
     private void printResultsHTML() throws IOException {
 
-        printResults(getOverallResultHTMLPrinterGenerator(), this::getResultsSubHeaderHTML, HTML_FILE_SUFFIX);
+        if (getHTMLPageSize() > 0)
+            printResultPagesHTML();
+        else
+            printResults(getOverallResultHTMLPrinterGenerator(), this::getResultsSubHeaderHTML, HTML_FILE_SUFFIX);
+    }
+
+    /** Prints the results for each category group and each prize category to separate sequences of pages,
+     *  with the overall results page acting as an index to them all. */
+    private void printResultPagesHTML() throws IOException {
+
+        final String index_output_type = OVERALL.toLowerCase();
+        final ResultPagesHTML pages = new ResultPagesHTML(this, getOverallResultHTMLPrinterGenerator(), getHTMLPageSize(), index_output_type);
+        final List<String> category_groups = race_results.getPrizeCategoryGroups();
+
+        try (final OutputStreamWriter writer = getOutputWriter(index_output_type, HTML_FILE_SUFFIX)) {
+
+            for (final String group : category_groups) {
+
+                final List<? extends RaceResult> results = race_results.getOverallResults(race_results.getPrizeCategoriesByGroup(group));
+
+                // Don't display category group headers if there is only one group.
+                if (category_groups.size() > 1) {
+                    writer.append(getResultsSubHeaderHTML(group));
+                    pages.writeLinks(writer, pages.write(index_output_type + "_" + ResultPagesHTML.makeOutputTypeComponent(group), group, results));
+                }
+                else
+                    pages.writeLinks(writer, pages.write(index_output_type, null, results));
+            }
+
+            writer.append(getResultsSubHeaderHTML(CATEGORIES));
+
+            for (final String group : category_groups)
+                for (final PrizeCategory category : race_results.getPrizeCategoriesByGroup(group)) {
+
+                    final String output_type = index_output_type + "_" + CATEGORY.toLowerCase() + "_" + ResultPagesHTML.makeOutputTypeComponent(category.getShortName());
+
+                    writer.append("<p><strong>" + race_results.getNormalisationProcessor().htmlEncode(category.getLongName()) + "</strong></p>" + LINE_SEPARATOR);
+                    pages.writeLinks(writer, pages.write(output_type, category.getLongName(), race_results.getOverallResults(List.of(category))));
+                }
+        }
     }
 
     private void printResultsCSV() throws IOException {
@@ -179,9 +292,7 @@ public abstract class RaceOutput {
 
     private void printResults(final ResultPrinterGenerator printer_generator, final Function<String, String> get_results_sub_header, final String suffix) throws IOException {
 
-        final OutputStream stream = getOutputStream(OVERALL.toLowerCase(), suffix);
-
-        try (final OutputStreamWriter writer = new OutputStreamWriter(stream)) {
+        try (final OutputStreamWriter writer = getOutputWriter(OVERALL.toLowerCase(), suffix)) {
 
             final ResultPrinter printer = printer_generator.apply(race_results, writer);
             printResults(writer, printer, get_results_sub_header);
@@ -213,9 +324,7 @@ public abstract class RaceOutput {
 
     protected void printPrizesHTML() throws IOException {
 
-        final OutputStream stream = getOutputStream(PRIZES.toLowerCase(), HTML_FILE_SUFFIX);
-
-        try (final OutputStreamWriter writer = new OutputStreamWriter(stream)) {
+        try (final OutputStreamWriter writer = getOutputWriter(PRIZES.toLowerCase(), HTML_FILE_SUFFIX)) {
 
             writer.append(getPrizesHeaderHTML());
             printPrizesHTML(writer, getPrizeHTMLPrinterGenerator().apply(race_results, writer));
@@ -265,10 +374,16 @@ public abstract class RaceOutput {
 
     private void printPrizes(final Consumer<PrizeCategory> print_category_prizes) {
 
-        race_results.getPrizeCategoryGroups().stream().
+        getCategoriesWithPrizes(race_results).forEach(print_category_prizes);
+    }
+
+    /** Gets the prize categories to be printed, in order. */
+    static List<PrizeCategory> getCategoriesWithPrizes(final RaceResults race_results) {
+
+        return race_results.getPrizeCategoryGroups().stream().
             flatMap(group -> race_results.getPrizeCategoriesByGroup(group).stream()).   // Get all prize categories.
             filter(race_results::arePrizesInThisOrLaterCategory).                             // Ignore further categories once all prizes have been output.
-            forEachOrdered(print_category_prizes);                                            // Print prizes in this category.
+            toList();
     }
 
     private void printPrizesText(final PrizeCategory category, final OutputStreamWriter writer, final ResultPrinter printer) {
@@ -298,9 +413,7 @@ public abstract class RaceOutput {
 
     protected void printPrizesText() throws IOException {
 
-        final OutputStream stream = getOutputStream(PRIZES.toLowerCase(), TEXT_FILE_SUFFIX);
-
-        try (final OutputStreamWriter writer = new OutputStreamWriter(stream)) {
+        try (final OutputStreamWriter writer = getOutputWriter(PRIZES.toLowerCase(), TEXT_FILE_SUFFIX)) {
 
             printPrizesHeaderText(writer);
             printPrizesText(writer, new PrizeResultPrinterText(race_results, writer));
@@ -309,47 +422,17 @@ public abstract class RaceOutput {
 
     protected void printPrizesPDF() throws IOException {
 
-        final Path path = getOutputStreamPath(PRIZES.toLowerCase(), PDF_FILE_SUFFIX);
-        final PdfWriter writer = new PdfWriter(path.toString());
-
-        try (final Document document = new Document(new PdfDocument(writer))) {
-            printPrizesPDF(document);
-        }
-    }
-
-    protected void printPrizesPDF(final Document document) throws IOException {
-
-        final String year = race_results.getConfig().getString(KEY_YEAR);
-        final String race_name = race_results.getConfig().getRaceName();
-
-        final ResultPrinter printer = getPrizePDFPrinterGenerator().apply(race_results, document);
-
-        final Paragraph section_header = new Paragraph().
-            setFont(getFont(PDF_PRIZE_FONT_NAME)).
-            setFontSize(PDF_PRIZE_FONT_SIZE).
-            add(race_name + " " + year + " " + CATEGORY_PRIZES);
-
-        document.add(section_header);
-        printPrizes(category -> printPrizesPDF(category, document, printer));
+        // The printer is only created here, so that iText is only loaded if a PDF is printed.
+        getPrizesPDFPrinterGenerator().apply(race_results).printPrizes(getOutputStream(PRIZES.toLowerCase(), PDF_FILE_SUFFIX));
     }
 
-    /** Prints prizes within a given category. */
-    private void printPrizesPDF(final PrizeCategory category, final Document document, final ResultPrinter printer) {
-
-        try {
-            final PdfFont bold_font = getFont(PDF_PRIZE_FONT_BOLD_NAME);
-
-            final Paragraph category_header = new Paragraph(CATEGORY + ": " + category.getLongName()).
-                setFont(bold_font).
-                setUnderline().
-                setPaddingTop(PDF_PRIZE_FONT_SIZE);
-
-            document.add(category_header);
+    //////////////////////////////////////////////////////////////////////////////////////////////////
 
-            printer.print(race_results.getPrizeWinners(category));
+    /** Writes all results as JSON, streamed directly from the results. */
+    private void printResultsJSON() throws IOException {
 
-        } catch (final IOException e) {
-            throw new RuntimeException(e);
+        try (final JsonGenerator generator = JSON_FACTORY.createGenerator(getOutputStream(FILE_RESULTS, JSON_FILE_SUFFIX))) {
+            getResultsJSONWriterGenerator().apply(race_results, generator).write();
         }
     }
 
@@ -357,9 +440,7 @@ public abstract class RaceOutput {
 
     protected void printCombinedHTML() throws IOException {
 
-        final OutputStream stream = getOutputStream(COMBINED, HTML_FILE_SUFFIX);
-
-        try (final OutputStreamWriter writer = new OutputStreamWriter(stream)) {
+        try (final OutputStreamWriter writer = getOutputWriter(COMBINED, HTML_FILE_SUFFIX)) {
 
             printPrizesWithHeaderHTML(writer, getPrizeHTMLPrinterGenerator());
             printResultsWithHeaderHTML(writer, getOverallResultHTMLPrinterGenerator());
@@ -55,6 +55,28 @@ public abstract class RaceResultsProcessor implements RaceResults {
         this.race = race;
     }
 
+    /** Runs and times a step in calculating the results, recording the number of overall results. */
+    protected <E extends Exception> void time(final String phase, final PhaseTimings.Step<E> step) throws E {
+
+        race.getConfig().getTimings().time(phase, step, () -> overall_results == null ? 0 : overall_results.size());
+    }
+
+    /** Runs and times a step that computes the given view of the results, if some planned output requires it. */
+    protected <E extends Exception> void time(final String phase, final OutputPlan.View view, final PhaseTimings.Step<E> step) throws E {
+
+        if (isRequired(view))
+            time(phase, step);
+        else
+            // Keys only used by this step would otherwise be reported as unused.
+            race.getConfig().recordKeysAsUsed(view.getConfigKeys());
+    }
+
+    /** Tests whether the given view of the results is required by some planned output. */
+    protected boolean isRequired(final OutputPlan.View view) {
+
+        return ((OutputPlan) race.getConfig().get(KEY_OUTPUTS)).requires(view);
+    }
+
     //////////////////////////////////////////////////////////////////////////////////////////////////
 
     @Override
@@ -173,6 +195,25 @@ public abstract class RaceResultsProcessor implements RaceResults {
         }
     }
 
+    /** Finds the index of the first result that is not ordered before the given result, by binary search.
+     *  Since {@link #sortOverallResults()} reverses the original order before sorting, a result
+     *  added later goes before any existing results that compare as equal. */
+    private int getInsertionIndex(final RaceResult result) {
+
+        int low = 0;
+        int high = overall_results.size();
+
+        while (low < high) {
+
+            final int middle = (low + high) >>> 1;
+
+            if (overall_results.get(middle).compareTo(result) < 0) low = middle + 1;
+            else high = middle;
+        }
+
+        return low;
+    }
+
     private static <T extends RaceResult> int getLengthOfSequenceOfEqualPerformances(final List<T> results, final int result_index) {
 
         final BoxedResult<T> previous_result = new BoxedResult<>();
@@ -217,6 +258,21 @@ public abstract class RaceResultsProcessor implements RaceResults {
         overall_results.sort(null);
     }
 
+    /** Inserts new results into the already sorted overall results, giving the same order as
+     *  {@link #sortOverallResults()} without re-sorting the existing results. */
+    protected void insertIntoOverallResults(final List<RaceResult> new_results) {
+
+        for (final RaceResult result : new_results)
+            overall_results.add(getInsertionIndex(result), result);
+    }
+
+    /** Discards any prizes already allocated, so that they can be reallocated after results have changed. */
+    protected void clearPrizes() {
+
+        for (final RaceResult result : overall_results)
+            result.getCategoriesOfPrizesAwarded().clear();
+    }
+
     protected void allocatePrizes() {
 
         final CategoriesProcessor categories_processor = race.getCategoriesProcessor();
@@ -0,0 +1,197 @@
+/*
+ * race-timing - <https://github.com/grahamkirby/race-timing>
+ * Copyright © 2026 Graham Kirby (race-timing@kirby-family.net)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.grahamkirby.race_timing.common;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.zip.CRC32;
+
+/** Reads the lines appended to a raw results file since the previous read. Only complete lines are
+ *  read, so that a line still being written is read once it has been terminated. */
+public class RawResultsTail {
+
+    private static final int CHECKSUM_BUFFER_SIZE = 64 * 1024;
+
+    // Maximum length of the region before the offset that is re-checked when lines have been appended.
+    private static final int LAST_BLOCK_MAXIMUM_LENGTH = 4 * 1024;
+
+    private final Path raw_results_path;
+
+    // Byte offset of the end of the last complete line read.
+    private long offset = 0;
+    private int number_of_lines_read = 0;
+
+    // Checksum of the bytes up to the offset, for detecting edits to lines already read.
+    private final CRC32 checksum = new CRC32();
+
+    // Length and checksum of the last block of complete lines read, ending at the offset. Only this
+    // block is re-checked when the file has grown, so that the cost of each check is bounded.
+    private int last_block_length = 0;
+    private final CRC32 last_block_checksum = new CRC32();
+
+    // Size and modification time of the file when last read or checked. If neither has changed,
+    // the lines already read are assumed to be unchanged without recomputing the checksum.
+    private long checked_size = -1;
+    private FileTime checked_modified_time;
+
+    //////////////////////////////////////////////////////////////////////////////////////////////////
+
+    public RawResultsTail(final Path raw_results_path) {
+        this.raw_results_path = raw_results_path;
+    }
+
+    //////////////////////////////////////////////////////////////////////////////////////////////////
+
+    public Path getRawResultsPath() {
+        return raw_results_path;
+    }
+
+    /** Gets the line number within the file of the first line to be returned by the next read. */
+    public int getNextLineNumber() {
+        return number_of_lines_read + 1;
+    }
+
+    /** Records all complete lines currently in the file as read. */
+    public void skipToEnd() throws IOException {
+
+        offset = 0;
+        number_of_lines_read = 0;
+        checksum.reset();
+        last_block_length = 0;
+        last_block_checksum.reset();
+        readNewLines();
+    }
+
+    /** Tests whether the part of the file already read has changed since it was read, because the
+     *  file has been removed, truncated or replaced, or an earlier line has been edited in place.
+     *  If so, the lines already read are no longer valid.
+     *  <br />
+     *  Where the file has grown, only the last block of lines read is re-checked, so an edit to an earlier
+     *  line made at the same time as an append is not detected. The whole of the part already read is
+     *  re-checked where the file has been modified without changing its size. */
+    public boolean wasRewritten() throws IOException {
+
+        if (!Files.exists(raw_results_path)) return true;
+
+        final long size = Files.size(raw_results_path);
+        final FileTime modified_time = Files.getLastModifiedTime(raw_results_path);
+
+        if (size == checked_size && modified_time.equals(checked_modified_time)) return false;
+        if (size < offset) return true;
+
+        final boolean unchanged = size == checked_size ?
+            computeChecksum(0, offset) == checksum.getValue() :
+            computeChecksum(offset - last_block_length, offset) == last_block_checksum.getValue();
+
+        if (!unchanged) return true;
+
+        checked_size = size;
+        checked_modified_time = modified_time;
+        return false;
+    }
+
+    /** Reads the complete lines appended since the previous read. */
+    public List<String> readNewLines() throws IOException {
+
+        if (!Files.exists(raw_results_path)) return List.of();
+
+        // Recorded before reading, so that a change made during the read is detected by the next check.
+        final FileTime modified_time = Files.getLastModifiedTime(raw_results_path);
+        final byte[] bytes = readFromOffset();
+
+        checked_size = offset + bytes.length;
+        checked_modified_time = modified_time;
+
+        int end_of_last_complete_line = -1;
+        for (int i = bytes.length - 1; i >= 0 && end_of_last_complete_line < 0; i--)
+            if (bytes[i] == '\n') end_of_last_complete_line = i;
+
+        final List<String> lines = new ArrayList<>();
+        if (end_of_last_complete_line < 0) return lines;
+
+        final String text = new String(bytes, 0, end_of_last_complete_line, StandardCharsets.UTF_8);
+
+        for (final String line : text.split("\n", -1))
+            lines.add(line.endsWith("\r") ? line.substring(0, line.length() - 1) : line);
+
+        checksum.update(bytes, 0, end_of_last_complete_line + 1);
+
+        last_block_length = Math.min(end_of_last_complete_line + 1, LAST_BLOCK_MAXIMUM_LENGTH);
+        last_block_checksum.reset();
+        last_block_checksum.update(bytes, end_of_last_complete_line + 1 - last_block_length, last_block_length);
+        offset += end_of_last_complete_line + 1;
+        number_of_lines_read += lines.size();
+
+        return lines;
+    }
+
+    //////////////////////////////////////////////////////////////////////////////////////////////////
+
+    private byte[] readFromOffset() throws IOException {
+
+        try (final FileChannel channel = FileChannel.open(raw_results_path, StandardOpenOption.READ)) {
+
+            final long size = channel.size();
+            if (size <= offset) return new byte[0];
+
+            final ByteBuffer buffer = ByteBuffer.allocate((int) (size - offset));
+
+            channel.position(offset);
+
+            while (buffer.hasRemaining())
+                if (channel.read(buffer) < 0) break;
+
+            return Arrays.copyOf(buffer.array(), buffer.position());
+        }
+    }
+
+    /** Computes the checksum of the bytes currently in the file between the given offsets. */
+    private long computeChecksum(final long start, final long end) throws IOException {
+
+        final CRC32 current_checksum = new CRC32();
+
+        try (final FileChannel channel = FileChannel.open(raw_results_path, StandardOpenOption.READ)) {
+
+            final ByteBuffer buffer = ByteBuffer.allocate((int) Math.min(CHECKSUM_BUFFER_SIZE, Math.max(end - start, 1)));
+            long remaining = end - start;
+
+            channel.position(start);
+
+            while (remaining > 0) {
+
+                buffer.clear().limit((int) Math.min(buffer.capacity(), remaining));
+                final int bytes_read = channel.read(buffer);
+                if (bytes_read < 0) break;
+
+                current_checksum.update(buffer.array(), 0, bytes_read);
+                remaining -= bytes_read;
+            }
+        }
+
+        return current_checksum.getValue();
+    }
+}
@@ -0,0 +1,78 @@
+/*
+ * race-timing - <https://github.com/grahamkirby/race-timing>
+ * Copyright © 2026 Graham Kirby (race-timing@kirby-family.net)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.grahamkirby.race_timing.common;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Process-lifetime cache of resources parsed from files that are shared between races, such as
+ * category definitions, capitalisation stop words and normalisation maps. Where many races are
+ * processed in a single process, as by {@link RaceDaemon}, each file is then read and parsed once
+ * rather than once per run. A cached resource is parsed again if its file's size or modification
+ * time changes.
+ * <br />
+ * Cached resources are shared between races, including races processed concurrently, so must not
+ * be modified.
+ */
+public final class ResourceCache {
+
+    /** Parses a resource from a file. */
+    @FunctionalInterface
+    public interface Parser<T> {
+        T parse(Path path) throws IOException;
+    }
+
+    // The kind distinguishes different resources parsed from the same file.
+    private record Key(Path path, String kind) {}
+    private record Entry(long size, FileTime modified_time, Object resource) {}
+
+    private static final Map<Key, Entry> ENTRIES = new ConcurrentHashMap<>();
+
+    private ResourceCache() {
+    }
+
+    //////////////////////////////////////////////////////////////////////////////////////////////////
+
+    /** Gets the resource of the given kind parsed from the given file, reusing the resource parsed
+     *  previously if the file is unchanged. If the path is null, the result of parsing null is returned
+     *  without caching. */
+    @SuppressWarnings("unchecked")
+    public static <T> T get(final Path path, final String kind, final Parser<T> parser) throws IOException {
+
+        if (path == null) return parser.parse(null);
+
+        final Key key = new Key(path.toAbsolutePath().normalize(), kind);
+
+        // Recorded before parsing, so that a change made during parsing is detected by the next call.
+        final long size = Files.size(path);
+        final FileTime modified_time = Files.getLastModifiedTime(path);
+
+        final Entry entry = ENTRIES.get(key);
+        if (entry != null && entry.size() == size && entry.modified_time().equals(modified_time)) return (T) entry.resource();
+
+        final T resource = parser.parse(path);
+        ENTRIES.put(key, new Entry(size, modified_time, resource));
+
+        return resource;
+    }
+}
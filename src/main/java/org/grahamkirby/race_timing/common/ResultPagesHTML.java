@@ -0,0 +1,136 @@
+/*
+ * race-timing - <https://github.com/grahamkirby/race-timing>
+ * Copyright © 2026 Graham Kirby (race-timing@kirby-family.net)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.grahamkirby.race_timing.common;
+
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.grahamkirby.race_timing.common.Config.*;
+
+/**
+ * Splits sequences of results into HTML pages of a fixed size, for races with fields too large
+ * to be shown in a single table. Each page links to the previous and next pages and to an index
+ * page, which in turn links to all the pages.
+ * <br />
+ * The results are written in a single pass over each sequence, with only one page open at a time,
+ * so memory use doesn't depend on the number of pages.
+ */
+public class ResultPagesHTML {
+
+    private static final String PAGE = "page";
+
+    /** A page of results, with the output type from which its file name is formed. */
+    public record Page(String output_type, int first_result_number, int last_result_number) {}
+
+    private final RaceOutput output;
+    private final ResultPrinterGenerator printer_generator;
+    private final int page_size;
+    private final String index_output_type;
+
+    //////////////////////////////////////////////////////////////////////////////////////////////////
+
+    /** Creates pages that link back to the index page with the given output type. */
+    public ResultPagesHTML(final RaceOutput output, final ResultPrinterGenerator printer_generator, final int page_size, final String index_output_type) {
+
+        this.output = output;
+        this.printer_generator = printer_generator;
+        this.page_size = page_size;
+        this.index_output_type = index_output_type;
+    }
+
+    //////////////////////////////////////////////////////////////////////////////////////////////////
+
+    /** Parses a page size from configuration, which must be positive. */
+    public static int parsePageSize(final String page_size_string) {
+
+        try {
+            final int page_size = Integer.parseInt(page_size_string.strip());
+            if (page_size > 0) return page_size;
+
+        } catch (final NumberFormatException _) {
+            // Reported below.
+        }
+
+        throw new RuntimeException(INVALID_PAGE_SIZE + " '" + page_size_string.strip() + "'");
+    }
+
+    /** Writes the given results to pages whose file names start with the given output type, headed by
+     *  the given title if not null. At least one page is written, so that an empty sequence can be shown.
+     *  @return the pages written */
+    public List<Page> write(final String output_type, final String title, final List<? extends RaceResult> results) throws IOException {
+
+        final int number_of_pages = Math.max(1, (results.size() + page_size - 1) / page_size);
+        final List<Page> pages = new ArrayList<>();
+
+        for (int page_index = 0; page_index < number_of_pages; page_index++)
+            pages.add(new Page(
+                output_type + "_" + PAGE + "_" + (page_index + 1),
+                page_index * page_size + 1,
+                Math.min((page_index + 1) * page_size, results.size())));
+
+        for (int page_index = 0; page_index < number_of_pages; page_index++) {
+
+            final Page page = pages.get(page_index);
+
+            try (final OutputStreamWriter writer = output.getOutputWriter(page.output_type(), HTML_FILE_SUFFIX)) {
+
+                if (title != null)
+                    writer.append("<h4>" + output.race_results.getNormalisationProcessor().htmlEncode(title) + "</h4>").append(LINE_SEPARATOR);
+
+                // The sub-list is a view, so no results are copied.
+                printer_generator.apply(output.race_results, writer).print(results.subList(page.first_result_number() - 1, page.last_result_number()));
+
+                writeNavigation(writer, page_index > 0 ? pages.get(page_index - 1) : null, page_index < number_of_pages - 1 ? pages.get(page_index + 1) : null);
+            }
+        }
+
+        return pages;
+    }
+
+    /** Writes links to the given pages. */
+    public void writeLinks(final OutputStreamWriter writer, final List<Page> pages) throws IOException {
+
+        final List<String> links = new ArrayList<>();
+
+        for (final Page page : pages)
+            links.add(output.makeLinkHTML(page.output_type(), page.last_result_number() == 0 ? NO_RESULTS : page.first_result_number() + "-" + page.last_result_number()));
+
+        writer.append("<p>" + String.join(" | ", links) + "</p>").append(LINE_SEPARATOR);
+    }
+
+    /** Converts a category or group name into a form that can be included in a file name. */
+    public static String makeOutputTypeComponent(final String name) {
+
+        return name.toLowerCase().replaceAll("[^a-z0-9]+", "_");
+    }
+
+    //////////////////////////////////////////////////////////////////////////////////////////////////
+
+    private void writeNavigation(final OutputStreamWriter writer, final Page previous_page, final Page next_page) throws IOException {
+
+        final List<String> links = new ArrayList<>();
+
+        if (previous_page != null) links.add(output.makeLinkHTML(previous_page.output_type(), PREVIOUS));
+        links.add(output.makeLinkHTML(index_output_type, INDEX));
+        if (next_page != null) links.add(output.makeLinkHTML(next_page.output_type(), NEXT));
+
+        writer.append("<p>" + String.join(" | ", links) + "</p>").append(LINE_SEPARATOR);
+    }
+}
@@ -0,0 +1,174 @@
+/*
+ * race-timing - <https://github.com/grahamkirby/race-timing>
+ * Copyright © 2026 Graham Kirby (race-timing@kirby-family.net)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.grahamkirby.race_timing.common;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+import static org.grahamkirby.race_timing.common.Config.CSV_SEPARATOR;
+import static org.grahamkirby.race_timing.common.Config.LINE_SEPARATOR;
+
+/**
+ * Layout of a table of results, compiled from a list of columns into a flat sequence of literal
+ * text chunks and field extractors. Rendering a row then only involves appending each chunk in
+ * turn to a buffer.
+ * <br />
+ * Columns are defined once per table, with their headers, using a {@link Builder}.
+ */
+public final class ResultTemplate<R extends RaceResult> {
+
+    /** Text surrounding the cells and rows of a table in a particular output format. */
+    public record Format(String row_start, String cell_start, String cell_end, String cell_separator, String row_end,
+                         String header_cell_start, String header_cell_end) {}
+
+    public static final Format HTML = new Format(
+        "        <tr>\n", "            <td>", "</td>" + LINE_SEPARATOR, "", "        </tr>\n",
+        "            <th>", "</th>" + LINE_SEPARATOR);
+
+    public static final Format CSV = new Format(
+        "", "", "", CSV_SEPARATOR, LINE_SEPARATOR,
+        "", "");
+
+    @FunctionalInterface
+    private interface Chunk<R> {
+        void append(R result, StringBuilder row);
+    }
+
+    private final Format format;
+    private final List<String> headers;
+    private final Chunk<R>[] chunks;
+
+    //////////////////////////////////////////////////////////////////////////////////////////////////
+
+    private ResultTemplate(final Format format, final List<String> headers, final Chunk<R>[] chunks) {
+
+        this.format = format;
+        this.headers = headers;
+        this.chunks = chunks;
+    }
+
+    //////////////////////////////////////////////////////////////////////////////////////////////////
+
+    /** Gets the headers of all the columns. */
+    public List<String> getHeaders() {
+        return headers;
+    }
+
+    /** Appends the column headers, without any row start or end. */
+    public void appendHeaders(final StringBuilder row) {
+
+        for (int i = 0; i < headers.size(); i++) {
+
+            if (i > 0) row.append(format.cell_separator);
+            row.append(format.header_cell_start).append(headers.get(i)).append(format.header_cell_end);
+        }
+    }
+
+    /** Appends a complete row for the given result. */
+    @SuppressWarnings("unchecked")
+    public void appendRow(final RaceResult result, final StringBuilder row) {
+
+        for (final Chunk<R> chunk : chunks)
+            chunk.append((R) result, row);
+    }
+
+    //////////////////////////////////////////////////////////////////////////////////////////////////
+
+    /** Accumulates the columns of a table, in order. */
+    public static final class Builder<R extends RaceResult> {
+
+        private sealed interface Column<R> {}
+        private record SingleColumn<R>(Function<R, String> field) implements Column<R> {}
+        private record MultipleColumns<R>(Function<R, List<String>> fields) implements Column<R> {}
+
+        private final List<String> headers = new ArrayList<>();
+        private final List<Column<R>> columns = new ArrayList<>();
+
+        /** Adds a column with the given header, whose value for each result is given by the field function. */
+        public Builder<R> column(final String header, final Function<R, String> field) {
+
+            headers.add(header);
+            columns.add(new SingleColumn<>(field));
+            return this;
+        }
+
+        /** Adds a run of columns with the given headers, whose values for each result are given by the
+         *  fields function. The number of values may differ from the number of headers. */
+        public Builder<R> columns(final List<String> headers, final Function<R, List<String>> fields) {
+
+            this.headers.addAll(headers);
+            columns.add(new MultipleColumns<>(fields));
+            return this;
+        }
+
+        /** Compiles the columns for the given format. Adjacent literal text is merged into a single chunk. */
+        @SuppressWarnings("unchecked")
+        public ResultTemplate<R> compile(final Format format) {
+
+            final List<Chunk<R>> chunks = new ArrayList<>();
+            final StringBuilder literal = new StringBuilder(format.row_start);
+
+            for (int i = 0; i < columns.size(); i++) {
+
+                if (i > 0) literal.append(format.cell_separator);
+
+                switch (columns.get(i)) {
+
+                    case SingleColumn<R>(final Function<R, String> field) -> {
+
+                        literal.append(format.cell_start);
+                        addLiteral(chunks, literal);
+                        chunks.add((result, row) -> row.append(field.apply(result)));
+                        literal.append(format.cell_end);
+                    }
+
+                    case MultipleColumns<R>(final Function<R, List<String>> fields) -> {
+
+                        addLiteral(chunks, literal);
+                        chunks.add((result, row) -> appendCells(fields.apply(result), row, format));
+                    }
+                }
+            }
+
+            literal.append(format.row_end);
+            addLiteral(chunks, literal);
+
+            return new ResultTemplate<>(format, List.copyOf(headers), chunks.toArray(Chunk[]::new));
+        }
+
+        private static <R> void addLiteral(final List<Chunk<R>> chunks, final StringBuilder literal) {
+
+            if (!literal.isEmpty()) {
+
+                final String text = literal.toString();
+                chunks.add((_, row) -> row.append(text));
+                literal.setLength(0);
+            }
+        }
+
+        private static void appendCells(final List<String> values, final StringBuilder row, final Format format) {
+
+            for (int i = 0; i < values.size(); i++) {
+
+                if (i > 0) row.append(format.cell_separator);
+                row.append(format.cell_start).append(values.get(i)).append(format.cell_end);
+            }
+        }
+    }
+}
@@ -0,0 +1,126 @@
+/*
+ * race-timing - <https://github.com/grahamkirby/race-timing>
+ * Copyright © 2026 Graham Kirby (race-timing@kirby-family.net)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.grahamkirby.race_timing.common;
+
+import org.grahamkirby.race_timing.categories.EntryCategory;
+import org.grahamkirby.race_timing.categories.PrizeCategory;
+
+import java.util.*;
+
+/**
+ * Describes the changes to the results of a single race since a given point, as compact events
+ * suitable for pushing to live displays.
+ * <br />
+ * A delta is created before new results are added. Results that were not present then are reported
+ * as new finishers, and results whose prizes differ are reported as prize changes.
+ */
+public class ResultsDelta {
+
+    public record FinisherEvent(int bib_number, String name, String time, String position, String category, String category_position) {}
+
+    public record PrizeEvent(int bib_number, String name, List<String> prizes) {}
+
+    private final RaceResultsProcessor results_processor;
+
+    // Keyed by result object identity, since results are not replaced when others are added.
+    private final Map<RaceResult, List<PrizeCategory>> previous_prizes = new IdentityHashMap<>();
+
+    //////////////////////////////////////////////////////////////////////////////////////////////////
+
+    /** Records the current state of the results of the given race. */
+    public ResultsDelta(final RaceInternal race) {
+
+        results_processor = race.getResultsProcessor();
+
+        for (final RaceResult result : results_processor.getOverallResults())
+            previous_prizes.put(result, List.copyOf(result.getCategoriesOfPrizesAwarded()));
+    }
+
+    //////////////////////////////////////////////////////////////////////////////////////////////////
+
+    /** Gets an event for each result added since the delta was created, in finishing order. */
+    public List<FinisherEvent> getFinisherEvents() {
+
+        final List<RaceResult> results = results_processor.getOverallResults();
+
+        final List<RaceResult> new_results = results.stream().
+            filter(this::isNewResult).
+            toList();
+
+        final Map<RaceResult, String> overall_positions = getNewResultPositions(results);
+        final Map<RaceResult, String> category_positions = new IdentityHashMap<>();
+
+        // Positions within categories are only needed for the categories of the new results.
+        new_results.stream().
+            map(RaceResult::getEntryCategory).
+            distinct().
+            forEachOrdered(category -> category_positions.putAll(getNewResultPositions(getResultsInCategory(results, category))));
+
+        return new_results.stream().
+            map(result -> new FinisherEvent(
+                ((SingleRaceResult) result).getBibNumber(),
+                result.getParticipantName(),
+                String.valueOf(result.getPerformance()),
+                overall_positions.get(result),
+                result.getEntryCategory() == null ? null : result.getEntryCategory().getShortName(),
+                category_positions.get(result))).
+            toList();
+    }
+
+    /** Gets an event for each result whose prizes have changed since the delta was created,
+     *  including new results that have been awarded prizes. */
+    public List<PrizeEvent> getPrizeEvents() {
+
+        return results_processor.getOverallResults().stream().
+            filter(result -> !result.getCategoriesOfPrizesAwarded().equals(previous_prizes.getOrDefault(result, List.of()))).
+            map(result -> new PrizeEvent(
+                ((SingleRaceResult) result).getBibNumber(),
+                result.getParticipantName(),
+                result.getCategoriesOfPrizesAwarded().stream().
+                    map(PrizeCategory::getLongName).
+                    toList())).
+            toList();
+    }
+
+    //////////////////////////////////////////////////////////////////////////////////////////////////
+
+    private boolean isNewResult(final RaceResult result) {
+        return !previous_prizes.containsKey(result);
+    }
+
+    /** Gets the positions of the new results within the given ranked results. */
+    private Map<RaceResult, String> getNewResultPositions(final List<RaceResult> results) {
+
+        // Position strings are shared by all rankings containing a result, so are read straight away.
+        results_processor.setPositionStrings(results);
+
+        final Map<RaceResult, String> positions = new IdentityHashMap<>();
+
+        for (final RaceResult result : results)
+            if (isNewResult(result)) positions.put(result, result.getPositionString());
+
+        return positions;
+    }
+
+    private static List<RaceResult> getResultsInCategory(final List<RaceResult> results, final EntryCategory category) {
+
+        return results.stream().
+            filter(result -> Objects.equals(result.getEntryCategory(), category)).
+            toList();
+    }
+}
@@ -0,0 +1,229 @@
+/*
+ * race-timing - <https://github.com/grahamkirby/race-timing>
+ * Copyright © 2026 Graham Kirby (race-timing@kirby-family.net)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.grahamkirby.race_timing.common;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Pushes results events to connected clients as server-sent events.
+ * <br />
+ * Each client has its own bounded buffer of pending events, which is written to the client by the
+ * thread handling its connection. Publishing an event never waits for a client. If a client falls
+ * so far behind that its buffer fills, its pending events are discarded and replaced by a single
+ * reset event, telling it to reload the full results.
+ */
+public class ResultsEventStream {
+
+    public static final String FINISHER_EVENT = "finisher";
+    public static final String PRIZE_EVENT = "prize";
+    public static final String RESET_EVENT = "reset";
+
+    private static final int DEFAULT_BUFFER_CAPACITY = 256;
+
+    // Comment lines are sent periodically when there are no events, so that closed connections are detected.
+    private static final long KEEP_ALIVE_INTERVAL_SECONDS = 15;
+    private static final String KEEP_ALIVE = ": keep-alive\n\n";
+
+    // Sent without an id, since it replaces a sequence of discarded events.
+    private static final String RESET = "event: " + RESET_EVENT + "\ndata: {}\n\n";
+
+    private static final int STATUS_OK = 200;
+
+    // Indicates that the response length is not known in advance, for sendResponseHeaders.
+    private static final int CHUNKED_RESPONSE_BODY = 0;
+
+    private final ObjectMapper object_mapper = new ObjectMapper();
+    private final Set<ClientBuffer> clients = ConcurrentHashMap.newKeySet();
+    private final int buffer_capacity;
+
+    private long next_event_id = 1;
+
+    //////////////////////////////////////////////////////////////////////////////////////////////////
+
+    public ResultsEventStream() {
+        this(DEFAULT_BUFFER_CAPACITY);
+    }
+
+    public ResultsEventStream(final int buffer_capacity) {
+        this.buffer_capacity = buffer_capacity;
+    }
+
+    //////////////////////////////////////////////////////////////////////////////////////////////////
+
+    /** Sends an event to all connected clients, with the given data encoded as JSON. */
+    public synchronized void publish(final String event_type, final Object data) {
+
+        final String event = formatEvent(next_event_id++, event_type, toJson(data));
+
+        for (final ClientBuffer client : clients)
+            client.add(event);
+    }
+
+    /** Gets the number of connected clients. */
+    public int getNumberOfClients() {
+        return clients.size();
+    }
+
+    /** Disconnects all clients. */
+    public void close() {
+
+        for (final ClientBuffer client : clients)
+            client.close();
+    }
+
+    /** Handles a client connection, returning when the client disconnects or the stream is closed. */
+    public void handle(final HttpExchange exchange) throws IOException {
+
+        exchange.getResponseHeaders().set("Content-Type", "text/event-stream; charset=utf-8");
+        exchange.getResponseHeaders().set("Cache-Control", "no-cache");
+        exchange.sendResponseHeaders(STATUS_OK, CHUNKED_RESPONSE_BODY);
+
+        final ClientBuffer client = new ClientBuffer(buffer_capacity);
+        clients.add(client);
+
+        try (final OutputStream body = exchange.getResponseBody()) {
+
+            // Sent straight away so that the client sees the connection open.
+            write(body, KEEP_ALIVE);
+
+            while (true) {
+
+                final String event = client.take(TimeUnit.SECONDS.toMillis(KEEP_ALIVE_INTERVAL_SECONDS));
+
+                if (client.isClosed()) break;
+                write(body, event != null ? event : KEEP_ALIVE);
+            }
+        }
+        catch (final IOException _) {
+            // The client has disconnected.
+        }
+        catch (final InterruptedException _) {
+            Thread.currentThread().interrupt();
+        }
+        finally {
+            clients.remove(client);
+        }
+    }
+
+    //////////////////////////////////////////////////////////////////////////////////////////////////
+
+    /** Fixed-size ring buffer of the events waiting to be sent to one client. */
+    private static final class ClientBuffer {
+
+        private final String[] events;
+        private int head = 0;
+        private int size = 0;
+
+        // Set when the buffer has overflowed and holds only a reset event. Further events are then
+        // redundant, since the client will reload the full results once it receives the reset.
+        private boolean reset_pending = false;
+        private boolean closed = false;
+
+        ClientBuffer(final int capacity) {
+            events = new String[capacity];
+        }
+
+        synchronized void add(final String event) {
+
+            if (reset_pending) return;
+
+            if (size == events.length) {
+
+                Arrays.fill(events, null);
+                head = 0;
+                size = 1;
+                events[0] = RESET;
+                reset_pending = true;
+            }
+            else {
+                events[(head + size) % events.length] = event;
+                size++;
+            }
+
+            notifyAll();
+        }
+
+        /** Removes the next event, waiting up to the given time for one to be added. Returns null if
+         *  none was added, or if the buffer has been closed. */
+        synchronized String take(final long timeout_millis) throws InterruptedException {
+
+            final long deadline = System.currentTimeMillis() + timeout_millis;
+
+            while (size == 0 && !closed) {
+
+                final long remaining = deadline - System.currentTimeMillis();
+                if (remaining <= 0) return null;
+
+                wait(remaining);
+            }
+
+            if (closed) return null;
+
+            final String event = events[head];
+            events[head] = null;
+            head = (head + 1) % events.length;
+            size--;
+            reset_pending = false;
+
+            return event;
+        }
+
+        synchronized void close() {
+
+            closed = true;
+            notifyAll();
+        }
+
+        synchronized boolean isClosed() {
+            return closed;
+        }
+    }
+
+    //////////////////////////////////////////////////////////////////////////////////////////////////
+
+    private static String formatEvent(final long event_id, final String event_type, final String json) {
+
+        return "id: " + event_id + "\nevent: " + event_type + "\ndata: " + json + "\n\n";
+    }
+
+    private String toJson(final Object data) {
+
+        try {
+            return object_mapper.writeValueAsString(data);
+
+        } catch (final JsonProcessingException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private static void write(final OutputStream body, final String text) throws IOException {
+
+        body.write(text.getBytes(StandardCharsets.UTF_8));
+        body.flush();
+    }
+}
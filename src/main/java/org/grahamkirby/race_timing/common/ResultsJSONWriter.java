@@ -0,0 +1,117 @@
+/*
+ * race-timing - <https://github.com/grahamkirby/race-timing>
+ * Copyright © 2026 Graham Kirby (race-timing@kirby-family.net)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.grahamkirby.race_timing.common;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import org.grahamkirby.race_timing.categories.PrizeCategory;
+
+import java.io.IOException;
+import java.util.List;
+
+import static org.grahamkirby.race_timing.common.Config.KEY_YEAR;
+
+/**
+ * Writes the results of a race as a single JSON object, directly from the results without building
+ * an intermediate tree. The object contains the overall results for each prize category group, and
+ * the prize winners in each category. Race-specific fields are added by subclasses.
+ */
+public abstract class ResultsJSONWriter {
+
+    protected final RaceResults race_results;
+    protected final JsonGenerator generator;
+
+    protected ResultsJSONWriter(final RaceResults race_results, final JsonGenerator generator) {
+
+        this.race_results = race_results;
+        this.generator = generator;
+    }
+
+    //////////////////////////////////////////////////////////////////////////////////////////////////
+
+    /** Writes the fields of a single result. */
+    protected abstract void writeResultFields(RaceResult result) throws IOException;
+
+    /** Writes any fields specific to the race type, after the overall results and prizes. */
+    protected void writeRaceFields() throws IOException {
+    }
+
+    //////////////////////////////////////////////////////////////////////////////////////////////////
+
+    public void write() throws IOException {
+
+        generator.writeStartObject();
+
+        generator.writeStringField("race", race_results.getConfig().getRaceName());
+        generator.writeStringField("year", race_results.getConfig().getString(KEY_YEAR));
+
+        writeOverallResults();
+        writePrizes();
+        writeRaceFields();
+
+        generator.writeEndObject();
+    }
+
+    //////////////////////////////////////////////////////////////////////////////////////////////////
+
+    private void writeOverallResults() throws IOException {
+
+        generator.writeArrayFieldStart("overall");
+
+        for (final String group : race_results.getPrizeCategoryGroups()) {
+
+            generator.writeStartObject();
+            generator.writeStringField("group", group);
+
+            // Positions are recorded within each group as the results for the group are retrieved.
+            writeResults("results", race_results.getOverallResults(race_results.getPrizeCategoriesByGroup(group)));
+
+            generator.writeEndObject();
+        }
+
+        generator.writeEndArray();
+    }
+
+    private void writePrizes() throws IOException {
+
+        generator.writeArrayFieldStart("prizes");
+
+        for (final PrizeCategory category : RaceOutput.getCategoriesWithPrizes(race_results)) {
+
+            generator.writeStartObject();
+            generator.writeStringField("category", category.getLongName());
+            writeResults("winners", race_results.getPrizeWinners(category));
+            generator.writeEndObject();
+        }
+
+        generator.writeEndArray();
+    }
+
+    protected void writeResults(final String field_name, final List<? extends RaceResult> results) throws IOException {
+
+        generator.writeArrayFieldStart(field_name);
+
+        for (final RaceResult result : results) {
+
+            generator.writeStartObject();
+            writeResultFields(result);
+            generator.writeEndObject();
+        }
+
+        generator.writeEndArray();
+    }
+}
@@ -0,0 +1,277 @@
+/*
+ * race-timing - <https://github.com/grahamkirby/race-timing>
+ * Copyright © 2026 Graham Kirby (race-timing@kirby-family.net)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.grahamkirby.race_timing.common;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.grahamkirby.race_timing.common.Config.*;
+
+/**
+ * Serves the output files of a race over HTTP from memory, in place of writing them to the output
+ * directory.
+ * <br />
+ * Pages are rendered when the race outputs its results, not when they are requested, and each page
+ * is cached together with an ETag derived from its content. A page whose content is unchanged when
+ * results are output again keeps its ETag, so clients revalidating with If-None-Match receive a
+ * 304 response without the page being sent again.
+ * <br />
+ * Clients may also connect to {@value #EVENTS_PATH} to receive results events as they are published,
+ * as server-sent events.
+ */
+public class ResultsServer {
+
+    public static final String EVENTS_PATH = "/events";
+
+    private static final String ETAG_DIGEST_ALGORITHM = "SHA-256";
+    private static final int ETAG_LENGTH_IN_BYTES = 16;
+
+    private static final int STATUS_OK = 200;
+    private static final int STATUS_NOT_MODIFIED = 304;
+    private static final int STATUS_NOT_FOUND = 404;
+    private static final int STATUS_METHOD_NOT_ALLOWED = 405;
+
+    // Indicates that the response has no body, for sendResponseHeaders.
+    private static final int NO_RESPONSE_BODY = -1;
+
+    private static final Map<String, String> CONTENT_TYPES = Map.of(
+        HTML_FILE_SUFFIX, "text/html; charset=utf-8",
+        CSV_FILE_SUFFIX, "text/csv; charset=utf-8",
+        TEXT_FILE_SUFFIX, "text/plain; charset=utf-8",
+        PDF_FILE_SUFFIX, "application/pdf",
+        JSON_FILE_SUFFIX, "application/json"
+    );
+
+    private static final String DEFAULT_CONTENT_TYPE = "application/octet-stream";
+
+    private record Page(byte[] content, String etag) {}
+
+    // Keyed by file name; read by server threads while being updated by the race processing thread.
+    private final Map<String, Page> pages = new ConcurrentHashMap<>();
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final ResultsEventStream event_stream = new ResultsEventStream();
+
+    //////////////////////////////////////////////////////////////////////////////////////////////////
+
+    /** Creates a server listening on the given port on all local addresses; zero selects any free port. */
+    public ResultsServer(final int port) throws IOException {
+
+        server = HttpServer.create(new InetSocketAddress(port), 0);
+        server.createContext("/", this::handle);
+        server.createContext(EVENTS_PATH, event_stream::handle);
+
+        // Each event stream client holds on to a thread for as long as it is connected.
+        executor = Executors.newVirtualThreadPerTaskExecutor();
+        server.setExecutor(executor);
+    }
+
+    //////////////////////////////////////////////////////////////////////////////////////////////////
+
+    public void start() {
+        server.start();
+    }
+
+    public void stop() {
+
+        event_stream.close();
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    /** Gets the port on which the server is listening. */
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    /** Redirects the output of the given race to this server. Pages already published by a previous
+     *  race are retained until replaced. */
+    public void attach(final RaceInternal race) {
+
+        race.getOutput().redirectOutput(path -> new PageOutputStream(path.getFileName().toString()));
+    }
+
+    /** Sends an event to all clients connected to the event stream. */
+    public void publishEvent(final String event_type, final Object data) {
+        event_stream.publish(event_type, data);
+    }
+
+    /** Gets the number of clients connected to the event stream. */
+    public int getNumberOfEventClients() {
+        return event_stream.getNumberOfClients();
+    }
+
+    /** Gets the ETag of the given page, or null if it has not been published. */
+    public String getETag(final String page_name) {
+
+        final Page page = pages.get(page_name);
+        return page == null ? null : page.etag();
+    }
+
+    //////////////////////////////////////////////////////////////////////////////////////////////////
+
+    /** Collects a page in memory, publishing it when closed. */
+    private class PageOutputStream extends ByteArrayOutputStream {
+
+        private final String page_name;
+        private boolean closed = false;
+
+        PageOutputStream(final String page_name) {
+            this.page_name = page_name;
+        }
+
+        @Override
+        public void close() {
+
+            if (!closed) {
+                publish(page_name, toByteArray());
+                closed = true;
+            }
+        }
+    }
+
+    private void publish(final String page_name, final byte[] content) {
+
+        final Page existing_page = pages.get(page_name);
+
+        // Retain the existing page, and hence its ETag, if the content is unchanged.
+        if (existing_page == null || !Arrays.equals(existing_page.content(), content))
+            pages.put(page_name, new Page(content, makeETag(content)));
+    }
+
+    private static String makeETag(final byte[] content) {
+
+        try {
+            final byte[] digest = MessageDigest.getInstance(ETAG_DIGEST_ALGORITHM).digest(content);
+            return "\"" + HexFormat.of().formatHex(digest, 0, ETAG_LENGTH_IN_BYTES) + "\"";
+
+        } catch (final NoSuchAlgorithmException e) {
+            // Every Java platform is required to support SHA-256.
+            throw new RuntimeException(e);
+        }
+    }
+
+    //////////////////////////////////////////////////////////////////////////////////////////////////
+
+    private void handle(final HttpExchange exchange) throws IOException {
+
+        try (exchange) {
+
+            final String method = exchange.getRequestMethod();
+            final boolean is_head = method.equals("HEAD");
+
+            if (!is_head && !method.equals("GET")) {
+                exchange.getResponseHeaders().set("Allow", "GET, HEAD");
+                exchange.sendResponseHeaders(STATUS_METHOD_NOT_ALLOWED, NO_RESPONSE_BODY);
+                return;
+            }
+
+            final String page_name = exchange.getRequestURI().getPath().substring(1);
+
+            if (page_name.isEmpty())
+                sendIndex(exchange, is_head);
+            else
+                sendPage(exchange, page_name, is_head);
+        }
+    }
+
+    private void sendPage(final HttpExchange exchange, final String page_name, final boolean is_head) throws IOException {
+
+        final Page page = pages.get(page_name);
+
+        if (page == null) {
+            exchange.sendResponseHeaders(STATUS_NOT_FOUND, NO_RESPONSE_BODY);
+            return;
+        }
+
+        exchange.getResponseHeaders().set("ETag", page.etag());
+        exchange.getResponseHeaders().set("Cache-Control", "no-cache");
+
+        if (matchesETag(exchange.getRequestHeaders().getFirst("If-None-Match"), page.etag())) {
+            exchange.sendResponseHeaders(STATUS_NOT_MODIFIED, NO_RESPONSE_BODY);
+            return;
+        }
+
+        exchange.getResponseHeaders().set("Content-Type", getContentType(page_name));
+        sendContent(exchange, page.content(), is_head);
+    }
+
+    private void sendIndex(final HttpExchange exchange, final boolean is_head) throws IOException {
+
+        final StringBuilder index = new StringBuilder("<ul>" + LINE_SEPARATOR);
+
+        pages.keySet().stream().
+            sorted().
+            forEachOrdered(page_name -> index.append("<li><a href=\"").append(page_name).append("\">").append(page_name).append("</a></li>").append(LINE_SEPARATOR));
+
+        index.append("</ul>").append(LINE_SEPARATOR);
+
+        exchange.getResponseHeaders().set("Content-Type", CONTENT_TYPES.get(HTML_FILE_SUFFIX));
+        sendContent(exchange, index.toString().getBytes(StandardCharsets.UTF_8), is_head);
+    }
+
+    private static void sendContent(final HttpExchange exchange, final byte[] content, final boolean is_head) throws IOException {
+
+        if (is_head) {
+            exchange.getResponseHeaders().set("Content-Length", String.valueOf(content.length));
+            exchange.sendResponseHeaders(STATUS_OK, NO_RESPONSE_BODY);
+            return;
+        }
+
+        exchange.sendResponseHeaders(STATUS_OK, content.length);
+
+        try (final OutputStream body = exchange.getResponseBody()) {
+            body.write(content);
+        }
+    }
+
+    /** Tests whether an If-None-Match header value matches the given ETag, using weak comparison. */
+    private static boolean matchesETag(final String if_none_match, final String etag) {
+
+        if (if_none_match == null) return false;
+
+        for (final String candidate : if_none_match.split(",")) {
+
+            final String tag = candidate.strip();
+            if (tag.equals("*") || tag.equals(etag) || tag.equals("W/" + etag)) return true;
+        }
+
+        return false;
+    }
+
+    private static String getContentType(final String page_name) {
+
+        final String file_suffix = page_name.substring(page_name.lastIndexOf('.') + 1);
+        return CONTENT_TYPES.getOrDefault(file_suffix, DEFAULT_CONTENT_TYPE);
+    }
+}
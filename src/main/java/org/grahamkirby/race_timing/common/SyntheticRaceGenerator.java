@@ -0,0 +1,557 @@
+/*
+ * race-timing - <https://github.com/grahamkirby/race-timing>
+ * Copyright © 2026 Graham Kirby (race-timing@kirby-family.net)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.grahamkirby.race_timing.common;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.*;
+
+import static org.grahamkirby.race_timing.common.Config.*;
+import static org.grahamkirby.race_timing.common.NormalisationProcessor.renderDuration;
+
+/**
+ * Generates valid input files for individual, relay and series races of arbitrary size, for load
+ * testing and benchmarking. The generated races can be processed directly by {@link RaceFactory}.
+ * <br />
+ * Runner names, clubs and categories are drawn from skewed distributions resembling those of real
+ * races. Each race directory contains input and output subdirectories, with the configuration,
+ * entries, raw results and category files in the input directory. Given the same seed and options,
+ * the same races are generated.
+ * <br />
+ * Usage: {@code SyntheticRaceGenerator individual|relay|series <race directory> <number of runners or teams> [<number of series races>]}
+ */
+public class SyntheticRaceGenerator {
+
+    public enum SeriesScoring { AGGREGATE_TIMES, INDIVIDUAL_TIMES, INDIVIDUAL_POSITIONS }
+
+    public static final int DEFAULT_NUMBER_OF_SERIES_RACES = 5;
+
+    private static final Path CONFIGURATION_DIRECTORY = Path.of("src/main/resources/configuration");
+
+    private static final String ENTRIES_FILE_NAME = "entries." + TEXT_FILE_SUFFIX;
+    private static final String RAW_RESULTS_FILE_NAME = "rawtimes." + TEXT_FILE_SUFFIX;
+    private static final String RACE_CATEGORIES_FILE_NAME = "race_categories." + CSV_FILE_SUFFIX;
+    private static final String YEAR = "2026";
+
+    private static final List<String> FIRST_NAMES = List.of(
+        "Alan", "Alison", "Amelia", "Andrew", "Anna", "Callum", "Catriona", "Claire", "Colin", "David",
+        "Eilidh", "Emma", "Euan", "Fiona", "Fraser", "Gillian", "Graham", "Hamish", "Heather", "Iain",
+        "Isla", "Jack", "James", "Jennifer", "John", "Karen", "Katie", "Kirsty", "Lewis", "Lorna",
+        "Louise", "Malcolm", "Mairi", "Mark", "Martin", "Michael", "Morag", "Neil", "Niamh", "Paul",
+        "Rachel", "Robert", "Rory", "Ruth", "Sarah", "Scott", "Shona", "Stuart", "Susan", "Zuzanna",
+        "Amé", "Bartosz", "Søren", "Zoë");
+
+    private static final List<String> LAST_NAMES = List.of(
+        "Anderson", "Brown", "Campbell", "Clark", "Crawford", "Davidson", "Duncan", "Ferguson", "Fraser", "Gibson",
+        "Gray", "Hamilton", "Henderson", "Hunter", "Johnston", "Kelly", "Kerr", "MacDonald", "Mackay", "Mackenzie",
+        "Maclean", "Martin", "McKenzie", "Miller", "Mitchell", "Morrison", "Muir", "Murray", "Paterson", "Reid",
+        "Ritchie", "Robertson", "Ross", "Scott", "Simpson", "Smith", "Stewart", "Taylor", "Thomson", "Walker",
+        "Watson", "Wilson", "Young", "Miller-Ford", "O'Connor", "O’Donohue", "Müller");
+
+    // In decreasing order of frequency.
+    private static final List<String> CLUBS = List.of(
+        "Fife AC", "Dundee Road Runners", "Carnegie Harriers", "Falkland Trail Runners", "Dundee Hawkhill Harriers",
+        "Kirkcaldy Wizards", "Anster Haddies", "Cupar Triathlon Club", "St Andrews AC", "Central AC",
+        "Perth Road Runners", "Edinburgh AC", "Hunters Bog Trotters", "Bellahouston Road Runners", "Dunfermline Track and Field");
+
+    private static final List<String> INDIVIDUAL_CATEGORIES = List.of("MS", "FS", "M40", "F40", "M50", "F50", "MU20", "FU20", "M60", "F60", "M70", "F70", "NBS");
+    private static final double[] INDIVIDUAL_CATEGORY_WEIGHTS = {22, 18, 15, 13, 9, 7, 4, 4, 3, 2, 1, 0.7, 0.3};
+
+    private static final List<String> RELAY_CATEGORIES = List.of("OS", "MS", "WS", "O40", "M40", "W40", "O50", "W50", "O60", "W60");
+    private static final double[] RELAY_CATEGORY_WEIGHTS = {20, 15, 12, 14, 10, 8, 8, 6, 4, 3};
+
+    private static final int NUMBER_OF_RELAY_LEGS = 4;
+    private static final List<Integer> PAIRED_LEGS = List.of(2, 3);
+    private static final int MASS_START_LEG = 4;
+
+    // Proportion of teams that have started the mass start leg by the mass start time.
+    private static final double MASS_START_PERCENTILE = 0.9;
+
+    private static final Duration MEDIAN_INDIVIDUAL_TIME = Duration.ofMinutes(45);
+    private static final Duration MEDIAN_LEG_TIME = Duration.ofMinutes(60);
+    private static final double TIME_SPREAD = 0.15;
+    private static final double SERIES_RACE_PARTICIPATION = 0.8;
+
+    private final Random random;
+
+    private int dnf_percentage = 1;
+    private int dead_heat_percentage = 1;
+    private int missing_data_percentage = 0;
+    private boolean mass_start = true;
+
+    //////////////////////////////////////////////////////////////////////////////////////////////////
+
+    public SyntheticRaceGenerator(final long seed) {
+
+        random = new Random(seed);
+    }
+
+    //////////////////////////////////////////////////////////////////////////////////////////////////
+
+    public static void main(final String[] args) {
+
+        try {
+            final Path race_directory = Path.of(args[1]);
+            final int size = Integer.parseInt(args[2]);
+            final SyntheticRaceGenerator generator = new SyntheticRaceGenerator(0);
+
+            final Path config_path = switch (args[0]) {
+                case "individual" -> generator.writeIndividualRace(race_directory, size);
+                case "relay" -> generator.writeRelayRace(race_directory, size);
+                case "series" -> generator.writeSeriesRace(race_directory, size, args.length > 3 ? Integer.parseInt(args[3]) : DEFAULT_NUMBER_OF_SERIES_RACES, SeriesScoring.INDIVIDUAL_POSITIONS);
+                default -> throw new RuntimeException("unknown race type '" + args[0] + "'");
+            };
+
+            System.out.println(config_path);
+
+        } catch (final Exception e) {
+            System.err.println(e.getMessage() + LINE_SEPARATOR);
+        }
+    }
+
+    /** Sets the percentage of finishers recorded as having not completed the race. */
+    public SyntheticRaceGenerator setDnfPercentage(final int dnf_percentage) {
+
+        this.dnf_percentage = dnf_percentage;
+        return this;
+    }
+
+    /** Sets the percentage of individual race finishers in a dead heat with the previous finisher. */
+    public SyntheticRaceGenerator setDeadHeatPercentage(final int dead_heat_percentage) {
+
+        this.dead_heat_percentage = dead_heat_percentage;
+        return this;
+    }
+
+    /** Sets the percentage of relay race results with a missing time, and also with a missing bib number. */
+    public SyntheticRaceGenerator setMissingDataPercentage(final int missing_data_percentage) {
+
+        this.missing_data_percentage = missing_data_percentage;
+        return this;
+    }
+
+    /** Sets whether relay races have a mass start for the final leg. */
+    public SyntheticRaceGenerator setMassStart(final boolean mass_start) {
+
+        this.mass_start = mass_start;
+        return this;
+    }
+
+    //////////////////////////////////////////////////////////////////////////////////////////////////
+
+    /** Gets a runner name, with the irregular spacing and capitalisation found in real entries. */
+    public String makeRawRunnerName() {
+
+        final String name = pick(FIRST_NAMES) + (random.nextInt(4) == 0 ? "  " : " ") + pick(LAST_NAMES);
+        return random.nextInt(3) == 0 ? name.toUpperCase() : random.nextInt(3) == 0 ? " " + name.toLowerCase() + " " : name;
+    }
+
+    /** Gets a club name, in one of the alternative forms found in real entries. */
+    public String makeRawClubName() {
+
+        final String club = pickClub();
+        return random.nextInt(3) == 0 ? club.toLowerCase() : club;
+    }
+
+    /** Gets a time as it might be recorded, possibly with fractional seconds. */
+    public String makeRawTime() {
+
+        final String time = renderDuration(makeTime(MEDIAN_INDIVIDUAL_TIME), "");
+        return random.nextInt(4) == 0 ? time + "." + random.nextInt(10) : time;
+    }
+
+    /** Writes an individual race with the given number of finishers, returning the config path. */
+    public Path writeIndividualRace(final Path race_directory, final int number_of_runners) throws IOException {
+
+        final Path input_directory = makeRaceDirectories(race_directory);
+
+        final List<String> runners = makeIndividualRunners(number_of_runners);
+        final List<Integer> bib_numbers = new ArrayList<>();
+
+        try (final BufferedWriter writer = Files.newBufferedWriter(input_directory.resolve(ENTRIES_FILE_NAME))) {
+
+            for (int i = 0; i < number_of_runners; i++) {
+
+                final int bib_number = i + 1;
+                writer.write(bib_number + "\t" + runners.get(i) + LINE_SEPARATOR);
+                bib_numbers.add(bib_number);
+            }
+        }
+
+        Collections.shuffle(bib_numbers, random);
+
+        final List<Duration> times = makeSortedTimes(number_of_runners, MEDIAN_INDIVIDUAL_TIME);
+        final List<String> dead_heats = new ArrayList<>();
+        final List<String> dnfs = new ArrayList<>();
+        boolean previous_was_dnf = false;
+
+        try (final BufferedWriter writer = Files.newBufferedWriter(input_directory.resolve(RAW_RESULTS_FILE_NAME))) {
+
+            for (int i = 0; i < number_of_runners; i++) {
+
+                final int bib_number = bib_numbers.get(i);
+
+                // A dead heat with the previous finisher, who may also be in a dead heat with earlier finishers.
+                if (i > 0 && !previous_was_dnf && isSelected(dead_heat_percentage)) {
+
+                    times.set(i, times.get(i - 1));
+                    final String previous_bib_number = String.valueOf(bib_numbers.get(i - 1));
+                    if (dead_heats.isEmpty() || !dead_heats.getLast().equals(previous_bib_number)) dead_heats.add(previous_bib_number);
+                    dead_heats.add(String.valueOf(bib_number));
+                    previous_was_dnf = false;
+                }
+                else {
+                    previous_was_dnf = isSelected(dnf_percentage);
+                    if (previous_was_dnf) dnfs.add(String.valueOf(bib_number));
+                }
+
+                writer.write(bib_number + RAW_RESULT_SEPARATOR + renderDuration(times.get(i), "") + LINE_SEPARATOR);
+            }
+        }
+
+        final List<String> config = makeSingleRaceConfig("Synthetic", "synthetic");
+        addListIfNotEmpty(config, KEY_DEAD_HEATS, dead_heats);
+        addListIfNotEmpty(config, KEY_DNF_FINISHERS, dnfs);
+
+        copyCategoryFiles(input_directory, "categories_entry_individual_senior", "categories_prize_individual_senior", config);
+        return writeConfig(input_directory, config);
+    }
+
+    /** Writes a relay race with the given number of teams, returning the config path. */
+    public Path writeRelayRace(final Path race_directory, final int number_of_teams) throws IOException {
+
+        final Path input_directory = makeRaceDirectories(race_directory);
+
+        try (final BufferedWriter writer = Files.newBufferedWriter(input_directory.resolve(ENTRIES_FILE_NAME))) {
+
+            for (int bib_number = 1; bib_number <= number_of_teams; bib_number++) {
+
+                writer.write(bib_number + "\tTeam " + bib_number + "\t" + pick(RELAY_CATEGORIES, RELAY_CATEGORY_WEIGHTS));
+
+                for (int leg = 1; leg <= NUMBER_OF_RELAY_LEGS; leg++)
+                    writer.write("\t" + makeRunnerName() + (PAIRED_LEGS.contains(leg) ? " & " + makeRunnerName() : ""));
+
+                writer.write(LINE_SEPARATOR);
+            }
+        }
+
+        final List<LegFinish> finishes = new ArrayList<>();
+        final Duration mass_start_time = makeLegFinishes(number_of_teams, finishes);
+
+        finishes.sort(Comparator.comparing(LegFinish::time));
+
+        final Set<Integer> teams_with_legs_out_of_order = getTeamsWithLegsOutOfOrder(finishes);
+        final List<String> dnfs = new ArrayList<>();
+
+        try (final BufferedWriter writer = Files.newBufferedWriter(input_directory.resolve(RAW_RESULTS_FILE_NAME))) {
+
+            for (int i = 0; i < finishes.size(); i++) {
+
+                final LegFinish finish = finishes.get(i);
+                final boolean leg_number_needed = teams_with_legs_out_of_order.contains(finish.bib_number);
+
+                // Missing times are interpolated from the surrounding times, so the first and last must be present.
+                final boolean time_missing = i > 0 && i < finishes.size() - 1 && isSelected(missing_data_percentage);
+                final boolean bib_number_missing = !time_missing && !leg_number_needed && isSelected(missing_data_percentage);
+
+                if (!bib_number_missing && isSelected(dnf_percentage))
+                    dnfs.add(finish.bib_number + "/" + finish.leg);
+
+                writer.write(
+                    (bib_number_missing ? UNKNOWN_BIB_NUMBER_INDICATOR : String.valueOf(finish.bib_number)) + RAW_RESULT_SEPARATOR +
+                    (time_missing ? UNKNOWN_TIME_INDICATOR : renderDuration(finish.time, "")) +
+                    (leg_number_needed ? RAW_RESULT_SEPARATOR + finish.leg : "") +
+                    LINE_SEPARATOR);
+            }
+        }
+
+        final List<String> config = makeSingleRaceConfig("Synthetic Relay", "synthetic_relay");
+        config.add(KEY_NUMBER_OF_LEGS + " = " + NUMBER_OF_RELAY_LEGS);
+        config.add(KEY_PAIRED_LEGS + " = " + String.join(CONFIG_OUTER_SEPARATOR, PAIRED_LEGS.stream().map(String::valueOf).toList()));
+        if (mass_start_time != null) config.add(KEY_MASS_START_TIMES + " = " + MASS_START_LEG + "/" + renderDuration(mass_start_time, ""));
+        addListIfNotEmpty(config, KEY_DNF_FINISHERS, dnfs);
+
+        copyCategoryFiles(input_directory, "categories_entry_relay", "categories_prize_relay", config);
+        return writeConfig(input_directory, config);
+    }
+
+    /** Writes a series with a pool of the given number of runners, each of whom takes part in most of
+     *  the individual races, returning the config path. */
+    public Path writeSeriesRace(final Path race_directory, final int number_of_runners, final int number_of_races, final SeriesScoring scoring) throws IOException {
+
+        final Path input_directory = makeRaceDirectories(race_directory);
+
+        // Runners keep the same name, club and category throughout the series.
+        final List<String> runners = makeIndividualRunners(number_of_runners);
+        final List<String> race_config_paths = new ArrayList<>();
+
+        for (int race_number = 1; race_number <= number_of_races; race_number++) {
+
+            final List<String> race_runners = runners.stream().
+                filter(_ -> random.nextDouble() < SERIES_RACE_PARTICIPATION).
+                toList();
+
+            // Series results don't depend on dead heats or DNFs in individual races, so these are not generated.
+            final Path race_config_path = writeSeriesIndividualRace(input_directory.resolve("race" + race_number), race_number, race_runners);
+            race_config_paths.add(input_directory.relativize(race_config_path).toString().replace('\\', '/'));
+        }
+
+        final List<String> config = makeCommonConfig("Synthetic Series", "synthetic_series");
+        config.add(KEY_RACES + " = " + String.join(CONFIG_OUTER_SEPARATOR, race_config_paths));
+        config.add(KEY_NUMBER_OF_RACES_IN_SERIES + " = " + number_of_races);
+        config.add(KEY_MINIMUM_NUMBER_OF_RACES + " = " + Math.max(1, number_of_races * 3 / 5));
+
+        switch (scoring) {
+            case AGGREGATE_TIMES -> {}
+            case INDIVIDUAL_TIMES -> {
+                writeRaceCategories(input_directory, number_of_races);
+                config.add(KEY_SCORE_FOR_MEDIAN_POSITION + " = 1000");
+                config.add(KEY_RACE_CATEGORIES_PATH + " = " + RACE_CATEGORIES_FILE_NAME);
+            }
+            case INDIVIDUAL_POSITIONS -> config.add(KEY_SCORE_FOR_FIRST_PLACE + " = 200");
+        }
+
+        copyCategoryFiles(input_directory, "categories_entry_individual_senior", "categories_prize_individual_senior", config);
+        return writeConfig(input_directory, config);
+    }
+
+    //////////////////////////////////////////////////////////////////////////////////////////////////
+
+    private record LegFinish(int bib_number, int leg, Duration time) {}
+
+    private Path writeSeriesIndividualRace(final Path race_directory, final int race_number, final List<String> runners) throws IOException {
+
+        final Path input_directory = makeRaceDirectories(race_directory);
+        final List<String> entries = new ArrayList<>();
+
+        for (int i = 0; i < runners.size(); i++)
+            entries.add((i + 1) + "\t" + runners.get(i));
+
+        final List<Integer> bib_numbers = new ArrayList<>();
+        for (int i = 1; i <= runners.size(); i++) bib_numbers.add(i);
+        Collections.shuffle(bib_numbers, random);
+
+        final List<Duration> times = makeSortedTimes(runners.size(), MEDIAN_INDIVIDUAL_TIME);
+        final List<String> raw_results = new ArrayList<>();
+
+        for (int i = 0; i < runners.size(); i++)
+            raw_results.add(bib_numbers.get(i) + RAW_RESULT_SEPARATOR + renderDuration(times.get(i), ""));
+
+        Files.write(input_directory.resolve(ENTRIES_FILE_NAME), entries);
+        Files.write(input_directory.resolve(RAW_RESULTS_FILE_NAME), raw_results);
+
+        return writeConfig(input_directory, makeSingleRaceConfig("Race " + race_number, "race" + race_number));
+    }
+
+    /** Makes entry details, other than bib numbers, for the given number of runners, with no two
+     *  runners having the same name and club. */
+    private List<String> makeIndividualRunners(final int number_of_runners) {
+
+        final Set<String> names_and_clubs = new HashSet<>();
+        final List<String> runners = new ArrayList<>();
+
+        while (runners.size() < number_of_runners) {
+
+            final String club = pickClub();
+            String name = makeRunnerName();
+
+            // Distinguish runners with common names by middle initials, as in real entries.
+            while (!names_and_clubs.add(name + "\t" + club))
+                name = addMiddleInitial(name);
+
+            runners.add(name + "\t" + club + "\t" + pick(INDIVIDUAL_CATEGORIES, INDIVIDUAL_CATEGORY_WEIGHTS));
+        }
+
+        return runners;
+    }
+
+    private String addMiddleInitial(final String name) {
+
+        final int space = name.indexOf(' ');
+        return name.substring(0, space) + " " + (char) ('A' + random.nextInt(26)) + "." + name.substring(space);
+    }
+
+    /** Records the finish of each leg by each team, returning the mass start time if any. */
+    private Duration makeLegFinishes(final int number_of_teams, final List<LegFinish> finishes) {
+
+        final Duration[] previous_finish_times = new Duration[number_of_teams];
+        Arrays.fill(previous_finish_times, Duration.ZERO);
+
+        Duration mass_start_time = null;
+
+        for (int leg = 1; leg <= NUMBER_OF_RELAY_LEGS; leg++) {
+
+            if (leg == MASS_START_LEG && mass_start) {
+
+                // Teams whose previous runner has not yet finished by the mass start time start the leg then.
+                final Duration[] sorted = previous_finish_times.clone();
+                Arrays.sort(sorted);
+                mass_start_time = Duration.ofMinutes(sorted[(int) ((number_of_teams - 1) * MASS_START_PERCENTILE)].toMinutes());
+            }
+
+            for (int i = 0; i < number_of_teams; i++) {
+
+                final Duration start_time = mass_start_time != null && leg == MASS_START_LEG && previous_finish_times[i].compareTo(mass_start_time) > 0 ?
+                    mass_start_time : previous_finish_times[i];
+
+                previous_finish_times[i] = start_time.plus(makeTime(MEDIAN_LEG_TIME));
+                finishes.add(new LegFinish(i + 1, leg, previous_finish_times[i]));
+            }
+        }
+
+        return mass_start_time;
+    }
+
+    /** Finds teams for which a runner finished before the runner on the previous leg, which can occur
+     *  with a mass start. Leg numbers must then be recorded explicitly. */
+    private static Set<Integer> getTeamsWithLegsOutOfOrder(final List<LegFinish> sorted_finishes) {
+
+        final Map<Integer, Integer> last_leg_finished = new HashMap<>();
+        final Set<Integer> teams = new HashSet<>();
+
+        for (final LegFinish finish : sorted_finishes)
+            if (last_leg_finished.merge(finish.bib_number, finish.leg, Math::max) != finish.leg)
+                teams.add(finish.bib_number);
+
+        return teams;
+    }
+
+    private void writeRaceCategories(final Path input_directory, final int number_of_races) throws IOException {
+
+        final List<String> race_categories = new ArrayList<>();
+        race_categories.add(COMMENT_SYMBOL + " Category name, minimum completions, race numbers");
+
+        final List<String> category_names = List.of("Road", "Trail", "Hill");
+
+        for (int category_index = 0; category_index < category_names.size(); category_index++) {
+
+            final List<String> race_numbers = new ArrayList<>();
+            for (int race_number = category_index + 1; race_number <= number_of_races; race_number += category_names.size())
+                race_numbers.add(String.valueOf(race_number));
+
+            if (!race_numbers.isEmpty())
+                race_categories.add(category_names.get(category_index) + ",1," + String.join(",", race_numbers));
+        }
+
+        Files.write(input_directory.resolve(RACE_CATEGORIES_FILE_NAME), race_categories);
+    }
+
+    private static void copyCategoryFiles(final Path input_directory, final String entry_categories_name, final String prize_categories_name, final List<String> config) throws IOException {
+
+        for (final String name : List.of(entry_categories_name, prize_categories_name)) {
+
+            final String file_name = name + "." + CSV_FILE_SUFFIX;
+            Files.copy(CONFIGURATION_DIRECTORY.resolve(file_name), input_directory.resolve(file_name));
+        }
+
+        config.add(KEY_ENTRY_CATEGORIES_PATH + " = " + entry_categories_name + "." + CSV_FILE_SUFFIX);
+        config.add(KEY_PRIZE_CATEGORIES_PATH + " = " + prize_categories_name + "." + CSV_FILE_SUFFIX);
+    }
+
+    private static List<String> makeSingleRaceConfig(final String race_name_for_results, final String race_name_for_filenames) {
+
+        final List<String> config = makeCommonConfig(race_name_for_results, race_name_for_filenames);
+
+        config.add(KEY_ENTRIES_PATH + " = " + ENTRIES_FILE_NAME);
+        config.add(KEY_RAW_RESULTS_PATH + " = " + RAW_RESULTS_FILE_NAME);
+
+        return config;
+    }
+
+    private static List<String> makeCommonConfig(final String race_name_for_results, final String race_name_for_filenames) {
+
+        return new ArrayList<>(List.of(
+            KEY_YEAR + " = " + YEAR,
+            KEY_RACE_NAME_FOR_RESULTS + " = " + race_name_for_results,
+            KEY_RACE_NAME_FOR_FILENAMES + " = " + race_name_for_filenames));
+    }
+
+    private static void addListIfNotEmpty(final List<String> config, final String key, final List<String> values) {
+
+        if (!values.isEmpty()) config.add(key + " = " + String.join(CONFIG_OUTER_SEPARATOR, values));
+    }
+
+    private static Path writeConfig(final Path input_directory, final List<String> config) throws IOException {
+
+        final Path config_path = input_directory.resolve(CONFIG_FILE_NAME);
+        Files.write(config_path, config);
+
+        return config_path;
+    }
+
+    private static Path makeRaceDirectories(final Path race_directory) throws IOException {
+
+        Files.createDirectories(race_directory.resolve(OUTPUT_DIRECTORY_NAME));
+        return Files.createDirectories(race_directory.resolve("input"));
+    }
+
+    private List<Duration> makeSortedTimes(final int number_of_times, final Duration median) {
+
+        final List<Duration> times = new ArrayList<>(number_of_times);
+        for (int i = 0; i < number_of_times; i++) times.add(makeTime(median));
+
+        times.sort(Comparator.naturalOrder());
+        return times;
+    }
+
+    /** Gets a whole-second time, roughly normally distributed around the given median. */
+    private Duration makeTime(final Duration median) {
+
+        final double factor = Math.max(0.5, 1 + random.nextGaussian() * TIME_SPREAD);
+        return Duration.ofSeconds((long) (median.toSeconds() * factor));
+    }
+
+    private String makeRunnerName() {
+        return pick(FIRST_NAMES) + " " + pick(LAST_NAMES);
+    }
+
+    /** Picks a club, with a Zipf-like distribution over the list of clubs. */
+    private String pickClub() {
+
+        final double harmonic_sum = Math.log(CLUBS.size()) + 0.5772;
+        double target = random.nextDouble() * harmonic_sum;
+
+        for (int i = 0; i < CLUBS.size(); i++) {
+            target -= 1.0 / (i + 1);
+            if (target <= 0) return CLUBS.get(i);
+        }
+        return CLUBS.getLast();
+    }
+
+    private boolean isSelected(final int percentage) {
+        return random.nextInt(100) < percentage;
+    }
+
+    private <T> T pick(final List<T> list) {
+        return list.get(random.nextInt(list.size()));
+    }
+
+    private <T> T pick(final List<T> list, final double[] weights) {
+
+        double target = random.nextDouble() * Arrays.stream(weights).sum();
+
+        for (int i = 0; i < list.size(); i++) {
+            target -= weights[i];
+            if (target <= 0) return list.get(i);
+        }
+        return list.getLast();
+    }
+}
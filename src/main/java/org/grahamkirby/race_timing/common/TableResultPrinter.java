@@ -0,0 +1,60 @@
+/*
+ * race-timing - <https://github.com/grahamkirby/race-timing>
+ * Copyright © 2026 Graham Kirby (race-timing@kirby-family.net)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.grahamkirby.race_timing.common;
+
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+
+/** Base class for printing results as a table laid out by a {@link ResultTemplate}. */
+public abstract class TableResultPrinter extends ResultPrinter {
+
+    private static final int INITIAL_ROW_CAPACITY = 512;
+
+    protected final ResultTemplate<?> template;
+
+    // Each row is built in this reused buffer and written with a single call.
+    private final StringBuilder row = new StringBuilder(INITIAL_ROW_CAPACITY);
+
+    //////////////////////////////////////////////////////////////////////////////////////////////////
+
+    protected TableResultPrinter(final RaceResults race_results, final OutputStreamWriter writer, final ResultTemplate<?> template) {
+
+        super(race_results, writer);
+        this.template = template;
+    }
+
+    //////////////////////////////////////////////////////////////////////////////////////////////////
+
+    @Override
+    public void printResult(final RaceResult result) throws IOException {
+
+        row.setLength(0);
+        template.appendRow(result, row);
+        writer.append(row);
+    }
+
+    /** Prints the column headers, preceded and followed by the given text. */
+    protected void printHeaders(final String before, final String after) throws IOException {
+
+        row.setLength(0);
+        row.append(before);
+        template.appendHeaders(row);
+        row.append(after);
+        writer.append(row);
+    }
+}
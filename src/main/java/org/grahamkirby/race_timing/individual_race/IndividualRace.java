@@ -21,7 +21,6 @@ import org.grahamkirby.race_timing.categories.CategoriesProcessor;
 import org.grahamkirby.race_timing.common.*;
 
 import java.io.IOException;
-import java.io.OutputStream;
 import java.io.OutputStreamWriter;
 import java.nio.file.Path;
 import java.time.Duration;
@@ -35,7 +34,7 @@ import static org.grahamkirby.race_timing.common.NormalisationProcessor.*;
 import static org.grahamkirby.race_timing.common.RaceConfigValidator.*;
 import static org.grahamkirby.race_timing.common.RaceEntry.*;
 
-public class IndividualRace implements SingleRaceInternal {
+public class IndividualRace implements SingleRaceInternal, IncrementalRace {
 
     // The number of columns in entries file, if not overridden by column map.
     private static final int DEFAULT_NUMBER_OF_ENTRY_COLUMNS = 4;
@@ -96,6 +95,61 @@ public class IndividualRace implements SingleRaceInternal {
         }
     }
 
+    /**
+     * Processes the results as {@link #processResults()} does, except that the results are loaded from
+     * the snapshot saved by a previous run if the race inputs are unchanged. Otherwise a new snapshot is
+     * saved after processing.
+     * @return a view on the results, or null if an error occurred during processing
+     */
+    public RaceResults processResultsUsingSnapshot() {
+
+        final Path snapshot_path = getSnapshotPath();
+        String key = null;
+
+        try {
+            key = IndividualRaceSnapshot.makeKey(config);
+            final IndividualRaceSnapshot snapshot = IndividualRaceSnapshot.read(snapshot_path, key);
+
+            if (snapshot != null) return loadSnapshot(snapshot);
+        }
+        catch (final IOException _) {
+            // The snapshot is only a cache, so if it can't be read the race is processed in full.
+        }
+
+        final RaceResults results = processResults();
+
+        if (results != null && key != null)
+            try {
+                IndividualRaceSnapshot.makeSnapshot(this, key).write(snapshot_path);
+            }
+            catch (final IOException _) {
+                // The snapshot will be saved on a later run if the output directory becomes writable.
+            }
+
+        return results;
+    }
+
+    @Override
+    public Path getRawResultsPath() {
+        return config.getPath(KEY_RAW_RESULTS_PATH);
+    }
+
+    @Override
+    public RaceResults appendRawResults(final List<String> lines, final int first_line_number) {
+
+        final List<RawResult> new_raw_results = validateAppendedRawResults(lines, first_line_number, getRawResultsPath(), entries, raw_results);
+
+        if (!new_raw_results.isEmpty()) {
+
+            raw_results = makeMutableCopy(raw_results);
+            raw_results.addAll(new_raw_results);
+
+            ((IndividualRaceResultsProcessor) results_processor).addRawResults(new_raw_results);
+        }
+
+        return results_processor;
+    }
+
     @Override
     public void outputResults(final RaceResults results) throws IOException {
 
@@ -119,16 +173,12 @@ public class IndividualRace implements SingleRaceInternal {
     @Override
     public void outputPreRaceFiles() throws IOException {
 
-        final OutputStream stream1 = results_output.getOutputStream(FILE_POCKET_TIMER_INPUT, TEXT_FILE_SUFFIX);
-
-        try (final OutputStreamWriter writer = new OutputStreamWriter(stream1)) {
+        try (final OutputStreamWriter writer = results_output.getOutputWriter(FILE_POCKET_TIMER_INPUT, TEXT_FILE_SUFFIX)) {
             for (final String line : makeRacerList(entries))
                 writer.append(line + LINE_SEPARATOR);
         }
 
-        final OutputStream stream2 = results_output.getOutputStream(FILE_DUMMY_RAWTIMES, TEXT_FILE_SUFFIX);
-
-        try (final OutputStreamWriter writer = new OutputStreamWriter(stream2)) {
+        try (final OutputStreamWriter writer = results_output.getOutputWriter(FILE_DUMMY_RAWTIMES, TEXT_FILE_SUFFIX)) {
             Duration dummy_time = DUMMY_WINNING_TIME;
             for (final RaceEntry entry : entries) {
                 writer.append(entry.getBibNumber() + RAW_RESULT_SEPARATOR + renderDuration(dummy_time, "-") + LINE_SEPARATOR);
@@ -147,8 +197,10 @@ public class IndividualRace implements SingleRaceInternal {
     @Override
     public void initialise() throws IOException {
 
-        categories_processor = new CategoriesProcessor(config);
-        normalisation = new NormalisationProcessor(config);
+        final PhaseTimings timings = config.getTimings();
+
+        timings.time("set up categories", () -> categories_processor = new CategoriesProcessor(config));
+        timings.time("set up normalisation", () -> normalisation = new NormalisationProcessor(config));
         results_output = new IndividualRaceOutput(config);
         results_processor = new IndividualRaceResultsProcessor(this);
     }
@@ -158,6 +210,11 @@ public class IndividualRace implements SingleRaceInternal {
         this.results_output = output;
     }
 
+    @Override
+    public RaceOutput getOutput() {
+        return results_output;
+    }
+
     @Override
     public Config getConfig() {
         return config;
@@ -234,28 +291,54 @@ public class IndividualRace implements SingleRaceInternal {
             category_name;
     }
 
+    private RaceResults loadSnapshot(final IndividualRaceSnapshot snapshot) {
+
+        entries = List.of();
+        raw_results = List.of();
+        overall_results = List.of();
+        separately_recorded_finish_times = Map.of();
+
+        loadDeadHeats();
+
+        // Files read during the original processing would otherwise be reported as unused.
+        config.retainUnusedInputFiles(snapshot.getUnusedInputFileNames());
+
+        ((IndividualRaceResultsProcessor) results_processor).loadResults(snapshot.makeResults(this));
+        return results_processor;
+    }
+
+    private Path getSnapshotPath() {
+
+        final String race_name = config.getString(KEY_RACE_NAME_FOR_FILENAMES);
+        final String year = config.getString(KEY_YEAR);
+
+        return config.getOutputDirectoryPath().resolve(race_name + "_" + FILE_SNAPSHOT + "_" + year + "." + SNAPSHOT_FILE_SUFFIX);
+    }
+
     private void loadRaceData() throws IOException {
 
         final Path entries_path = config.getPath(KEY_ENTRIES_PATH);
         final Path raw_results_path = config.getPath(KEY_RAW_RESULTS_PATH);
         final Path overall_results_path = config.getPath(KEY_OVERALL_RESULTS_PATH);
 
+        final PhaseTimings timings = config.getTimings();
+
         validateEntryDataFiles(entries_path);
 
-        entries = loadEntries(entries_path);
-        validateEntryData(entries, entries_path);
+        timings.time("load entries", () -> entries = loadEntries(entries_path), () -> entries.size());
+        timings.time("validate entries", () -> validateEntryData(entries, entries_path), () -> entries.size());
 
         if (raw_results_path != null) {
             validateResultsDataFiles(raw_results_path, overall_results_path);
-            raw_results = loadRawResults(raw_results_path);
+            timings.time("load raw results", () -> raw_results = loadRawResults(raw_results_path), () -> raw_results.size());
             overall_results = List.of();
 
-            validateResultsData(entries, raw_results_path);
+            timings.time("validate raw results", () -> validateResultsData(entries, raw_results_path), () -> raw_results.size());
         }
         else if (overall_results_path != null) {
             validateResultsDataFiles(null, overall_results_path);
             raw_results = List.of();
-            overall_results = loadOverallResults(overall_results_path);
+            timings.time("load overall results", () -> overall_results = loadOverallResults(overall_results_path), () -> overall_results.size());
         }
         else {
             raw_results = List.of();
@@ -294,24 +377,27 @@ public class IndividualRace implements SingleRaceInternal {
 
     private RaceResult makeRaceResult(final String line) {
 
-        final List<String> elements = getLineElements(line);
+        final String[] line_elements = getLineElements(line);
 
-        elements.addFirst(String.valueOf(DUMMY_BIB_NUMBER));
+        // Overall results have no bib number, so add a dummy one to match the entry format.
+        final String[] elements = new String[line_elements.length + 1];
+        elements[0] = String.valueOf(DUMMY_BIB_NUMBER);
+        System.arraycopy(line_elements, 0, elements, 1, line_elements.length);
 
         final RaceEntry entry = new RaceEntry(elements, this);
-        final Duration finish_time = parseTime(elements.getLast());
+        final Duration finish_time = parseTime(elements[elements.length - 1]);
 
         return new IndividualRaceResult(entry, finish_time, this);
     }
 
     private void validateEntryCategory(final String line) {
 
-        final List<String> elements = getLineElements(line);
+        final String[] elements = getLineElements(line);
         final NormalisationProcessor normalisation = getNormalisationProcessor();
-        final List<String> mapped_elements = normalisation.mapRaceEntryElements(elements);
+        final String[] mapped_elements = normalisation.mapRaceEntryElements(elements);
 
         try {
-            final String category_name = normalisation.normaliseCategoryShortName(mapped_elements.get(CATEGORY_INDEX));
+            final String category_name = normalisation.normaliseCategoryShortName(mapped_elements[CATEGORY_INDEX]);
             getCategoriesProcessor().getEntryCategory(category_name);
 
         } catch (final RuntimeException e) {
@@ -319,9 +405,9 @@ public class IndividualRace implements SingleRaceInternal {
         }
     }
 
-    private List<String> getLineElements(final String line) {
+    private String[] getLineElements(final String line) {
 
-        return Arrays.stream(splitLine(line, ENTRY_SEPARATOR)).collect(Collectors.toList());
+        return splitLine(line, ENTRY_SEPARATOR);
     }
 
     private String[] splitLine(final String line, final String delimiter) {
@@ -346,9 +432,9 @@ public class IndividualRace implements SingleRaceInternal {
         validateEntriesNumberOfElements(overall_results_path, NUMBER_OF_OVERALL_RESULTS_COLUMNS, null);
     }
 
-    private void validateEntryData(final List<RaceEntry> entries, final Path entries_path) {
+    private void validateEntryData(final List<RaceEntry> entries, final Path entries_path) throws IOException {
 
-        validateEntriesUnique(entries, entries_path);
+        validateEntriesUnique(entries, entries_path, RaceEntry::toString);
     }
 
     private void validateResultsData(final List<RaceEntry> entries, final Path raw_results_path) throws IOException {
@@ -356,14 +442,6 @@ public class IndividualRace implements SingleRaceInternal {
         validateRecordedBibNumbersAreRegistered(entries, raw_results_path);
     }
 
-    private void validateEntriesUnique(final List<RaceEntry> entries, final Path entries_path) {
-
-        for (final RaceEntry entry1 : entries)
-            for (final RaceEntry entry2 : entries)
-                if (entry1.getParticipant() != entry2.getParticipant() && entry1.getParticipant().equals(entry2.getParticipant()))
-                    throw new RuntimeException(DUPLICATE_ENTRY + " '" + entry1 + "' " + IN_FILE + " '" + entries_path.getFileName() + "'");
-    }
-
     //////////////////////////////////////////////////////////////////////////////////////////////////
 
     private void loadSeparatelyRecordedResults() {
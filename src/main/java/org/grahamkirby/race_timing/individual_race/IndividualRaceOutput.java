@@ -17,20 +17,14 @@
  */
 package org.grahamkirby.race_timing.individual_race;
 
-import com.itextpdf.kernel.font.PdfFont;
-import com.itextpdf.kernel.pdf.PdfDocument;
-import com.itextpdf.kernel.pdf.PdfWriter;
-import com.itextpdf.layout.Document;
-import com.itextpdf.layout.element.Paragraph;
-import com.itextpdf.layout.element.Text;
+import com.fasterxml.jackson.core.JsonGenerator;
 import org.grahamkirby.race_timing.common.*;
 
 import java.io.IOException;
-import java.io.OutputStream;
 import java.io.OutputStreamWriter;
-import java.nio.file.Path;
 import java.util.List;
 import java.util.function.BiFunction;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 import static org.grahamkirby.race_timing.common.Config.*;
@@ -63,8 +57,13 @@ public class IndividualRaceOutput extends RaceOutput {
     }
 
     @Override
-    protected BiFunction<RaceResults, Document, ResultPrinter> getPrizePDFPrinterGenerator() {
-        return PrizeResultPrinterPDF::new;
+    protected Function<RaceResults, PrizesPDFPrinter> getPrizesPDFPrinterGenerator() {
+        return IndividualRacePrizesPDFPrinter::new;
+    }
+
+    @Override
+    protected BiFunction<RaceResults, JsonGenerator, ResultsJSONWriter> getResultsJSONWriterGenerator() {
+        return IndividualRaceResultsJSONWriter::new;
     }
 
     //////////////////////////////////////////////////////////////////////////////////////////////////
@@ -72,9 +71,7 @@ public class IndividualRaceOutput extends RaceOutput {
     @Override
     protected void printPrizesHTML() throws IOException {
 
-        final OutputStream stream = getOutputStream(PRIZES.toLowerCase(), HTML_FILE_SUFFIX);
-
-        try (final OutputStreamWriter writer = new OutputStreamWriter(stream)) {
+        try (final OutputStreamWriter writer = getOutputWriter(PRIZES.toLowerCase(), HTML_FILE_SUFFIX)) {
 
             writer.append(getPrizesHeaderHTML());
             printPrizesHTML(writer, getPrizeHTMLPrinterGenerator().apply(race_results, writer));
@@ -82,25 +79,10 @@ public class IndividualRaceOutput extends RaceOutput {
         }
     }
 
-    @Override
-    protected void printPrizesPDF() throws IOException {
-
-        final Path path = getOutputStreamPath(PRIZES.toLowerCase(), PDF_FILE_SUFFIX);
-        final PdfWriter writer = new PdfWriter(path.toString());
-
-        try (final Document document = new Document(new PdfDocument(writer))) {
-
-            printPrizesPDF(document);
-            printTeamPrizesPDF(document);
-        }
-    }
-
     @Override
     protected void printPrizesText() throws IOException {
 
-        final OutputStream stream = getOutputStream(PRIZES.toLowerCase(), TEXT_FILE_SUFFIX);
-
-        try (final OutputStreamWriter writer = new OutputStreamWriter(stream)) {
+        try (final OutputStreamWriter writer = getOutputWriter(PRIZES.toLowerCase(), TEXT_FILE_SUFFIX)) {
 
             printPrizesHeaderText(writer);
             printPrizesText(writer, new PrizeResultPrinterText(race_results, writer));
@@ -145,39 +127,6 @@ public class IndividualRaceOutput extends RaceOutput {
         }
     }
 
-    private void printTeamPrizesPDF(final Document document) throws IOException {
-
-        final PdfFont bold_font = getFont(PDF_PRIZE_FONT_BOLD_NAME);
-
-        final List<TeamPerformance> team_prizes = ((IndividualRaceResults) race_results).getTeamPrizes();
-
-        if (!team_prizes.isEmpty()) {
-
-            document.add(new Paragraph(TEAM_PRIZES).
-                setFont(getFont(PDF_PRIZE_FONT_BOLD_NAME)).
-                setUnderline().
-                setPaddingTop(PDF_PRIZE_FONT_SIZE));
-
-            for (final TeamPerformance team_performance : team_prizes) {
-
-                final int best_team_total = getAggregatePosition(team_performance);
-
-                final Paragraph paragraph1 = new Paragraph();
-                paragraph1.add(new Text(FIRST + " "));
-                paragraph1.add(new Text(team_performance.gender().toLowerCase() + " " + TEAM.toLowerCase()).setFont(bold_font));
-                paragraph1.add(new Text(": " + team_performance.club() + " (" + best_team_total + "):"));
-
-                final Paragraph paragraph2 = new Paragraph().setFirstLineIndent(INDENT);
-                paragraph2.add(new Text(team_performance.runner_performances().stream().
-                    map(runner_performance -> runner_performance.name() + " (" + runner_performance.position() + ")").
-                    collect(Collectors.joining(", "))));
-
-                document.add(paragraph1);
-                document.add(paragraph2);
-            }
-        }
-    }
-
     private void printTeamPrizesText(final OutputStreamWriter writer) throws IOException {
 
         final List<TeamPerformance> team_prizes = ((IndividualRaceResults) race_results).getTeamPrizes();
@@ -206,9 +155,7 @@ public class IndividualRaceOutput extends RaceOutput {
     @Override
     protected void printCombinedHTML() throws IOException {
 
-        final OutputStream stream = getOutputStream(COMBINED, HTML_FILE_SUFFIX);
-
-        try (final OutputStreamWriter writer = new OutputStreamWriter(stream)) {
+        try (final OutputStreamWriter writer = getOutputWriter(COMBINED, HTML_FILE_SUFFIX)) {
 
             printPrizesWithHeaderHTML(writer, PrizeResultPrinterHTML::new);
             printTeamPrizesHTML(writer);
@@ -218,96 +165,39 @@ public class IndividualRaceOutput extends RaceOutput {
 
     //////////////////////////////////////////////////////////////////////////////////////////////////
 
-    private static final class IndividualRaceOverallResultPrinterCSV extends ResultPrinter {
+    private static final class IndividualRaceOverallResultPrinterCSV extends OverallResultPrinterCSV {
 
         private IndividualRaceOverallResultPrinterCSV(final RaceResults race, final OutputStreamWriter writer) {
-            super(race, writer);
-        }
-
-        @Override
-        public void printResultsHeader() throws IOException {
-
-            writer.append(String.join(CSV_SEPARATOR, HEADERS)).append(LINE_SEPARATOR);
+            super(race, writer, makeColumns());
         }
 
-        @Override
-        public void printResult(final RaceResult r) throws IOException {
-
-            final SingleRaceResult result = (SingleRaceResult) r;
-            final Participant participant = result.getParticipant();
-
-            writer.append(result.getPositionString()).append(",").
-                append(String.valueOf(result.getBibNumber())).append(",").
-                append(csvEncode(participant.getName())).append(",").
-                append(csvEncode(((Runner) participant).getClub())).append(",").
-                append(participant.getCategory().getShortName()).append(",").
-                append(renderDuration(result, DNF_STRING)).
-                append(LINE_SEPARATOR);
-        }
+        private static ResultTemplate.Builder<SingleRaceResult> makeColumns() {
 
-        protected void printNoResults() {
-            throw new UnsupportedOperationException();
+            return new ResultTemplate.Builder<SingleRaceResult>().
+                column(POS, SingleRaceResult::getPositionString).
+                column(NO, result -> String.valueOf(result.getBibNumber())).
+                column(RUNNER, result -> csvEncode(result.getParticipant().getName())).
+                column(CLUB, result -> csvEncode(((Runner) result.getParticipant()).getClub())).
+                column(CATEGORY, result -> result.getParticipant().getCategory().getShortName()).
+                column(TIME, result -> renderDuration(result, DNF_STRING));
         }
     }
 
     private static final class IndividualRaceOverallResultPrinterHTML extends OverallResultPrinterHTML {
 
         private IndividualRaceOverallResultPrinterHTML(final RaceResults race, final OutputStreamWriter writer) {
-            super(race, writer);
-        }
-
-        @Override
-        protected List<String> getResultsColumnHeaders() {
-
-            return HEADERS;
-        }
-
-        @Override
-        protected List<String> getResultsElements(final RaceResult r) {
-
-            final SingleRaceResult result = (SingleRaceResult) r;
-            final Participant participant = result.getParticipant();
-            final NormalisationProcessor normalisation = race_results.getNormalisationProcessor();
-
-            return List.of(
-                result.getPositionString(),
-                String.valueOf(result.getBibNumber()),
-                normalisation.htmlEncode(participant.getName()),
-                normalisation.htmlEncode(((Runner) participant).getClub()),
-                normalisation.htmlEncode(participant.getCategory().getShortName()),
-                renderDuration(result, DNF_STRING)
-            );
-        }
-    }
-
-    private static final class PrizeResultPrinterPDF extends ResultPrinter {
-
-        private final Document document;
-
-        public PrizeResultPrinterPDF(final RaceResults race, final Document document) {
-
-            super(race, null);
-            this.document = document;
-        }
-
-        @Override
-        public void printResult(final RaceResult result) throws IOException {
-
-            final PdfFont font = getFont(PDF_PRIZE_FONT_NAME);
-            final Paragraph paragraph = new Paragraph().setFont(font).setMarginBottom(0);
-
-            paragraph.add(new Text(
-                result.getPositionString() + ": " +
-                result.getParticipant() + " " +
-                renderDuration(result, DNF_STRING)).setFont(font));
-
-            document.add(paragraph);
+            super(race, writer, makeColumns(race.getNormalisationProcessor()));
         }
 
-        @Override
-        public void printNoResults() throws IOException {
+        private static ResultTemplate.Builder<SingleRaceResult> makeColumns(final NormalisationProcessor normalisation) {
 
-            document.add(new Paragraph(NO_RESULTS).setFont(getFont(PDF_PRIZE_FONT_ITALIC_NAME)));
+            return new ResultTemplate.Builder<SingleRaceResult>().
+                column(POS, SingleRaceResult::getPositionString).
+                column(NO, result -> String.valueOf(result.getBibNumber())).
+                column(RUNNER, result -> normalisation.htmlEncode(result.getParticipant().getName())).
+                column(CLUB, result -> normalisation.htmlEncode(((Runner) result.getParticipant()).getClub())).
+                column(CATEGORY, result -> normalisation.htmlEncode(result.getParticipant().getCategory().getShortName())).
+                column(TIME, result -> renderDuration(result, DNF_STRING));
         }
     }
 
@@ -0,0 +1,90 @@
+/*
+ * race-timing - <https://github.com/grahamkirby/race-timing>
+ * Copyright © 2026 Graham Kirby (race-timing@kirby-family.net)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.grahamkirby.race_timing.individual_race;
+
+import com.itextpdf.kernel.font.PdfFont;
+import com.itextpdf.layout.Document;
+import com.itextpdf.layout.element.Paragraph;
+import com.itextpdf.layout.element.Text;
+import org.grahamkirby.race_timing.common.*;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.grahamkirby.race_timing.common.Config.*;
+import static org.grahamkirby.race_timing.common.NormalisationProcessor.renderDuration;
+import static org.grahamkirby.race_timing.individual_race.IndividualRaceResults.*;
+import static org.grahamkirby.race_timing.individual_race.IndividualRaceResultsProcessor.getAggregatePosition;
+
+class IndividualRacePrizesPDFPrinter extends CommonPrizesPDFPrinter {
+
+    IndividualRacePrizesPDFPrinter(final RaceResults race_results) {
+        super(race_results);
+    }
+
+    //////////////////////////////////////////////////////////////////////////////////////////////////
+
+    @Override
+    protected String getPrizeWinnerText(final RaceResult result) {
+
+        return result.getPositionString() + ": " + result.getParticipant() + " " + renderDuration(result, DNF_STRING);
+    }
+
+    @Override
+    protected void printPrizes(final Document document, final PdfFontPool fonts) throws IOException {
+
+        super.printPrizes(document, fonts);
+        printTeamPrizes(document, fonts);
+    }
+
+    //////////////////////////////////////////////////////////////////////////////////////////////////
+
+    private void printTeamPrizes(final Document document, final PdfFontPool fonts) throws IOException {
+
+        final PdfFont bold_font = fonts.getFont(PDF_PRIZE_FONT_BOLD_NAME);
+
+        final List<TeamPerformance> team_prizes = ((IndividualRaceResults) race_results).getTeamPrizes();
+
+        if (!team_prizes.isEmpty()) {
+
+            document.add(new Paragraph(TEAM_PRIZES).
+                setFont(bold_font).
+                setUnderline().
+                setPaddingTop(PDF_PRIZE_FONT_SIZE));
+
+            for (final TeamPerformance team_performance : team_prizes) {
+
+                final int best_team_total = getAggregatePosition(team_performance);
+
+                final Paragraph paragraph1 = new Paragraph();
+                paragraph1.add(new Text(FIRST + " "));
+                paragraph1.add(new Text(team_performance.gender().toLowerCase() + " " + TEAM.toLowerCase()).setFont(bold_font));
+                paragraph1.add(new Text(": " + team_performance.club() + " (" + best_team_total + "):"));
+
+                final Paragraph paragraph2 = new Paragraph().setFirstLineIndent(INDENT);
+                paragraph2.add(new Text(team_performance.runner_performances().stream().
+                    map(runner_performance -> runner_performance.name() + " (" + runner_performance.position() + ")").
+                    collect(Collectors.joining(", "))));
+
+                document.add(paragraph1);
+                document.add(paragraph2);
+            }
+        }
+    }
+}
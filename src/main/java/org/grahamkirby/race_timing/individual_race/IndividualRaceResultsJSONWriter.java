@@ -0,0 +1,80 @@
+/*
+ * race-timing - <https://github.com/grahamkirby/race-timing>
+ * Copyright © 2026 Graham Kirby (race-timing@kirby-family.net)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.grahamkirby.race_timing.individual_race;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import org.grahamkirby.race_timing.common.RaceResult;
+import org.grahamkirby.race_timing.common.RaceResults;
+import org.grahamkirby.race_timing.common.ResultsJSONWriter;
+import org.grahamkirby.race_timing.common.SingleRaceResult;
+
+import java.io.IOException;
+
+import static org.grahamkirby.race_timing.common.Config.DNF_STRING;
+import static org.grahamkirby.race_timing.common.NormalisationProcessor.renderDuration;
+import static org.grahamkirby.race_timing.individual_race.IndividualRaceResults.*;
+import static org.grahamkirby.race_timing.individual_race.IndividualRaceResultsProcessor.getAggregatePosition;
+
+class IndividualRaceResultsJSONWriter extends ResultsJSONWriter {
+
+    IndividualRaceResultsJSONWriter(final RaceResults race_results, final JsonGenerator generator) {
+        super(race_results, generator);
+    }
+
+    //////////////////////////////////////////////////////////////////////////////////////////////////
+
+    @Override
+    protected void writeResultFields(final RaceResult result) throws IOException {
+
+        generator.writeStringField("position", result.getPositionString());
+        generator.writeNumberField("bib", ((SingleRaceResult) result).getBibNumber());
+        generator.writeStringField("runner", result.getParticipant().getName());
+        generator.writeStringField("club", ((Runner) result.getParticipant()).getClub());
+        generator.writeStringField("category", result.getParticipant().getCategory().getShortName());
+        generator.writeStringField("time", renderDuration(result, DNF_STRING));
+    }
+
+    @Override
+    protected void writeRaceFields() throws IOException {
+
+        generator.writeArrayFieldStart("team_prizes");
+
+        for (final TeamPerformance team_performance : ((IndividualRaceResults) race_results).getTeamPrizes()) {
+
+            generator.writeStartObject();
+            generator.writeStringField("gender", team_performance.gender());
+            generator.writeStringField("club", team_performance.club());
+            generator.writeNumberField("total", getAggregatePosition(team_performance));
+
+            generator.writeArrayFieldStart("runners");
+
+            for (final RunnerPerformance runner_performance : team_performance.runner_performances()) {
+
+                generator.writeStartObject();
+                generator.writeStringField("name", runner_performance.name());
+                generator.writeNumberField("position", runner_performance.position());
+                generator.writeEndObject();
+            }
+
+            generator.writeEndArray();
+            generator.writeEndObject();
+        }
+
+        generator.writeEndArray();
+    }
+}
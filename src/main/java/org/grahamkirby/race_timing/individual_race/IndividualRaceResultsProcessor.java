@@ -70,13 +70,37 @@ public class IndividualRaceResultsProcessor extends RaceResultsProcessor impleme
     @Override
     public void calculateResults() {
 
-        initialiseResults();
-        adjustTimes();
-        addSeparatelyRecordedTimes();
-        recordDNFs();
-        sortOverallResults();
-        allocatePrizes();
-        allocateTeamPrizes();
+        time("initialise results", this::initialiseResults);
+        time("adjust times", () -> adjustTimes(overall_results));
+        time("add separately recorded times", this::addSeparatelyRecordedTimes);
+        time("record DNFs", this::recordDNFs);
+        time("sort results", this::sortOverallResults);
+        time("allocate prizes", OutputPlan.View.PRIZES, this::allocatePrizes);
+        time("allocate team prizes", OutputPlan.View.PRIZES, this::allocateTeamPrizes);
+    }
+
+    /** Adds results for newly recorded raw results, updating positions and prizes, without
+     *  recalculating or re-sorting the existing results. */
+    public void addRawResults(final List<RawResult> raw_results) {
+
+        final List<RaceResult> new_results = makeMutableCopy(getRaceResults(raw_results));
+
+        adjustTimes(new_results);
+        insertIntoOverallResults(new_results);
+
+        if (isRequired(OutputPlan.View.PRIZES)) {
+
+            clearPrizes();
+            allocatePrizes();
+            allocateTeamPrizes();
+        }
+    }
+
+    /** Uses results previously calculated from the same inputs, rather than calculating them. */
+    void loadResults(final List<RaceResult> results) {
+
+        overall_results = makeMutableCopy(results);
+        team_prizes = List.of();
     }
 
     @Override
@@ -150,12 +174,12 @@ public class IndividualRaceResultsProcessor extends RaceResultsProcessor impleme
             !directly_recorded_results.isEmpty() ? directly_recorded_results : getRaceResults(raw_results));
     }
 
-    private void adjustTimes() {
+    private void adjustTimes(final List<RaceResult> results) {
 
-        setTimesByCategory();
-        setIndividualStartTimes();
-        setTimeTrialStartTimes();
-        setRaceStartOffset();
+        setTimesByCategory(results);
+        setIndividualStartTimes(results);
+        setTimeTrialStartTimes(results);
+        setRaceStartOffset(results);
     }
 
     private void addSeparatelyRecordedTimes() {
@@ -200,34 +224,34 @@ public class IndividualRaceResultsProcessor extends RaceResultsProcessor impleme
             orElseThrow();
     }
 
-    private void setTimesByCategory() {
+    private void setTimesByCategory(final List<RaceResult> results) {
 
-        race.getConfig().processConfigIfPresent(KEY_OFFSETS_CATEGORY_STARTS, this::setTimesByCategory);
+        race.getConfig().processConfigIfPresent(KEY_OFFSETS_CATEGORY_STARTS, value -> setTimesByCategory(value, results));
     }
 
-    private void setIndividualStartTimes() {
+    private void setIndividualStartTimes(final List<RaceResult> results) {
 
-        race.getConfig().processConfigIfPresent(KEY_OFFSETS_INDIVIDUAL_STARTS, this::setIndividualStartTimes);
+        race.getConfig().processConfigIfPresent(KEY_OFFSETS_INDIVIDUAL_STARTS, value -> setIndividualStartTimes(value, results));
     }
 
-    private void setTimeTrialStartTimes() {
+    private void setTimeTrialStartTimes(final List<RaceResult> results) {
 
-        race.getConfig().processConfigIfPresent(KEY_TIME_TRIAL_RUNNERS_PER_WAVE, this::setTimeTrialStartTimes);
+        race.getConfig().processConfigIfPresent(KEY_TIME_TRIAL_RUNNERS_PER_WAVE, value -> setTimeTrialStartTimes(value, results));
     }
 
-    private void setRaceStartOffset() {
+    private void setRaceStartOffset(final List<RaceResult> results) {
 
-        race.getConfig().processConfigIfPresent(KEY_OFFSET_RACE_START, this::setRaceStartOffset);
+        race.getConfig().processConfigIfPresent(KEY_OFFSET_RACE_START, value -> setRaceStartOffset(value, results));
     }
 
-    private void setTimesByCategory(final Object category_start_offsets) {
+    private void setTimesByCategory(final Object category_start_offsets, final List<RaceResult> results) {
 
         // Category / start time
         // Example: CATEGORY_START_OFFSETS =  FU9/00:01:00,MU9/00:01:00,FU11/00:01:00,MU11/00:01:00
 
         final Map<EntryCategory, Duration> category_offsets = getCategoryOffsets((String) category_start_offsets);
 
-        for (final RaceResult r : overall_results) {
+        for (final RaceResult r : results) {
 
             final SingleRaceResult result = (SingleRaceResult) r;
             final EntryCategory category = result.getParticipant().getCategory();
@@ -255,7 +279,7 @@ public class IndividualRaceResultsProcessor extends RaceResultsProcessor impleme
         return category_offsets;
     }
 
-    private void setTimeTrialStartTimes(final Object time_trial_runners_per_wave) {
+    private void setTimeTrialStartTimes(final Object time_trial_runners_per_wave, final List<RaceResult> results) {
 
         // This option applies when time-trial runners are assigned to waves in order of bib number,
         // with incomplete waves if there are any gaps in bib numbers.
@@ -267,7 +291,7 @@ public class IndividualRaceResultsProcessor extends RaceResultsProcessor impleme
 
         allocateBibNumbersToWaves(waves, runners_per_wave);
         waves = removeEmptyWaves(waves);
-        setTimeTrialStartTimes(waves, time_trial_inter_wave_interval);
+        setTimeTrialStartTimes(waves, time_trial_inter_wave_interval, results);
     }
 
     private List<List<Integer>> makeWaves(final int time_trial_runners_per_wave) {
@@ -293,9 +317,9 @@ public class IndividualRaceResultsProcessor extends RaceResultsProcessor impleme
         return waves.stream().filter(Predicate.not(List::isEmpty)).toList();
     }
 
-    private void setTimeTrialStartTimes(final List<List<Integer>> waves, final Duration time_trial_inter_wave_interval) {
+    private void setTimeTrialStartTimes(final List<List<Integer>> waves, final Duration time_trial_inter_wave_interval, final List<RaceResult> results) {
 
-        for (final RaceResult r : overall_results) {
+        for (final RaceResult r : results) {
 
             final SingleRaceResult result = (SingleRaceResult) r;
 
@@ -317,14 +341,14 @@ public class IndividualRaceResultsProcessor extends RaceResultsProcessor impleme
             orElseThrow();
     }
 
-    private void setIndividualStartTimes(final Object individual_start_times) {
+    private void setIndividualStartTimes(final Object individual_start_times, final List<RaceResult> results) {
 
         // Bib number / start time
         // Example: INDIVIDUAL_START_TIMES = 2/0:10:00,26/0:20:00
 
         final Map<Integer, Duration> start_times = getStartTimes((String) individual_start_times);
 
-        for (final RaceResult r : overall_results) {
+        for (final RaceResult r : results) {
 
             final SingleRaceResult result = (SingleRaceResult) r;
 
@@ -350,14 +374,14 @@ public class IndividualRaceResultsProcessor extends RaceResultsProcessor impleme
         return start_times;
     }
 
-    private void setRaceStartOffset(final Object race_start_time) {
+    private void setRaceStartOffset(final Object race_start_time, final List<RaceResult> results) {
 
         // Bib number / start time
         // Example: INDIVIDUAL_START_TIMES = 2/0:10:00,26/0:20:00
 
         final Duration offset = parseTime((String) race_start_time);
 
-        for (final RaceResult r : overall_results) {
+        for (final RaceResult r : results) {
 
             final SingleRaceResult result = (SingleRaceResult) r;
             result.setStartTime(result.getStartTime().plus(offset));
@@ -0,0 +1,242 @@
+/*
+ * race-timing - <https://github.com/grahamkirby/race-timing>
+ * Copyright © 2026 Graham Kirby (race-timing@kirby-family.net)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.grahamkirby.race_timing.individual_race;
+
+import org.grahamkirby.race_timing.categories.EntryCategory;
+import org.grahamkirby.race_timing.common.*;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.grahamkirby.race_timing.common.Config.*;
+
+/**
+ * Compact binary record of the processed results of an individual race, allowing a series race to
+ * reuse the results of races whose inputs have not changed since they were last processed.
+ * <br />
+ * A snapshot holds the results in sorted order, with the start time, finish time and category of
+ * each, and the names of the input files left unused by processing. It is stored in the race's
+ * output directory, and is keyed by a hash of the race's configuration and input files and of the
+ * software, so is ignored once any of these changes.
+ */
+class IndividualRaceSnapshot {
+
+    // Increment whenever the format changes. Changes to processing are covered by the software hash in the key.
+    private static final int FORMAT_VERSION = 1;
+    private static final int MAGIC_NUMBER = 0x52545331;
+
+    private static final String KEY_DIGEST_ALGORITHM = "SHA-256";
+
+    private record ResultRecord(int bib_number, String name, String club, String category_short_name, Duration start_time, Duration finish_time, boolean dnf) {}
+
+    private final String key;
+    private final List<String> unused_input_file_names;
+    private final List<ResultRecord> results;
+
+    //////////////////////////////////////////////////////////////////////////////////////////////////
+
+    private IndividualRaceSnapshot(final String key, final List<String> unused_input_file_names, final List<ResultRecord> results) {
+
+        this.key = key;
+        this.unused_input_file_names = unused_input_file_names;
+        this.results = results;
+    }
+
+    //////////////////////////////////////////////////////////////////////////////////////////////////
+
+    /** Makes a snapshot of the processed results of the given race. */
+    static IndividualRaceSnapshot makeSnapshot(final IndividualRace race, final String key) {
+
+        final List<ResultRecord> results = race.getResultsProcessor().getOverallResults().stream().
+            map(result -> makeResultRecord((SingleRaceResult) result)).
+            toList();
+
+        return new IndividualRaceSnapshot(key, race.getConfig().getUnusedInputFileNames(), results);
+    }
+
+    /** Computes the key for the current inputs of the race with the given configuration. */
+    static String makeKey(final Config config) throws IOException {
+
+        try {
+            final MessageDigest digest = MessageDigest.getInstance(KEY_DIGEST_ALGORITHM);
+            digest.update(String.valueOf(FORMAT_VERSION).getBytes(StandardCharsets.UTF_8));
+            digest.update(BuildManifest.getSoftwareHash().getBytes(StandardCharsets.UTF_8));
+
+            for (final Path path : getInputPaths(config)) {
+
+                digest.update(path.getFileName().toString().getBytes(StandardCharsets.UTF_8));
+                digest.update(Files.readAllBytes(path));
+            }
+
+            return HexFormat.of().formatHex(digest.digest());
+
+        } catch (final NoSuchAlgorithmException e) {
+            // Every Java platform is required to support SHA-256.
+            throw new RuntimeException(e);
+        }
+    }
+
+    /** Reads the snapshot at the given path, returning null if there is none for the given key. */
+    static IndividualRaceSnapshot read(final Path snapshot_path, final String key) throws IOException {
+
+        if (!Files.exists(snapshot_path)) return null;
+
+        try (final DataInputStream input = new DataInputStream(new BufferedInputStream(Files.newInputStream(snapshot_path)))) {
+
+            if (input.readInt() != MAGIC_NUMBER || input.readInt() != FORMAT_VERSION || !input.readUTF().equals(key)) return null;
+
+            final List<String> unused_input_file_names = new ArrayList<>();
+            final int number_of_unused_input_files = input.readInt();
+
+            for (int i = 0; i < number_of_unused_input_files; i++)
+                unused_input_file_names.add(input.readUTF());
+
+            final List<ResultRecord> results = new ArrayList<>();
+            final int number_of_results = input.readInt();
+
+            for (int i = 0; i < number_of_results; i++)
+                results.add(readResultRecord(input));
+
+            return new IndividualRaceSnapshot(key, unused_input_file_names, results);
+        }
+    }
+
+    void write(final Path snapshot_path) throws IOException {
+
+        Files.createDirectories(snapshot_path.getParent());
+
+        try (final DataOutputStream output = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(snapshot_path, STANDARD_FILE_OPEN_OPTIONS)))) {
+
+            output.writeInt(MAGIC_NUMBER);
+            output.writeInt(FORMAT_VERSION);
+            output.writeUTF(key);
+
+            output.writeInt(unused_input_file_names.size());
+            for (final String file_name : unused_input_file_names)
+                output.writeUTF(file_name);
+
+            output.writeInt(results.size());
+            for (final ResultRecord result : results)
+                writeResultRecord(output, result);
+        }
+    }
+
+    /** Makes results for the given race from the snapshot, in sorted order. */
+    List<RaceResult> makeResults(final IndividualRace race) {
+
+        return results.stream().
+            map(result -> makeResult(result, race)).
+            toList();
+    }
+
+    List<String> getUnusedInputFileNames() {
+        return unused_input_file_names;
+    }
+
+    //////////////////////////////////////////////////////////////////////////////////////////////////
+
+    private static ResultRecord makeResultRecord(final SingleRaceResult result) {
+
+        final Runner runner = (Runner) result.getParticipant();
+        final EntryCategory category = runner.getCategory();
+
+        return new ResultRecord(
+            result.getBibNumber(),
+            runner.getName(),
+            runner.getClub(),
+            category == null ? "" : category.getShortName(),
+            result.getStartTime(),
+            result.getFinishTime(),
+            !result.canOrHasCompleted());
+    }
+
+    private static RaceResult makeResult(final ResultRecord record, final IndividualRace race) {
+
+        final EntryCategory category = record.category_short_name().isEmpty() ? null : race.getCategoriesProcessor().getEntryCategory(record.category_short_name());
+        final RaceEntry entry = new RaceEntry(new Runner(record.name(), record.club(), category), record.bib_number());
+
+        final IndividualRaceResult result = new IndividualRaceResult(entry, record.finish_time(), race);
+
+        result.setStartTime(record.start_time());
+        result.setDnf(record.dnf());
+
+        return result;
+    }
+
+    private static void writeResultRecord(final DataOutputStream output, final ResultRecord result) throws IOException {
+
+        output.writeInt(result.bib_number());
+        output.writeUTF(result.name());
+        output.writeUTF(result.club());
+        output.writeUTF(result.category_short_name());
+        writeDuration(output, result.start_time());
+        writeDuration(output, result.finish_time());
+        output.writeBoolean(result.dnf());
+    }
+
+    private static ResultRecord readResultRecord(final DataInputStream input) throws IOException {
+
+        return new ResultRecord(
+            input.readInt(),
+            input.readUTF(),
+            input.readUTF(),
+            input.readUTF(),
+            readDuration(input),
+            readDuration(input),
+            input.readBoolean());
+    }
+
+    private static void writeDuration(final DataOutputStream output, final Duration duration) throws IOException {
+
+        // A finish time may be unknown.
+        output.writeBoolean(duration != null);
+        if (duration != null) output.writeLong(duration.toNanos());
+    }
+
+    private static Duration readDuration(final DataInputStream input) throws IOException {
+
+        return input.readBoolean() ? Duration.ofNanos(input.readLong()) : null;
+    }
+
+    /** Gets the configuration file, other files in the input directory, and files referenced from the
+     *  configuration, in a consistent order. */
+    private static List<Path> getInputPaths(final Config config) throws IOException {
+
+        final List<Path> paths = new ArrayList<>();
+
+        try (final Stream<Path> files = Files.list(config.getConfigPath().getParent())) {
+            files.filter(Files::isRegularFile).sorted().forEachOrdered(paths::add);
+        }
+
+        config.getPathValues().stream().
+            filter(Files::isRegularFile).
+            sorted().
+            forEachOrdered(paths::add);
+
+        return paths;
+    }
+}
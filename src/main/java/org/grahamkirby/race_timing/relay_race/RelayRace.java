@@ -139,8 +139,10 @@ public class RelayRace implements SingleRaceInternal {
     @Override
     public void initialise() throws IOException {
 
-        categories_processor = new CategoriesProcessor(config);
-        normalisation = new NormalisationProcessor(config);
+        final PhaseTimings timings = config.getTimings();
+
+        timings.time("set up categories", () -> categories_processor = new CategoriesProcessor(config));
+        timings.time("set up normalisation", () -> normalisation = new NormalisationProcessor(config));
         results_output = new RelayRaceOutput(config);
         results_processor = new RelayRaceResultsProcessor(this);
     }
@@ -150,6 +152,11 @@ public class RelayRace implements SingleRaceInternal {
         this.results_output = output;
     }
 
+    @Override
+    public RaceOutput getOutput() {
+        return results_output;
+    }
+
     @Override
     public Config getConfig() {
         return config;
@@ -324,28 +331,35 @@ public class RelayRace implements SingleRaceInternal {
         final Path annotations_path = config.getPath(KEY_ANNOTATIONS_PATH);
         final Path paper_results_path = config.getPath(KEY_PAPER_RESULTS_PATH);
 
+        final PhaseTimings timings = config.getTimings();
+
         validateDataFiles(entries_path, electronic_results_path, paper_results_path);
 
-        entries = loadEntries(entries_path);
+        timings.time("load entries", () -> entries = loadEntries(entries_path), () -> entries.size());
 
-        final List<RawResult> electronically_recorded_raw_results = loadRawResults(electronic_results_path);
-        final List<RawResult> paper_recorded_raw_results = loadRawResults(paper_results_path);
+        timings.time("load raw results", () -> {
 
-        number_of_electronically_recorded_raw_results = electronically_recorded_raw_results.size();
-        raw_results = append(electronically_recorded_raw_results, paper_recorded_raw_results);
+            final List<RawResult> electronically_recorded_raw_results = loadRawResults(electronic_results_path);
+            final List<RawResult> paper_recorded_raw_results = loadRawResults(paper_results_path);
 
-        if (annotations_path != null) processAnnotations(annotations_path);
-        validateData(entries, entries_path, raw_results, electronic_results_path, paper_results_path);
+            number_of_electronically_recorded_raw_results = electronically_recorded_raw_results.size();
+            raw_results = append(electronically_recorded_raw_results, paper_recorded_raw_results);
+        }, () -> raw_results.size());
+
+        if (annotations_path != null)
+            timings.time("process annotations", () -> processAnnotations(annotations_path), () -> raw_results.size());
+
+        timings.time("validate data", () -> validateData(entries, entries_path, raw_results, electronic_results_path, paper_results_path), () -> entries.size() + raw_results.size());
     }
 
     private void validateEntryCategory(final String line) {
 
         final NormalisationProcessor normalisation = getNormalisationProcessor();
-        final List<String> elements = Arrays.stream(line.split(ENTRY_SEPARATOR)).toList();
-        final List<String> mapped_elements = normalisation.mapRaceEntryElements(elements);
+        final String[] elements = line.split(ENTRY_SEPARATOR);
+        final String[] mapped_elements = normalisation.mapRaceEntryElements(elements);
 
         try {
-            final String category_name = normalisation.normaliseCategoryShortName(mapped_elements.get(CATEGORY_INDEX));
+            final String category_name = normalisation.normaliseCategoryShortName(mapped_elements[CATEGORY_INDEX]);
             categories_processor.getEntryCategory(category_name);
 
         } catch (final RuntimeException _) {
@@ -367,9 +381,9 @@ public class RelayRace implements SingleRaceInternal {
         validateRawResultsOrdering(paper_results_path);
     }
 
-    private void validateData(final List<RaceEntry> entries, final Path entries_path, final List<RawResult> combined_raw_results, final Path electronic_results_path, final Path paper_results_path) {
+    private void validateData(final List<RaceEntry> entries, final Path entries_path, final List<RawResult> combined_raw_results, final Path electronic_results_path, final Path paper_results_path) throws IOException {
 
-        validateEntriesUnique(entries, entries_path);
+        validateEntriesUnique(entries, entries_path, entry -> entry.getParticipant().getName());
         validateRecordedBibNumbersAreRegistered(entries, combined_raw_results, electronic_results_path, paper_results_path);
     }
 
@@ -424,14 +438,6 @@ public class RelayRace implements SingleRaceInternal {
             });
     }
 
-    private void validateEntriesUnique(final List<RaceEntry> entries, final Path entries_path) {
-
-        for (final RaceEntry entry1 : entries)
-            for (final RaceEntry entry2 : entries)
-                if (entry1.getParticipant() != entry2.getParticipant() && entry1.getParticipant().equals(entry2.getParticipant()))
-                    throw new RuntimeException(DUPLICATE_ENTRY + " '" + entry1.getParticipant().getName() + "' " + IN_FILE + " '" + entries_path.getFileName() + "'");
-    }
-
     private void validateNumberOfLegResults(final Path raw_results_path, final Path paper_results_path) throws IOException {
 
         final Map<String, Integer> bib_counts = new HashMap<>();
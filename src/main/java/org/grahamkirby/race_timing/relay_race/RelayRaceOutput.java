@@ -17,26 +17,23 @@
  */
 package org.grahamkirby.race_timing.relay_race;
 
-
-import com.itextpdf.kernel.font.PdfFont;
-import com.itextpdf.layout.Document;
-import com.itextpdf.layout.element.Paragraph;
-import com.itextpdf.layout.element.Text;
+import com.fasterxml.jackson.core.JsonGenerator;
 import org.grahamkirby.race_timing.common.*;
 
 import java.io.IOException;
-import java.io.OutputStream;
 import java.io.OutputStreamWriter;
 import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Map;
 import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 import static org.grahamkirby.race_timing.common.Config.*;
 import static org.grahamkirby.race_timing.common.NormalisationProcessor.csvEncode;
 import static org.grahamkirby.race_timing.common.NormalisationProcessor.renderDuration;
+import static org.grahamkirby.race_timing.common.OutputPlan.Output.*;
 
 public class RelayRaceOutput extends RaceOutput {
 
@@ -76,45 +73,50 @@ public class RelayRaceOutput extends RaceOutput {
     }
 
     @Override
-    protected BiFunction<RaceResults, Document, ResultPrinter> getPrizePDFPrinterGenerator() {
-        return PrizeResultPrinterPDF::new;
+    protected Function<RaceResults, PrizesPDFPrinter> getPrizesPDFPrinterGenerator() {
+        return RelayRacePrizesPDFPrinter::new;
+    }
+
+    @Override
+    protected BiFunction<RaceResults, JsonGenerator, ResultsJSONWriter> getResultsJSONWriterGenerator() {
+        return RelayRaceResultsJSONWriter::new;
     }
 
     //////////////////////////////////////////////////////////////////////////////////////////////////
 
     private void printDetailedResults() throws IOException {
 
-        printDetailedResultsCSV();
-        printDetailedResultsHTML();
+        if (isPlanned(DETAILED_CSV)) printDetailedResultsCSV();
+        if (isPlanned(DETAILED_HTML)) printDetailedResultsHTML();
     }
 
     private void printLegResults() throws IOException {
 
-        printLegResultsCSV();
-        printLegResultsHTML();
+        if (isPlanned(LEG_CSV)) printLegResultsCSV();
+        if (isPlanned(LEG_HTML)) printLegResultsHTML();
     }
 
     private void printCollatedTimes() throws IOException {
 
-        printCollatedResultsText();
+        if (isPlanned(COLLATED_TEXT))
+            printCollatedResultsText();
+        else
+            // Discrepancies are still recorded in the notes, since they are needed when checking results.
+            printNotes(((RelayRaceResults) race_results).countLegsFinishedPerTeam());
     }
 
     //////////////////////////////////////////////////////////////////////////////////////////////////
 
     private void printDetailedResultsCSV() throws IOException {
 
-        final OutputStream stream = getOutputStream(DETAILED, CSV_FILE_SUFFIX);
-
-        try (final OutputStreamWriter writer = new OutputStreamWriter(stream)) {
+        try (final OutputStreamWriter writer = getOutputWriter(DETAILED, CSV_FILE_SUFFIX)) {
             printResults(writer, new DetailedResultPrinterCSV(race_results, writer), _ -> "");
         }
     }
 
     private void printDetailedResultsHTML() throws IOException {
 
-        final OutputStream stream = getOutputStream(DETAILED, HTML_FILE_SUFFIX);
-
-        try (final OutputStreamWriter writer = new OutputStreamWriter(stream)) {
+        try (final OutputStreamWriter writer = getOutputWriter(DETAILED, HTML_FILE_SUFFIX)) {
             printDetailedResultsHTML(writer);
         }
     }
@@ -137,9 +139,7 @@ public class RelayRaceOutput extends RaceOutput {
 
     private void printLegResultsCSV(final int leg) throws IOException {
 
-        final OutputStream stream = getOutputStream(LEG + leg, CSV_FILE_SUFFIX);
-
-        try (final OutputStreamWriter writer = new OutputStreamWriter(stream)) {
+        try (final OutputStreamWriter writer = getOutputWriter(LEG + leg, CSV_FILE_SUFFIX)) {
 
             final List<RelayRaceLegResult> leg_results = ((RelayRaceResults) race_results).getLegResults(leg);
             new LegResultPrinterCSV(race_results, writer, leg).print(leg_results);
@@ -154,13 +154,24 @@ public class RelayRaceOutput extends RaceOutput {
 
     private void printLegResultsHTML(final int leg) throws IOException {
 
-        final OutputStream stream = getOutputStream(LEG + leg, HTML_FILE_SUFFIX);
+        try (final OutputStreamWriter writer = getOutputWriter(LEG + leg, HTML_FILE_SUFFIX)) {
 
-        try (final OutputStreamWriter writer = new OutputStreamWriter(stream)) {
-            printLegResultsHTML(writer, leg);
+            if (getHTMLPageSize() > 0)
+                printLegResultPagesHTML(writer, leg);
+            else
+                printLegResultsHTML(writer, leg);
         }
     }
 
+    /** Prints the results for the given leg to a sequence of pages, with links to them written to the given index page. */
+    private void printLegResultPagesHTML(final OutputStreamWriter index_writer, final int leg) throws IOException {
+
+        final ResultPrinterGenerator make_printer = (race, writer) -> new LegResultPrinterHTML(race, writer, leg);
+        final ResultPagesHTML pages = new ResultPagesHTML(this, make_printer, getHTMLPageSize(), LEG + leg);
+
+        pages.writeLinks(index_writer, pages.write(LEG + leg, null, ((RelayRaceResults) race_results).getLegResults(leg)));
+    }
+
     private void printLegResultsHTML(final OutputStreamWriter writer, final int leg) throws IOException {
 
         final List<RelayRaceLegResult> leg_results = ((RelayRaceResults) race_results).getLegResults(leg);
@@ -173,9 +184,7 @@ public class RelayRaceOutput extends RaceOutput {
     /** Prints all details to a single web page. */
     protected void printCombinedHTML() throws IOException {
 
-        final OutputStream stream = getOutputStream(COMBINED, HTML_FILE_SUFFIX);
-
-        try (final OutputStreamWriter writer = new OutputStreamWriter(stream)) {
+        try (final OutputStreamWriter writer = getOutputWriter(COMBINED, HTML_FILE_SUFFIX)) {
 
             writer.append("<h3>" + RESULTS + "</h3>").append(LINE_SEPARATOR);
 
@@ -183,7 +192,7 @@ public class RelayRaceOutput extends RaceOutput {
             printPrizesHTML(writer, new PrizeResultPrinterHTML(race_results, writer));
 
             writer.append("<h4>" + OVERALL + "</h4>").append(LINE_SEPARATOR);
-            printResults(writer, new RelayRaceOverallResultPrinterHTML(race_results, writer), this::getResultsSubHeaderHTML);
+            printOverallResultsHTML(writer, RelayRaceOverallResultPrinterHTML::new);
 
             writer.append("<h4>" + FULL_RESULTS + "</h4>").append(LINE_SEPARATOR);
             printDetailedResultsHTML(writer);
@@ -191,7 +200,11 @@ public class RelayRaceOutput extends RaceOutput {
             for (int leg_number = 1; leg_number <= ((RelayRaceResults) race_results).getNumberOfLegs(); leg_number++) {
 
                 writer.append("<p></p>" + LINE_SEPARATOR + "<h4>" + LEG1 + " " + leg_number + " " + RESULTS + "</h4>" + LINE_SEPARATOR);
-                printLegResultsHTML(writer, leg_number);
+
+                if (isPaginated(LEG_HTML))
+                    writer.append("<p>" + makeLinkHTML(LEG + leg_number, RESULTS_BY_PAGE) + "</p>").append(LINE_SEPARATOR);
+                else
+                    printLegResultsHTML(writer, leg_number);
             }
 
             writer.append(SOFTWARE_CREDIT_LINK_TEXT);
@@ -226,9 +239,7 @@ public class RelayRaceOutput extends RaceOutput {
 
     private void printCollatedResultsText() throws IOException {
 
-        final OutputStream stream = getOutputStream(FILE_TIMES_COLLATED, TEXT_FILE_SUFFIX);
-
-        try (final OutputStreamWriter writer = new OutputStreamWriter(stream)) {
+        try (final OutputStreamWriter writer = getOutputWriter(FILE_TIMES_COLLATED, TEXT_FILE_SUFFIX)) {
 
             final Map<Integer, Integer> legs_finished_per_team = ((RelayRaceResults) race_results).countLegsFinishedPerTeam();
 
@@ -314,256 +325,138 @@ public class RelayRaceOutput extends RaceOutput {
 
     //////////////////////////////////////////////////////////////////////////////////////////////////
 
-    private static final class RelayRaceOverallResultPrinterCSV extends ResultPrinter {
+    private static final class RelayRaceOverallResultPrinterCSV extends OverallResultPrinterCSV {
 
         private RelayRaceOverallResultPrinterCSV(final RaceResults race, final OutputStreamWriter writer) {
-            super(race, writer);
+            super(race, writer, makeColumns());
         }
 
-        @Override
-        public void printResultsHeader() throws IOException {
+        private static ResultTemplate.Builder<RelayRaceResult> makeColumns() {
 
-            writer.append(String.join(",", POS1) + "," + TOTAL + LINE_SEPARATOR);
-        }
-
-        @Override
-        public void printResult(final RaceResult r) throws IOException {
-
-            final SingleRaceResult result = (SingleRaceResult) r;
-
-            writer.append(result.getPositionString()).append(",").
-                append(String.valueOf(result.getBibNumber())).append(",").
-                append(csvEncode(result.getParticipantName())).append(",").
-                append(result.getParticipant().getCategory().getShortName()).append(",").
-                append(renderDuration(result, DNF_STRING)).
-                append(LINE_SEPARATOR);
-        }
-
-        protected void printNoResults() {
-            throw new UnsupportedOperationException();
+            return new ResultTemplate.Builder<RelayRaceResult>().
+                column(POS, RelayRaceResult::getPositionString).
+                column(NO, result -> String.valueOf(result.getBibNumber())).
+                column(TEAM, result -> csvEncode(result.getParticipantName())).
+                column(CATEGORY, result -> result.getParticipant().getCategory().getShortName()).
+                column(TOTAL, result -> renderDuration(result, DNF_STRING));
         }
     }
 
     private static final class RelayRaceOverallResultPrinterHTML extends OverallResultPrinterHTML {
 
         private RelayRaceOverallResultPrinterHTML(final RaceResults race, final OutputStreamWriter writer) {
-            super(race, writer);
-        }
-
-        @Override
-        protected List<String> getResultsColumnHeaders() {
-
-            return HEADERS2;
+            super(race, writer, makeColumns(race.getNormalisationProcessor()));
         }
 
-        @Override
-        protected List<String> getResultsElements(final RaceResult r) {
+        private static ResultTemplate.Builder<RelayRaceResult> makeColumns(final NormalisationProcessor processor) {
 
-            final RelayRaceResult result = (RelayRaceResult) r;
-            final NormalisationProcessor processor = race_results.getNormalisationProcessor();
-            final Participant participant = result.getParticipant();
-
-            return List.of(
-                result.getPositionString(),
-                String.valueOf(result.getBibNumber()),
-                processor.htmlEncode(participant.getName()),
-                processor.htmlEncode(participant.getCategory().getLongName()),
-                renderDuration(result, DNF_STRING)
-            );
+            return new ResultTemplate.Builder<RelayRaceResult>().
+                column(POS, RelayRaceResult::getPositionString).
+                column(NO, result -> String.valueOf(result.getBibNumber())).
+                column(TEAM, result -> processor.htmlEncode(result.getParticipant().getName())).
+                column(CATEGORY, result -> processor.htmlEncode(result.getParticipant().getCategory().getLongName())).
+                column(TOTAL, result -> renderDuration(result, DNF_STRING));
         }
     }
 
-    private static final class DetailedResultPrinterCSV extends ResultPrinter {
+    private static final class DetailedResultPrinterCSV extends OverallResultPrinterCSV {
 
         private DetailedResultPrinterCSV(final RaceResults race, final OutputStreamWriter writer) {
-            super(race, writer);
+            super(race, writer, makeColumns((RelayRaceResults) race));
         }
 
-        @Override
-        public void printResultsHeader() throws IOException {
-
-            final int number_of_legs = ((RelayRaceResults) race_results).getNumberOfLegs();
+        private static ResultTemplate.Builder<RelayRaceResult> makeColumns(final RelayRaceResults results) {
 
-            writer.append(String.join(",", POS1) + ",");
+            final int number_of_legs = results.getNumberOfLegs();
+            final List<String> leg_headers = new ArrayList<>();
 
             for (int leg_number = 1; leg_number <= number_of_legs; leg_number++) {
 
-                writer.append(RUNNER + "s " + leg_number + "," + LEG1 + " " + leg_number + ",");
-                if (leg_number < number_of_legs) writer.append(SPLIT + " " + leg_number + ",");
+                leg_headers.add(RUNNER + "s " + leg_number);
+                leg_headers.add(LEG1 + " " + leg_number);
+                leg_headers.add(leg_number < number_of_legs ? SPLIT + " " + leg_number : TOTAL);
             }
 
-            writer.append(TOTAL).append(LINE_SEPARATOR);
-        }
-
-        @Override
-        public void printResult(final RaceResult r) throws IOException {
-
-            final RelayRaceResult result = (RelayRaceResult) r;
-
-            final String team_name = csvEncode(result.getParticipantName());
-            final String category_name = result.getParticipant().getCategory().getLongName();
-
-            writer.append(result.getPositionString()).append(",").
-                append(String.valueOf(result.getBibNumber())).append(",").
-                append(team_name).append(",").
-                append(category_name).append(",");
-
-            final String leg_details = ((RelayRaceResults) race_results).getLegDetails(result).stream().
-                map(NormalisationProcessor::csvEncode).
-                collect(Collectors.joining(","));
-
-            writer.append(leg_details);
-            writer.append(LINE_SEPARATOR);
-        }
-
-        protected void printNoResults() {
-            throw new UnsupportedOperationException();
+            return new ResultTemplate.Builder<RelayRaceResult>().
+                column(POS, RelayRaceResult::getPositionString).
+                column(NO, result -> String.valueOf(result.getBibNumber())).
+                column(TEAM, result -> csvEncode(result.getParticipantName())).
+                column(CATEGORY, result -> result.getParticipant().getCategory().getLongName()).
+                columns(leg_headers, result -> results.getLegDetails(result).stream().
+                    map(NormalisationProcessor::csvEncode).
+                    toList());
         }
     }
 
     private static final class DetailedResultPrinterHTML extends OverallResultPrinterHTML {
 
         private DetailedResultPrinterHTML(final RaceResults race, final OutputStreamWriter writer) {
-            super(race, writer);
+            super(race, writer, makeColumns((RelayRaceResults) race));
         }
 
-        @Override
-        protected List<String> getResultsColumnHeaders() {
+        private static ResultTemplate.Builder<RelayRaceResult> makeColumns(final RelayRaceResults results) {
 
-            final List<String> headers = makeMutableCopy(POS1);
-            final int number_of_legs = ((RelayRaceResults) race_results).getNumberOfLegs();
+            final NormalisationProcessor processor = results.getNormalisationProcessor();
+            final int number_of_legs = results.getNumberOfLegs();
+            final List<String> leg_headers = new ArrayList<>();
 
             for (int leg_number = 1; leg_number <= number_of_legs; leg_number++) {
 
-                final String plural = ((RelayRaceResults) race_results).getPairedLegs().get(leg_number - 1) ? "s" : "";
+                final String plural = results.getPairedLegs().get(leg_number - 1) ? "s" : "";
 
-                headers.add(RUNNER + plural + " " + leg_number);
-                headers.add(LEG1 + " " + leg_number);
-                headers.add(leg_number < number_of_legs ? SPLIT + " " + leg_number : TOTAL);
+                leg_headers.add(RUNNER + plural + " " + leg_number);
+                leg_headers.add(LEG1 + " " + leg_number);
+                leg_headers.add(leg_number < number_of_legs ? SPLIT + " " + leg_number : TOTAL);
             }
 
-            return headers;
-        }
-
-        @Override
-        protected List<String> getResultsElements(final RaceResult r) {
-
-            final RelayRaceResult result = (RelayRaceResult) r;
-            final Participant participant = result.getParticipant();
-            final NormalisationProcessor processor = race_results.getNormalisationProcessor();
-            final List<String> elements = new ArrayList<>();
-
-            elements.add(result.getPositionString());
-            elements.add(String.valueOf(result.getBibNumber()));
-            elements.add(processor.htmlEncode(participant.getName()));
-            elements.add(processor.htmlEncode(participant.getCategory().getLongName()));
-
-            for (final String element : ((RelayRaceResults) race_results).getLegDetails(result))
-                elements.add(processor.htmlEncode(element));
-
-            return elements;
+            return new ResultTemplate.Builder<RelayRaceResult>().
+                column(POS, RelayRaceResult::getPositionString).
+                column(NO, result -> String.valueOf(result.getBibNumber())).
+                column(TEAM, result -> processor.htmlEncode(result.getParticipant().getName())).
+                column(CATEGORY, result -> processor.htmlEncode(result.getParticipant().getCategory().getLongName())).
+                columns(leg_headers, result -> results.getLegDetails(result).stream().
+                    map(processor::htmlEncode).
+                    toList());
         }
     }
 
-    private static final class LegResultPrinterCSV extends ResultPrinter {
-
-        final int leg;
+    private static final class LegResultPrinterCSV extends OverallResultPrinterCSV {
 
         private LegResultPrinterCSV(final RaceResults race, final OutputStreamWriter writer, final int leg) {
-
-            super(race, writer);
-            this.leg = leg;
-        }
-
-        @Override
-        public void printResultsHeader() throws IOException {
-
-            final String plural = ((RelayRaceResults) race_results).getPairedLegs().get(leg - 1) ? "s" : "";
-            writer.append(POS + "," + RUNNER + plural + "," + TIME + LINE_SEPARATOR);
+            super(race, writer, makeColumns((RelayRaceResults) race, leg));
         }
 
-        @Override
-        public void printResult(final RaceResult r) throws IOException {
-
-            final RelayRaceLegResult result = (RelayRaceLegResult) r;
-            final String runner_names = csvEncode(((Team) result.getParticipant()).getRunnerNames().get(result.getLegNumber() - 1));
+        private static ResultTemplate.Builder<RelayRaceLegResult> makeColumns(final RelayRaceResults results, final int leg) {
 
-            writer.append(result.getPositionString()).append(",").
-                append(runner_names).append(",").
-                append(renderDuration(result, DNF_STRING)).
-                append(LINE_SEPARATOR);
-        }
+            final String plural = results.getPairedLegs().get(leg - 1) ? "s" : "";
 
-        protected void printNoResults() {
-            throw new UnsupportedOperationException();
+            return new ResultTemplate.Builder<RelayRaceLegResult>().
+                column(POS, RelayRaceLegResult::getPositionString).
+                column(RUNNER + plural, result -> csvEncode(getRunnerNames(result))).
+                column(TIME, result -> renderDuration(result, DNF_STRING));
         }
     }
 
     private static final class LegResultPrinterHTML extends OverallResultPrinterHTML {
 
-        final int leg;
-
         private LegResultPrinterHTML(final RaceResults race, final OutputStreamWriter writer, final int leg) {
-
-            super(race, writer);
-            this.leg = leg;
-        }
-
-        @Override
-        protected List<String> getResultsColumnHeaders() {
-
-            final List<Boolean> paired_legs = ((RelayRaceResults) race_results).getPairedLegs();
-            final String plural = paired_legs.get(leg - 1) ? "s" : "";
-
-            return List.of(
-                POS,
-                RUNNER + plural,
-                TIME);
+            super(race, writer, makeColumns((RelayRaceResults) race, leg));
         }
 
-        @Override
-        protected List<String> getResultsElements(final RaceResult r) {
+        private static ResultTemplate.Builder<RelayRaceLegResult> makeColumns(final RelayRaceResults results, final int leg) {
 
-            final NormalisationProcessor processor = race_results.getNormalisationProcessor();
-            final RelayRaceLegResult leg_result = (RelayRaceLegResult) r;
-            final String runner_names = ((Team) leg_result.getParticipant()).getRunnerNames().get(leg_result.getLegNumber() - 1);
+            final NormalisationProcessor processor = results.getNormalisationProcessor();
+            final String plural = results.getPairedLegs().get(leg - 1) ? "s" : "";
 
-            return List.of(
-                leg_result.getPositionString(),
-                processor.htmlEncode(runner_names),
-                renderDuration(leg_result, DNF_STRING)
-            );
+            return new ResultTemplate.Builder<RelayRaceLegResult>().
+                column(POS, RelayRaceLegResult::getPositionString).
+                column(RUNNER + plural, result -> processor.htmlEncode(getRunnerNames(result))).
+                column(TIME, result -> renderDuration(result, DNF_STRING));
         }
     }
 
-    private static final class PrizeResultPrinterPDF extends ResultPrinter {
-
-        private final Document document;
-
-        public PrizeResultPrinterPDF(final RaceResults race, final Document document) {
-
-            super(race, null);
-            this.document = document;
-        }
-
-        @Override
-        public void printResult(final RaceResult result) throws IOException {
-
-            final PdfFont font = getFont(PDF_PRIZE_FONT_NAME);
-            final Paragraph paragraph = new Paragraph().setFont(font).setMarginBottom(0);
-
-            paragraph.add(new Text(
-                result.getPositionString() + ": " +
-                result.getParticipant() + " " +
-                renderDuration(result, DNF_STRING)).setFont(font));
+    private static String getRunnerNames(final RelayRaceLegResult leg_result) {
 
-            document.add(paragraph);
-        }
-
-        @Override
-        public void printNoResults() throws IOException {
-
-            document.add(new Paragraph(NO_RESULTS).setFont(getFont(PDF_PRIZE_FONT_ITALIC_NAME)));
-        }
+        return ((Team) leg_result.getParticipant()).getRunnerNames().get(leg_result.getLegNumber() - 1);
     }
 }
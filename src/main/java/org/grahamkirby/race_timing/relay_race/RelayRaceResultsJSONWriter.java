@@ -0,0 +1,81 @@
+/*
+ * race-timing - <https://github.com/grahamkirby/race-timing>
+ * Copyright © 2026 Graham Kirby (race-timing@kirby-family.net)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.grahamkirby.race_timing.relay_race;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import org.grahamkirby.race_timing.common.RaceResult;
+import org.grahamkirby.race_timing.common.RaceResults;
+import org.grahamkirby.race_timing.common.ResultsJSONWriter;
+
+import java.io.IOException;
+import java.util.List;
+
+import static org.grahamkirby.race_timing.common.Config.DNF_STRING;
+import static org.grahamkirby.race_timing.common.NormalisationProcessor.renderDuration;
+
+class RelayRaceResultsJSONWriter extends ResultsJSONWriter {
+
+    // Each leg is described by the runner names, leg time and split time, in that order.
+    private static final int LEG_DETAILS_PER_LEG = 3;
+    private static final int SPLIT_TIME_INDEX = 2;
+
+    RelayRaceResultsJSONWriter(final RaceResults race_results, final JsonGenerator generator) {
+        super(race_results, generator);
+    }
+
+    //////////////////////////////////////////////////////////////////////////////////////////////////
+
+    @Override
+    protected void writeResultFields(final RaceResult result) throws IOException {
+
+        final RelayRaceResult relay_result = (RelayRaceResult) result;
+
+        generator.writeStringField("position", result.getPositionString());
+        generator.writeNumberField("bib", relay_result.getBibNumber());
+        generator.writeStringField("team", result.getParticipantName());
+        generator.writeStringField("category", result.getParticipant().getCategory().getShortName());
+        generator.writeStringField("time", renderDuration(result, DNF_STRING));
+
+        writeLegs(relay_result);
+    }
+
+    //////////////////////////////////////////////////////////////////////////////////////////////////
+
+    private void writeLegs(final RelayRaceResult result) throws IOException {
+
+        final List<String> leg_details = ((RelayRaceResults) race_results).getLegDetails(result);
+
+        generator.writeArrayFieldStart("legs");
+
+        for (final RelayRaceLegResult leg_result : result.getLegResults()) {
+
+            final int leg_index = leg_result.getLegNumber() - 1;
+
+            generator.writeStartObject();
+            generator.writeNumberField("leg", leg_result.getLegNumber());
+            generator.writeStringField("position", leg_result.getPositionString());
+            generator.writeStringField("runners", leg_result.getParticipantName());
+            generator.writeStringField("time", renderDuration(leg_result, DNF_STRING));
+            generator.writeStringField("split", leg_details.get(leg_index * LEG_DETAILS_PER_LEG + SPLIT_TIME_INDEX));
+            generator.writeBooleanField("mass_start", leg_result.isInMassStart());
+            generator.writeEndObject();
+        }
+
+        generator.writeEndArray();
+    }
+}
@@ -70,6 +70,9 @@ public class RelayRaceResultsProcessor extends RaceResultsProcessor implements R
         Comparator.comparing(o -> o.previous_finish)
     );
 
+    // The results for each leg in finishing order, indexed from zero.
+    private List<List<RelayRaceLegResult>> leg_rankings;
+
     //////////////////////////////////////////////////////////////////////////////////////////////////
 
     public RelayRaceResultsProcessor(final RaceInternal race) {
@@ -82,17 +85,18 @@ public class RelayRaceResultsProcessor extends RaceResultsProcessor implements R
     @Override
     public void calculateResults() {
 
-        initialiseResults();
+        time("initialise results", this::initialiseResults);
         guessMissingData();
 
-        recordFinishTimes();
-        fillLegResultDetails();
-        recordDNFs();
+        time("record finish times", this::recordFinishTimes);
+        time("fill leg result details", this::fillLegResultDetails);
+        time("record DNFs", this::recordDNFs);
 
-        sortOverallResults();
-        allocatePrizes();
+        time("sort results", this::sortOverallResults);
+        time("allocate prizes", OutputPlan.View.PRIZES, this::allocatePrizes);
+        time("rank legs", OutputPlan.View.LEG_RANKINGS, this::rankLegs);
 
-        addPaperRecordingComments();
+        time("add paper recording comments", OutputPlan.View.COLLATED_TIMES, this::addPaperRecordingComments);
     }
 
     @Override
@@ -119,7 +123,7 @@ public class RelayRaceResultsProcessor extends RaceResultsProcessor implements R
 
     @Override
     public List<RelayRaceLegResult> getLegResults(final int leg) {
-        return ((RelayRace) race).getLegResults(leg);
+        return leg_rankings.get(leg - 1);
     }
 
     @Override
@@ -167,8 +171,8 @@ public class RelayRaceResultsProcessor extends RaceResultsProcessor implements R
 
     private void guessMissingData() {
 
-        interpolateMissingTimes();
-        guessMissingBibNumbers();
+        time("interpolate missing times", this::interpolateMissingTimes);
+        time("guess missing bib numbers", this::guessMissingBibNumbers);
     }
 
     private void recordFinishTimes() {
@@ -340,6 +344,14 @@ public class RelayRaceResultsProcessor extends RaceResultsProcessor implements R
             count();
     }
 
+    private void rankLegs() {
+
+        leg_rankings = new ArrayList<>();
+
+        for (int leg_number = 1; leg_number <= getNumberOfLegs(); leg_number++)
+            leg_rankings.add(((RelayRace) race).getLegResults(leg_number));
+    }
+
     private void addPaperRecordingComments() {
 
         final List<RawResult> raw_results = ((SingleRaceInternal) race).getRawResults();
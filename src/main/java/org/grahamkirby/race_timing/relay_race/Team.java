@@ -40,6 +40,11 @@ public class Team extends Participant {
             name.equals(other_team.name);
     }
 
+    @Override
+    public int hashCode() {
+        return Objects.hash(name);
+    }
+
     @Override
     public String toString() {
         return name + " (" + category.getLongName() + ")";
@@ -0,0 +1,82 @@
+/*
+ * race-timing - <https://github.com/grahamkirby/race-timing>
+ * Copyright © 2026 Graham Kirby (race-timing@kirby-family.net)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.grahamkirby.race_timing.series_race;
+
+import org.grahamkirby.race_timing.common.Participant;
+import org.grahamkirby.race_timing.individual_race.Runner;
+
+import java.util.*;
+
+/**
+ * Assigns a stable integer id to each distinct runner across the races in a series, so that
+ * series-wide data can be held in arrays indexed by runner rather than in maps keyed by
+ * {@link Runner}.
+ * <br />
+ * Each race records a separate {@link Runner} object for the same person, and the club of a runner
+ * may be updated during club reconciliation, so ids must only be assigned after that has been done.
+ * Runners with the same name and club are given the same id. Ids are allocated from zero, in the
+ * order in which runners are first registered.
+ */
+class RunnerRegistry {
+
+    private record RunnerIdentity(String name, String club) {}
+
+    // Lookups for individual runner objects use object identity, so are unaffected by any later
+    // change to the runner's club.
+    private final Map<Participant, Integer> ids_by_runner = new IdentityHashMap<>();
+    private final Map<RunnerIdentity, Integer> ids_by_identity = new HashMap<>();
+
+    // The first runner registered with each id.
+    private final List<Runner> canonical_runners = new ArrayList<>();
+
+    //////////////////////////////////////////////////////////////////////////////////////////////////
+
+    /** Registers the given runner, returning its id. */
+    int register(final Runner runner) {
+
+        final Integer existing_id = ids_by_runner.get(runner);
+        if (existing_id != null) return existing_id;
+
+        final int id = ids_by_identity.computeIfAbsent(new RunnerIdentity(runner.getName(), runner.getClub()), _ -> {
+            canonical_runners.add(runner);
+            return canonical_runners.size() - 1;
+        });
+
+        ids_by_runner.put(runner, id);
+        return id;
+    }
+
+    /** Gets the id of the given runner, which must have been registered. */
+    int getId(final Participant runner) {
+
+        final Integer id = ids_by_runner.get(runner);
+        if (id == null) throw new NoSuchElementException(runner.toString());
+
+        return id;
+    }
+
+    /** Gets the first runner registered with the given id. */
+    Runner getRunner(final int id) {
+        return canonical_runners.get(id);
+    }
+
+    /** Gets the number of distinct runners registered. */
+    int size() {
+        return canonical_runners.size();
+    }
+}
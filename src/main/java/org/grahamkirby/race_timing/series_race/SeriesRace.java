@@ -19,6 +19,7 @@ package org.grahamkirby.race_timing.series_race;
 
 import org.grahamkirby.race_timing.categories.CategoriesProcessor;
 import org.grahamkirby.race_timing.common.*;
+import org.grahamkirby.race_timing.individual_race.IndividualRace;
 import org.grahamkirby.race_timing.individual_race.IndividualRaceFactory;
 
 import java.io.IOException;
@@ -96,8 +97,10 @@ public class SeriesRace implements RaceInternal {
     @Override
     public void initialise() throws IOException {
 
-        categories_processor = new CategoriesProcessor(config);
-        normalisation = new NormalisationProcessor(config);
+        final PhaseTimings timings = config.getTimings();
+
+        timings.time("set up categories", () -> categories_processor = new CategoriesProcessor(config));
+        timings.time("set up normalisation", () -> normalisation = new NormalisationProcessor(config));
         results_output = new SeriesRaceOutput(config);
 
         final SeriesRaceScorer scorer = getRaceScorer(config);
@@ -109,6 +112,11 @@ public class SeriesRace implements RaceInternal {
         this.results_output = output;
     }
 
+    @Override
+    public RaceOutput getOutput() {
+        return results_output;
+    }
+
     @Override
     public Config getConfig() {
         return config;
@@ -168,7 +176,7 @@ public class SeriesRace implements RaceInternal {
         if (race_config_paths.size() != number_of_races_in_series)
             throw new RuntimeException(INVALID_NUMBER_OF_RACES_SPECIFIED_IN_FILE + " '" + config.getConfigPath().getFileName() + "'");
 
-        loadRaces(race_config_paths);
+        config.getTimings().time("load races", () -> loadRaces(race_config_paths), () -> (int) races.stream().filter(Objects::nonNull).count());
     }
 
     private void loadRaces(final List<String> race_config_paths) throws IOException {
@@ -205,8 +213,12 @@ public class SeriesRace implements RaceInternal {
         if (!Files.exists(config_path))
             throw new RuntimeException(INVALID_CONFIG_FOR_RACE + " " + race_number + " " + IN_FILE + " '" + config.getConfigPath().getFileName() + "'");
 
-        final SingleRaceInternal individual_race = (SingleRaceInternal) new IndividualRaceFactory().makeRace(config_path);
-        individual_race.processResults();
+        final IndividualRace individual_race = (IndividualRace) new IndividualRaceFactory().makeRace(config_path);
+
+        if ((boolean) config.get(KEY_CACHE_INDIVIDUAL_RACES))
+            individual_race.processResultsUsingSnapshot();
+        else
+            individual_race.processResults();
 
         return individual_race;
     }
@@ -17,8 +17,10 @@
  */
 package org.grahamkirby.race_timing.series_race;
 
-
 import java.util.List;
 
+/**
+ * @param race_numbers the numbers of the races in the category, in results listing order, starting from 1
+ */
 public record SeriesRaceCategory(String category_title, int minimum_number_to_be_completed, List<Integer> race_numbers) {
 }
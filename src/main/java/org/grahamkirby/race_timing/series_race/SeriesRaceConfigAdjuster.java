@@ -20,6 +20,7 @@ package org.grahamkirby.race_timing.series_race;
 import org.grahamkirby.race_timing.common.Config;
 import org.grahamkirby.race_timing.common.ConfigProcessor;
 
+import static org.grahamkirby.race_timing.common.Config.KEY_CACHE_INDIVIDUAL_RACES;
 import static org.grahamkirby.race_timing.common.Config.KEY_MINIMUM_NUMBER_OF_RACES;
 import static org.grahamkirby.race_timing.common.Config.KEY_NUMBER_OF_RACES_IN_SERIES;
 
@@ -36,5 +37,8 @@ public class SeriesRaceConfigAdjuster extends ConfigProcessor {
 
         config.replaceIfPresent(KEY_NUMBER_OF_RACES_IN_SERIES, Integer::parseInt);
         config.replaceIfPresent(KEY_MINIMUM_NUMBER_OF_RACES, Integer::parseInt);
+        config.replaceIfPresent(KEY_CACHE_INDIVIDUAL_RACES, Boolean::parseBoolean);
+
+        config.addIfAbsent(KEY_CACHE_INDIVIDUAL_RACES, false);
     }
 }
@@ -17,23 +17,17 @@
  */
 package org.grahamkirby.race_timing.series_race;
 
-
-import com.itextpdf.kernel.font.PdfFont;
-import com.itextpdf.layout.Document;
-import com.itextpdf.layout.element.Paragraph;
-import com.itextpdf.layout.element.Text;
+import com.fasterxml.jackson.core.JsonGenerator;
 import org.grahamkirby.race_timing.common.*;
 import org.grahamkirby.race_timing.individual_race.IndividualRaceOutput;
 import org.grahamkirby.race_timing.individual_race.Runner;
 
 import java.io.IOException;
 import java.io.OutputStreamWriter;
-import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.List;
 import java.util.Objects;
 import java.util.function.BiFunction;
-import java.util.stream.Collectors;
+import java.util.function.Function;
 
 import static org.grahamkirby.race_timing.common.Config.*;
 import static org.grahamkirby.race_timing.common.NormalisationProcessor.csvEncode;
@@ -72,8 +66,13 @@ class SeriesRaceOutput extends RaceOutput {
     }
 
     @Override
-    protected BiFunction<RaceResults, Document, ResultPrinter> getPrizePDFPrinterGenerator() {
-        return PrizeResultPrinterPDF::new;
+    protected Function<RaceResults, PrizesPDFPrinter> getPrizesPDFPrinterGenerator() {
+        return SeriesRacePrizesPDFPrinter::new;
+    }
+
+    @Override
+    protected BiFunction<RaceResults, JsonGenerator, ResultsJSONWriter> getResultsJSONWriterGenerator() {
+        return SeriesRaceResultsJSONWriter::new;
     }
 
     //////////////////////////////////////////////////////////////////////////////////////////////////
@@ -94,74 +93,32 @@ class SeriesRaceOutput extends RaceOutput {
         return score != null ? String.valueOf(score) : "-";
     }
 
-    private static final class SeriesRaceOverallResultPrinterCSV extends ResultPrinter {
+    private static final class SeriesRaceOverallResultPrinterCSV extends OverallResultPrinterCSV {
 
         private SeriesRaceOverallResultPrinterCSV(final RaceResults race, final OutputStreamWriter writer) {
 
-            super(race, writer);
+            super(race, writer, makeColumns((SeriesRaceResults) race));
         }
 
-        @Override
-        public void printResultsHeader() throws IOException {
-
-            final SeriesRaceResults results = (SeriesRaceResults) race_results;
+        private static ResultTemplate.Builder<SeriesRaceResult> makeColumns(final SeriesRaceResults results) {
 
-            final String race_names = results.getRaceNames().stream().
-                filter(Objects::nonNull).
-                collect(Collectors.joining(","));
+            final ResultTemplate.Builder<SeriesRaceResult> columns = new ResultTemplate.Builder<SeriesRaceResult>().
+                column(POS, SeriesRaceResult::getPositionString).
+                column(RUNNER1, result -> csvEncode(result.getParticipant().getName()));
 
-            final String race_categories_header = results.getRaceCategories().stream().
-                map(SeriesRaceCategory::category_title).
-                collect(Collectors.joining(","));
-
-            writer.append(POS + "," + RUNNER1 + ",");
             if (results.multipleClubs())
-                writer.append(CLUB + ",");
-            writer.append(CATEGORY1 + ",").append(race_names);
-            if (results.getNumberOfRacesTakenPlace() > 1)
-                writer.append("," + TOTAL);
-            if (results.possibleToHaveCompleted())
-                writer.append("," + COMPLETED);
-            if (results.multipleRaceCategories())
-                writer.append(",").append(race_categories_header);
-            writer.append(LINE_SEPARATOR);
-        }
-
-        @Override
-        public void printResult(final RaceResult r) throws IOException {
+                columns.column(CLUB, result -> csvEncode(((Runner) result.getParticipant()).getClub()));
 
-            final SeriesRaceResults results = (SeriesRaceResults) race_results;
+            columns.column(CATEGORY1, result -> result.getParticipant().getCategory().getShortName());
 
-            final SeriesRaceResult result = (SeriesRaceResult) r;
-            final Runner runner = (Runner) result.getParticipant();
+            addScoreColumns(columns, results, Function.identity());
 
-            writer.append(result.getPositionString()).append(",").
-                append(csvEncode(runner.getName())).append(",");
-            if (results.multipleClubs())
-                writer.append(csvEncode((runner).getClub())).append(",");
-            writer.append(runner.getCategory().getShortName()).append(",");
-
-            writer.append(result.getPerformances().stream().
-                map(SeriesRaceOutput::renderScore).
-                collect(Collectors.joining(",")));
-
-            if (results.getNumberOfRacesTakenPlace() > 1)
-                writer.append("," ).append(renderScore(result.getPerformance()));
             if (results.possibleToHaveCompleted())
-                writer.append(",").append(result.hasCompletedSeries() ? Y : N);
-
-            if (results.multipleRaceCategories())
-                writer.append(",").append(
-                    results.getRaceCategories().stream().
-                        map(category -> result.hasCompletedRaceCategory(category) ? Y : N).
-                        collect(Collectors.joining(","))
-                );
+                columns.column(COMPLETED, result -> result.hasCompletedSeries() ? Y : N);
 
-            writer.append(LINE_SEPARATOR);
-        }
+            addRaceCategoryColumns(columns, results);
 
-        protected void printNoResults() {
-            throw new UnsupportedOperationException();
+            return columns;
         }
     }
 
@@ -169,98 +126,59 @@ class SeriesRaceOutput extends RaceOutput {
 
         private SeriesRaceOverallResultPrinterHTML(final RaceResults race, final OutputStreamWriter writer) {
 
-            super(race, writer);
+            super(race, writer, makeColumns((SeriesRaceResults) race));
         }
 
-        protected List<String> getResultsColumnHeaders() {
-
-            final SeriesRaceResults results = (SeriesRaceResults) race_results;
+        private static ResultTemplate.Builder<SeriesRaceResult> makeColumns(final SeriesRaceResults results) {
 
-            final List<String> common_headers = Arrays.asList(POS, RUNNER1, CATEGORY1);
-            final List<String> headers = new ArrayList<>(common_headers);
-
-            if (results.multipleClubs())
-                headers.add(CLUB);
-
-            // This traverses race names in order of listing in config.
             final NormalisationProcessor processor = results.getNormalisationProcessor();
 
-            results.getRaceNames().stream().
-                filter(Objects::nonNull).
-                map(processor::htmlEncode).
-                forEach(headers::add);
-
-            if (results.getNumberOfRacesTakenPlace() > 1)
-                headers.add(TOTAL);
-
-            if (results.possibleToHaveCompleted() && !results.allRacesCompleted())
-                headers.add(COMPLETED);
-
-            if (results.multipleRaceCategories())
-                for (final SeriesRaceCategory category : results.getRaceCategories())
-                    headers.add(category.category_title());
-
-            return headers;
-        }
-
-        protected List<String> getResultsElements(final RaceResult r) {
-
-            final List<String> elements = new ArrayList<>();
-            final NormalisationProcessor processor = race_results.getNormalisationProcessor();
-
-            final SeriesRaceResults results = (SeriesRaceResults) race_results;
-            final SeriesRaceResult result = (SeriesRaceResult) r;
-            final Runner runner = (Runner) result.getParticipant();
-
-            elements.add(result.getPositionString());
-            elements.add(processor.htmlEncode(result.getParticipantName()));
-            elements.add(processor.htmlEncode(result.getParticipant().getCategory().getShortName()));
+            final ResultTemplate.Builder<SeriesRaceResult> columns = new ResultTemplate.Builder<SeriesRaceResult>().
+                column(POS, SeriesRaceResult::getPositionString).
+                column(RUNNER1, result -> processor.htmlEncode(result.getParticipantName())).
+                column(CATEGORY1, result -> processor.htmlEncode(result.getParticipant().getCategory().getShortName()));
 
             if (results.multipleClubs())
-                elements.add(processor.htmlEncode(runner.getClub()));
-
-            result.getPerformances().forEach(
-                performance -> elements.add(renderScore(performance)));
+                columns.column(CLUB, result -> processor.htmlEncode(((Runner) result.getParticipant()).getClub()));
 
-            if (results.getNumberOfRacesTakenPlace() > 1)
-                elements.add(renderScore(result.getPerformance()));
+            addScoreColumns(columns, results, processor::htmlEncode);
 
             if (results.possibleToHaveCompleted() && !results.allRacesCompleted())
-                elements.add(result.hasCompletedSeries() ? Y : N);
+                columns.column(COMPLETED, result -> result.hasCompletedSeries() ? Y : N);
 
-            if (results.multipleRaceCategories())
-                for (final SeriesRaceCategory category : results.getRaceCategories())
-                    elements.add(result.hasCompletedRaceCategory(category) ? Y : N);
+            addRaceCategoryColumns(columns, results);
 
-            return elements;
+            return columns;
         }
     }
 
-    private static final class PrizeResultPrinterPDF extends ResultPrinter {
+    /** Adds a column for the score in each race, and for the total if more than one race has taken place. */
+    private static void addScoreColumns(final ResultTemplate.Builder<SeriesRaceResult> columns, final SeriesRaceResults results, final Function<String, String> encode_race_name) {
 
-        private final Document document;
+        final List<String> race_names = results.getRaceNames().stream().
+            filter(Objects::nonNull).
+            map(encode_race_name).
+            toList();
 
-        public PrizeResultPrinterPDF(final RaceResults race, final Document document) {
+        columns.columns(race_names, result -> result.getPerformances().stream().
+            map(SeriesRaceOutput::renderScore).
+            toList());
 
-            super(race, null);
-            this.document = document;
-        }
-
-        @Override
-        public void printResult(final RaceResult result) throws IOException {
+        if (results.getNumberOfRacesTakenPlace() > 1)
+            columns.column(TOTAL, result -> renderScore(result.getPerformance()));
+    }
 
-            final PdfFont font = getFont(PDF_PRIZE_FONT_NAME);
-            final Paragraph paragraph = new Paragraph().setFont(font).setMarginBottom(0);
+    private static void addRaceCategoryColumns(final ResultTemplate.Builder<SeriesRaceResult> columns, final SeriesRaceResults results) {
 
-            paragraph.add(new Text(result.getPositionString() + ": " + result).setFont(font));
+        if (results.multipleRaceCategories()) {
 
-            document.add(paragraph);
-        }
+            final List<SeriesRaceCategory> race_categories = results.getRaceCategories();
 
-        @Override
-        public void printNoResults() throws IOException {
+            for (int category_index = 0; category_index < race_categories.size(); category_index++) {
 
-            document.add(new Paragraph(NO_RESULTS).setFont(getFont(PDF_PRIZE_FONT_ITALIC_NAME)));
+                final int index = category_index;
+                columns.column(race_categories.get(index).category_title(), result -> result.hasCompletedRaceCategory(index) ? Y : N);
+            }
         }
     }
 }
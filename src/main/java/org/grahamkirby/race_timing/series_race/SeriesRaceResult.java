@@ -20,6 +20,8 @@ package org.grahamkirby.race_timing.series_race;
 import org.grahamkirby.race_timing.common.*;
 import org.grahamkirby.race_timing.individual_race.Runner;
 
+import java.util.Arrays;
+import java.util.BitSet;
 import java.util.Comparator;
 import java.util.List;
 import java.util.Objects;
@@ -38,6 +40,9 @@ public class SeriesRaceResult extends CommonRaceResult {
     // Contains null entries where runner did not compete.
     private final List<Performance> performances;
 
+    // Numbers of the races completed by the runner, in results listing order, starting from 1.
+    private final BitSet completed_race_numbers;
+
     //////////////////////////////////////////////////////////////////////////////////////////////////
 
     public SeriesRaceResult(final RaceInternal race, final Participant participant, final List<Performance> performances) {
@@ -50,6 +55,8 @@ public class SeriesRaceResult extends CommonRaceResult {
         minimum_number_of_races = (int) race.getConfig().get(KEY_MINIMUM_NUMBER_OF_RACES);
         number_of_races_in_series = (int) race.getConfig().get(KEY_NUMBER_OF_RACES_IN_SERIES);
         number_of_races_taken_place = ((SeriesRace) race).getNumberOfRacesTakenPlace();
+
+        completed_race_numbers = getCompletedRaceNumbers();
     }
 
     //////////////////////////////////////////////////////////////////////////////////////////////////
@@ -71,10 +78,7 @@ public class SeriesRaceResult extends CommonRaceResult {
 
         final int number_of_races_remaining = number_of_races_in_series - number_of_races_taken_place;
 
-        final boolean can_complete_all_race_categories =
-            ((SeriesRaceResultsProcessor) race.getResultsProcessor()).getRaceCategories().stream().allMatch(this::canCompleteRaceCategory);
-
-        return can_complete_all_race_categories && numberOfRacesCompleted() + number_of_races_remaining >= minimum_number_of_races;
+        return canCompleteAllRaceCategories() && numberOfRacesCompleted() + number_of_races_remaining >= minimum_number_of_races;
     }
 
     @Override
@@ -119,92 +123,93 @@ public class SeriesRaceResult extends CommonRaceResult {
 
     boolean hasCompletedSeries() {
 
-        return numberOfRacesCompleted() >= minimum_number_of_races &&
-            ((SeriesRaceResultsProcessor) race.getResultsProcessor()).getRaceCategories().stream().allMatch(this::hasCompletedRaceCategory);
+        return numberOfRacesCompleted() >= minimum_number_of_races && hasCompletedAllRaceCategories();
     }
 
     List<Performance> getPerformances() {
         return performances;
     }
 
-    boolean hasCompletedRaceCategory(final SeriesRaceCategory category) {
+    /** Checks whether the runner has completed a race in the category at the given position in the race categories list. */
+    boolean hasCompletedRaceCategory(final int category_index) {
 
-        return category.race_numbers().stream().
-            anyMatch(this::hasCompletedRace);
+        return getRaceNumberSets()[category_index].intersects(completed_race_numbers);
     }
 
     //////////////////////////////////////////////////////////////////////////////////////////////////
 
     private int numberOfRacesCompleted() {
 
-        return (int) ((SeriesRace) race).getRaces().stream().
+        return (int) Arrays.stream(((SeriesRaceResultsProcessor) race.getResultsProcessor()).getIndividualRaceResults((Runner) participant)).
             filter(Objects::nonNull).
-            flatMap(race -> race.getResultsProcessor().getOverallResults().stream()).
-            map(result -> (SingleRaceResult) result).
-            filter(result -> result.getParticipant().equals(participant)).
             filter(SingleRaceResult::canOrHasCompleted).
             count();
     }
 
     //////////////////////////////////////////////////////////////////////////////////////////////////
 
-    private boolean canCompleteRaceCategory(final SeriesRaceCategory category) {
+    private boolean hasCompletedAllRaceCategories() {
 
-        final List<SingleRaceInternal> races = ((SeriesRace) race).getRaces();
+        for (int category_index = 0; category_index < getRaceNumberSets().length; category_index++)
+            if (!hasCompletedRaceCategory(category_index)) return false;
 
-        final int number_of_races_required_in_category = category.minimum_number_to_be_completed();
-        final int number_of_races_completed_in_category = numberOfRacesCompletedInCategory(category);
-        final int number_of_races_remaining_in_category = numberOfRacesRemainingInCategory(races, category);
+        return true;
+    }
 
-        return number_of_races_completed_in_category + number_of_races_remaining_in_category >= number_of_races_required_in_category;
+    private boolean canCompleteAllRaceCategories() {
+
+        final List<SeriesRaceCategory> race_categories = ((SeriesRaceResultsProcessor) race.getResultsProcessor()).getRaceCategories();
+
+        for (int category_index = 0; category_index < race_categories.size(); category_index++)
+            if (!canCompleteRaceCategory(race_categories.get(category_index), getRaceNumberSets()[category_index])) return false;
+
+        return true;
     }
 
-    private int numberOfRacesCompletedInCategory(final SeriesRaceCategory category) {
+    private boolean canCompleteRaceCategory(final SeriesRaceCategory category, final BitSet race_number_set) {
 
-        return (int) category.race_numbers().stream().
-            filter(this::hasCompletedRace).
-            count();
+        final BitSet remaining_race_numbers = ((SeriesRaceResultsProcessor) race.getResultsProcessor()).getRemainingRaceNumbers();
+
+        final int number_of_races_required_in_category = category.minimum_number_to_be_completed();
+        final int number_of_races_completed_in_category = countOverlap(race_number_set, completed_race_numbers);
+        final int number_of_races_remaining_in_category = countOverlap(race_number_set, remaining_race_numbers);
+
+        return number_of_races_completed_in_category + number_of_races_remaining_in_category >= number_of_races_required_in_category;
     }
 
-    /**
-     * @param race_number the race number in results listing order, starting from 1
-     * @return true if the runner has completed that race
-     */
-    private boolean hasCompletedRace(final int race_number) {
+    private BitSet getCompletedRaceNumbers() {
 
-        // Example: race_number = 5
+        // Example: performance_index_by_race_number = 0,1,2,-1,3,-1,-1,-1,4,5,-1,-1
+        // Race 5 has been completed if performances[3] is non-null.
+        final int[] performance_index_by_race_number = ((SeriesRaceResultsProcessor) race.getResultsProcessor()).getPerformanceIndexByRaceNumber();
+        final BitSet completed = new BitSet();
 
-        final List<Integer> completed_race_numbers_in_temporal_order = getCompletedRaceNumbersInTemporalOrder();
-        // Example: completed_race_numbers_in_temporal_order = 1,5,2,9,3,10
+        for (int race_number = 1; race_number <= performance_index_by_race_number.length; race_number++) {
 
-        // Performances are held in listing order.
-        final List<Integer> completed_race_numbers_in_performance_list_order = completed_race_numbers_in_temporal_order.stream().sorted().toList();
-        // Example: sorted = 1,2,3,5,9,10
+            // Index will be -1 for a race that hasn't yet occurred.
+            final int index_of_race_in_performances = performance_index_by_race_number[race_number - 1];
 
-        final int index_of_race_in_performances = completed_race_numbers_in_performance_list_order.indexOf(race_number);
-        // Example: for race_number = 5, index_of_race_in_performances = 3
+            if (index_of_race_in_performances >= 0 && performances.get(index_of_race_in_performances) != null)
+                completed.set(race_number);
+        }
 
-        // Position will be -1 for a race that hasn't yet occurred.
-        return index_of_race_in_performances >= 0 && performances.get(index_of_race_in_performances) != null;
+        return completed;
     }
 
-    private List<Integer> getCompletedRaceNumbersInTemporalOrder() {
+    /** Counts the race numbers in both sets, without copying either. */
+    private static int countOverlap(final BitSet race_number_set, final BitSet race_numbers) {
 
-        final int number_of_races_taken_place = ((SeriesRace) race).getNumberOfRacesTakenPlace();
-        // Example: number_of_races_taken_place = 6
+        int count = 0;
 
-        final List<Integer> race_numbers_in_temporal_order = ((SeriesRaceResultsProcessor) race.getResultsProcessor()).getRaceTemporalPermutation().getOrdering();
-        // Example: race_numbers_in_temporal_order = 1,5,2,9,3,10,4,11,12,6,7,8
+        for (int race_number = race_number_set.nextSetBit(0); race_number >= 0; race_number = race_number_set.nextSetBit(race_number + 1))
+            if (race_numbers.get(race_number)) count++;
 
-        return race_numbers_in_temporal_order.subList(0, number_of_races_taken_place);
+        return count;
     }
 
-    private int numberOfRacesRemainingInCategory(final List<SingleRaceInternal> races, final SeriesRaceCategory category) {
+    private BitSet[] getRaceNumberSets() {
 
-        return (int) category.race_numbers().stream().
-            map(race_number -> races.get(race_number - 1)).
-            filter(Objects::isNull).
-            count();
+        return ((SeriesRaceResultsProcessor) race.getResultsProcessor()).getRaceNumberSets();
     }
 
     //////////////////////////////////////////////////////////////////////////////////////////////////
@@ -0,0 +1,87 @@
+/*
+ * race-timing - <https://github.com/grahamkirby/race-timing>
+ * Copyright © 2026 Graham Kirby (race-timing@kirby-family.net)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.grahamkirby.race_timing.series_race;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import org.grahamkirby.race_timing.common.Performance;
+import org.grahamkirby.race_timing.common.RaceResult;
+import org.grahamkirby.race_timing.common.RaceResults;
+import org.grahamkirby.race_timing.common.ResultsJSONWriter;
+import org.grahamkirby.race_timing.individual_race.Runner;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Objects;
+
+class SeriesRaceResultsJSONWriter extends ResultsJSONWriter {
+
+    SeriesRaceResultsJSONWriter(final RaceResults race_results, final JsonGenerator generator) {
+        super(race_results, generator);
+    }
+
+    //////////////////////////////////////////////////////////////////////////////////////////////////
+
+    @Override
+    protected void writeResultFields(final RaceResult result) throws IOException {
+
+        final SeriesRaceResult series_result = (SeriesRaceResult) result;
+
+        generator.writeStringField("position", result.getPositionString());
+        generator.writeStringField("runner", result.getParticipantName());
+        generator.writeStringField("club", ((Runner) result.getParticipant()).getClub());
+        generator.writeStringField("category", result.getParticipant().getCategory().getShortName());
+
+        // One score per race that has taken place, in the same order as the race names.
+        generator.writeArrayFieldStart("scores");
+        for (final Performance score : series_result.getPerformances())
+            writeScore(score);
+        generator.writeEndArray();
+
+        generator.writeFieldName("total");
+        writeScore(result.getPerformance());
+
+        generator.writeBooleanField("completed", series_result.hasCompletedSeries());
+    }
+
+    @Override
+    protected void writeRaceFields() throws IOException {
+
+        final SeriesRaceResults series_results = (SeriesRaceResults) race_results;
+
+        final List<String> race_names = series_results.getRaceNames().stream().
+            filter(Objects::nonNull).
+            toList();
+
+        generator.writeArrayFieldStart("races");
+        for (final String race_name : race_names)
+            generator.writeString(race_name);
+        generator.writeEndArray();
+
+        generator.writeNumberField("races_taken_place", series_results.getNumberOfRacesTakenPlace());
+    }
+
+    //////////////////////////////////////////////////////////////////////////////////////////////////
+
+    private void writeScore(final Performance score) throws IOException {
+
+        if (score != null)
+            generator.writeString(String.valueOf(score));
+        else
+            generator.writeNull();
+    }
+}
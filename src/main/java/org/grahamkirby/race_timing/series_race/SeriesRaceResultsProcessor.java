@@ -35,37 +35,93 @@ import static org.grahamkirby.race_timing.common.NormalisationProcessor.getLastN
 
 public class SeriesRaceResultsProcessor extends RaceResultsProcessor implements SeriesRaceResults {
 
+    /** Records all the runners with a given name across the races in the series, and their distinct clubs. */
+    private static class RunnersWithName {
+
+        final SortedSet<String> clubs = new TreeSet<>();
+        final List<Runner> runners = new ArrayList<>();
+
+        void add(final Runner runner) {
+
+            clubs.add(runner.getClub());
+            runners.add(runner);
+        }
+
+        List<String> getKnownClubs() {
+
+            return clubs.stream().
+                filter(club -> !club.equals(UNKNOWN_CLUB_INDICATOR)).
+                toList();
+        }
+    }
+
+    //////////////////////////////////////////////////////////////////////////////////////////////////
+
     private final SeriesRaceScorer scorer;
-    private final Map<Runner, SeriesRaceResult> overall_results_by_runner;
     private List<SingleRaceInternal> races;
 
+    // Series-wide facts, recorded once results have been calculated since they are consulted for
+    // every row of output.
+    private int number_of_races_taken_place;
+    private List<String> race_names;
+    private boolean multiple_clubs;
+
+    private RunnerRegistry runner_registry;
+
+    // The position of each individual race in results listing order, so that a race's results can be
+    // found without searching the list of races.
+    private Map<SingleRaceInternal, Integer> race_indices;
+
+    // Indexed by runner id and then by race in results listing order. Contains null entries where
+    // the runner did not compete, or the race has not yet taken place.
+    private SingleRaceResult[][] individual_results_by_runner;
+
+    // Indexed by runner id. Contains null entries for runners not eligible for the series.
+    private SeriesRaceResult[] overall_results_by_runner;
+
     private List<SeriesRaceCategory> race_categories;
+
+    // Indexed by position in the race categories list. The race numbers in each category, as sets of
+    // bits for testing against a runner's completed races.
+    private BitSet[] race_number_sets_by_category;
     private Permutation<SingleRaceInternal> race_temporal_permutation;
     private List<String> eligible_clubs;
 
+    // Indexed by race number minus one. Records the index of each race within each runner's list of
+    // performances, or -1 if the race has not yet taken place.
+    private int[] performance_index_by_race_number;
+
+    // Numbers of the races that have not yet taken place, in results listing order, starting from 1.
+    private BitSet remaining_race_numbers;
+
     //////////////////////////////////////////////////////////////////////////////////////////////////
 
     public SeriesRaceResultsProcessor(final SeriesRaceScorer scorer, final RaceInternal race) {
 
         super(race);
         this.scorer = scorer;
-        overall_results_by_runner = new HashMap<>();
     }
 
     @Override
     public void calculateResults() throws IOException {
 
         races = ((SeriesRace) race).getRaces();
+        number_of_races_taken_place = ((SeriesRace) race).getNumberOfRacesTakenPlace();
+
+        time("load race indices", this::loadRaceIndices);
+        time("load race categories", this::loadRaceCategories);
+        time("load race temporal order", this::loadRaceTemporalPermutation);
+        time("load performance indices", this::loadPerformanceIndices);
+        time("load eligible clubs", this::loadEligibleClubs);
+        time("process clubs for runner names", this::processClubsForRunnerNames);
+        time("register runners", this::registerRunners);
+        time("check runner categories", this::ensureRunnerCategoryConsistencyOverSeries);
 
-        loadRaceCategories();
-        loadRaceTemporalPermutation();
-        loadEligibleClubs();
-        processClubsForRunnerNames();
-        ensureRunnerCategoryConsistencyOverSeries();
+        time("calculate results", this::calculateOverallResults);
+        time("sort results", this::sortOverallResults);
+        time("allocate prizes", OutputPlan.View.PRIZES, this::allocatePrizes);
 
-        calculateOverallResults();
-        sortOverallResults();
-        allocatePrizes();
+        time("record series facts", this::recordSeriesFacts);
     }
 
     @Override
@@ -75,7 +131,7 @@ public class SeriesRaceResultsProcessor extends RaceResultsProcessor implements
 
     @Override
     public boolean multipleClubs() {
-        return getClubs().size() > 1;
+        return multiple_clubs;
     }
 
     @Override
@@ -85,12 +141,12 @@ public class SeriesRaceResultsProcessor extends RaceResultsProcessor implements
 
     @Override
     public boolean possibleToHaveCompleted() {
-        return ((SeriesRace) race).getNumberOfRacesTakenPlace() >= (int) race.getConfig().get(KEY_MINIMUM_NUMBER_OF_RACES);
+        return number_of_races_taken_place >= (int) race.getConfig().get(KEY_MINIMUM_NUMBER_OF_RACES);
     }
 
     @Override
     public boolean allRacesCompleted() {
-        return ((SeriesRace) race).getNumberOfRacesTakenPlace() == (int) race.getConfig().get(KEY_NUMBER_OF_RACES_IN_SERIES);
+        return number_of_races_taken_place == (int) race.getConfig().get(KEY_NUMBER_OF_RACES_IN_SERIES);
     }
 
     @Override
@@ -100,21 +156,28 @@ public class SeriesRaceResultsProcessor extends RaceResultsProcessor implements
 
     @Override
     public List<String> getRaceNames() {
-
-        return races.stream().
-            map(individual_race -> individual_race != null ? individual_race.getConfig().getRaceName() : null).
-            toList();
+        return race_names;
     }
 
     @Override
     public int getNumberOfRacesTakenPlace() {
-        return ((SeriesRace) race).getNumberOfRacesTakenPlace();
+        return number_of_races_taken_place;
     }
 
     //////////////////////////////////////////////////////////////////////////////////////////////////
 
-    protected Permutation<SingleRaceInternal> getRaceTemporalPermutation() {
-        return race_temporal_permutation;
+    int[] getPerformanceIndexByRaceNumber() {
+        return performance_index_by_race_number;
+    }
+
+    BitSet getRemainingRaceNumbers() {
+        return remaining_race_numbers;
+    }
+
+    /** Gets the numbers of the races in each category, indexed by position in the race categories list.
+     *  The sets are shared, so must not be modified. */
+    BitSet[] getRaceNumberSets() {
+        return race_number_sets_by_category;
     }
 
     protected SeriesRaceScorer getScorer() {
@@ -123,7 +186,19 @@ public class SeriesRaceResultsProcessor extends RaceResultsProcessor implements
 
     protected SeriesRaceResult getOverallResult(final Runner runner) {
 
-        return overall_results_by_runner.get(runner);
+        return overall_results_by_runner[runner_registry.getId(runner)];
+    }
+
+    /** Gets the runner's result in the given individual race, or null if the runner did not compete. */
+    protected SingleRaceResult getIndividualRaceResult(final Runner runner, final SingleRaceInternal individual_race) {
+
+        return getIndividualRaceResults(runner)[race_indices.get(individual_race)];
+    }
+
+    /** Gets the runner's results in all individual races, in results listing order. */
+    SingleRaceResult[] getIndividualRaceResults(final Runner runner) {
+
+        return individual_results_by_runner[runner_registry.getId(runner)];
     }
 
     //////////////////////////////////////////////////////////////////////////////////////////////////
@@ -146,6 +221,15 @@ public class SeriesRaceResultsProcessor extends RaceResultsProcessor implements
 
     //////////////////////////////////////////////////////////////////////////////////////////////////
 
+    private void loadRaceIndices() {
+
+        // Keyed on identity, since each race object appears at most once in the list.
+        race_indices = new IdentityHashMap<>();
+
+        for (int race_index = 0; race_index < races.size(); race_index++)
+            if (races.get(race_index) != null) race_indices.put(races.get(race_index), race_index);
+    }
+
     private void loadRaceCategories() throws IOException {
 
         final Path race_categories_path = race.getConfig().getPath(KEY_RACE_CATEGORIES_PATH);
@@ -157,6 +241,16 @@ public class SeriesRaceResultsProcessor extends RaceResultsProcessor implements
                 toList() :
 
             List.of();
+
+        race_number_sets_by_category = new BitSet[race_categories.size()];
+
+        for (int category_index = 0; category_index < race_categories.size(); category_index++) {
+
+            final BitSet race_number_set = new BitSet();
+            race_categories.get(category_index).race_numbers().forEach(race_number_set::set);
+
+            race_number_sets_by_category[category_index] = race_number_set;
+        }
     }
 
     private void loadRaceTemporalPermutation() {
@@ -172,6 +266,27 @@ public class SeriesRaceResultsProcessor extends RaceResultsProcessor implements
             new Permutation<>(races.size());
     }
 
+    private void loadPerformanceIndices() {
+
+        // Example: race_numbers_in_temporal_order = 1,5,2,9,3,10,4,11,12,6,7,8
+        final List<Integer> race_numbers_in_temporal_order = race_temporal_permutation.getOrdering();
+
+        // Performances are held in listing order, for the races that have taken place.
+        // Example: for number_of_races_taken_place = 6, completed race numbers in listing order = 1,2,3,5,9,10
+        final List<Integer> completed_race_numbers_in_performance_list_order = race_numbers_in_temporal_order.subList(0, number_of_races_taken_place).stream().sorted().toList();
+
+        performance_index_by_race_number = new int[races.size()];
+        Arrays.fill(performance_index_by_race_number, -1);
+
+        // Example: performance_index_by_race_number = 0,1,2,-1,3,-1,-1,-1,4,5,-1,-1
+        for (int performance_index = 0; performance_index < completed_race_numbers_in_performance_list_order.size(); performance_index++)
+            performance_index_by_race_number[completed_race_numbers_in_performance_list_order.get(performance_index) - 1] = performance_index;
+
+        remaining_race_numbers = new BitSet();
+        for (int race_number = 1; race_number <= races.size(); race_number++)
+            if (races.get(race_number - 1) == null) remaining_race_numbers.set(race_number);
+    }
+
     private void loadEligibleClubs() {
 
         final String eligible_clubs_string = race.getConfig().getString(KEY_ELIGIBLE_CLUBS);
@@ -192,7 +307,7 @@ public class SeriesRaceResultsProcessor extends RaceResultsProcessor implements
 
         // Cache the result so it can be retrieved without scanning the overall results list.
         // The result needs to be accessed frequently during sorting of results.
-        overall_results_by_runner.put(runner, result);
+        overall_results_by_runner[runner_registry.getId(runner)] = result;
         return result;
     }
 
@@ -201,18 +316,64 @@ public class SeriesRaceResultsProcessor extends RaceResultsProcessor implements
         return eligible_clubs.isEmpty() || eligible_clubs.contains(((Runner) result.getParticipant()).getClub());
     }
 
+    private void registerRunners() {
+
+        // Club reconciliation must already have been done, since it may change runner identities.
+        runner_registry = new RunnerRegistry();
+
+        getAllIndividualRaceResults(races).
+            forEachOrdered(result -> runner_registry.register((Runner) result.getParticipant()));
+
+        individual_results_by_runner = new SingleRaceResult[runner_registry.size()][races.size()];
+
+        for (int race_index = 0; race_index < races.size(); race_index++) {
+
+            final SingleRaceInternal individual_race = races.get(race_index);
+
+            if (individual_race != null)
+                for (final RaceResult result : individual_race.getResultsProcessor().getOverallResults()) {
+
+                    final SingleRaceResult individual_result = (SingleRaceResult) result;
+                    individual_results_by_runner[runner_registry.getId(individual_result.getParticipant())][race_index] = individual_result;
+                }
+        }
+    }
+
     private void calculateOverallResults() {
 
+        overall_results_by_runner = new SeriesRaceResult[runner_registry.size()];
+        final BitSet runners_seen = new BitSet(runner_registry.size());
+
         // List needs to be mutable to allow sorting.
         overall_results = getEligibleIndividualRaceResults(race_temporal_permutation.permute(races)).
                 map(result -> (Runner) result.getParticipant()).
-                distinct().
+                filter(runner -> markSeen(runners_seen, runner)).
                 map(this::makeOverallResult).
                 collect(Collectors.toList());
 
         recordRunnersInNotes();
     }
 
+    /** Records the given runner as seen, returning true if it had not been seen previously. */
+    private boolean markSeen(final BitSet runners_seen, final Runner runner) {
+
+        final int id = runner_registry.getId(runner);
+        if (runners_seen.get(id)) return false;
+
+        runners_seen.set(id);
+        return true;
+    }
+
+    private void recordSeriesFacts() {
+
+        // Race names list contains null entries for races that have not yet taken place.
+        race_names = races.stream().
+            map(individual_race -> individual_race != null ? individual_race.getConfig().getRaceName() : null).
+            toList();
+
+        multiple_clubs = getClubs().size() > 1;
+    }
+
     private void recordRunnersInNotes() {
 
         final NotesProcessor notes = race.getNotesProcessor();
@@ -276,22 +437,29 @@ public class SeriesRaceResultsProcessor extends RaceResultsProcessor implements
             filter(this::eligibleForSeries);
     }
 
-    private Stream<Participant> getParticipantsWithName(final String runner_name) {
+    private void processClubsForRunnerNames() {
 
-        return getAllIndividualRaceResults(races).
-            map(result -> (SingleRaceResult) result).
-            map(CommonRaceResult::getParticipant).
-            filter(participant -> participant.getName().equals(runner_name));
+        race.getNotesProcessor().appendToNotes("Club Substitutions" + LINE_SEPARATOR +"------------------" + LINE_SEPARATOR + LINE_SEPARATOR);
+
+        // Gather the clubs and runners for every name in a single pass over all results, rather than
+        // scanning all results separately for each distinct name.
+        final Map<String, RunnersWithName> runners_by_name = getRunnersByName();
+
+        getRunnerNames().forEach(runner_name -> processClubsForRunnerName(runner_name, runners_by_name.get(runner_name)));
     }
 
-    private void processClubsForRunnerNames() {
+    private Map<String, RunnersWithName> getRunnersByName() {
 
-        race.getNotesProcessor().appendToNotes("Club Substitutions" + LINE_SEPARATOR +"------------------" + LINE_SEPARATOR + LINE_SEPARATOR);
+        final Map<String, RunnersWithName> runners_by_name = new HashMap<>();
 
-        getRunnerNames().forEach(this::processClubsForRunnerName);
+        getAllIndividualRaceResults(races).
+            map(result -> (Runner) result.getParticipant()).
+            forEachOrdered(runner -> runners_by_name.computeIfAbsent(runner.getName(), _ -> new RunnersWithName()).add(runner));
+
+        return runners_by_name;
     }
 
-    private void processClubsForRunnerName(final String runner_name) {
+    private void processClubsForRunnerName(final String runner_name, final RunnersWithName runners_with_name) {
 
         // Where a runner name is associated with a single known club plus some other entries with unknown
         // club, add the club to those entries.
@@ -305,18 +473,17 @@ public class SeriesRaceResultsProcessor extends RaceResultsProcessor implements
         // unattached runner, where a blank entry for club in the entries is transformed to 'Unatt.' via the process for
         // normalising club name variants.
 
-        final List<String> clubs_for_runner_name = getClubsForRunnerName(runner_name);
-        final List<String> known_clubs_for_runner_name = getKnownClubsForRunnerName(runner_name);
+        final List<String> known_clubs_for_runner_name = runners_with_name.getKnownClubs();
 
         final int number_of_known_clubs = known_clubs_for_runner_name.size();
-        final int number_of_unknown_clubs = clubs_for_runner_name.size() - number_of_known_clubs;
+        final int number_of_unknown_clubs = runners_with_name.clubs.size() - number_of_known_clubs;
 
         final boolean one_known_club = number_of_known_clubs == 1;
         final boolean multiple_known_clubs = number_of_known_clubs > 1;
         final boolean some_unknown_clubs = number_of_unknown_clubs > 0;
 
         if (one_known_club && some_unknown_clubs)
-            updateUnknownClubResultsForRunnerName(runner_name, known_clubs_for_runner_name.getFirst());
+            updateUnknownClubResultsForRunnerName(runner_name, runners_with_name.runners, known_clubs_for_runner_name.getFirst());
 
         if (multiple_known_clubs)
             noteRunnerNameRepresentsMultipleRunners(runner_name, known_clubs_for_runner_name);
@@ -330,27 +497,9 @@ public class SeriesRaceResultsProcessor extends RaceResultsProcessor implements
             toList();
     }
 
-    private List<String> getClubsForRunnerName(final String runner_name) {
-
-        return getParticipantsWithName(runner_name).
-            map(participant -> ((Runner) participant).getClub()).
-            distinct().
-            sorted().
-            toList();
-    }
-
-    private List<String> getKnownClubsForRunnerName(final String runner_name) {
-
-        return getClubsForRunnerName(runner_name).stream().
-            filter(club -> !club.equals(UNKNOWN_CLUB_INDICATOR)).
-            toList();
-    }
-
-    private void updateUnknownClubResultsForRunnerName(final String runner_name, final String defined_club) {
+    private void updateUnknownClubResultsForRunnerName(final String runner_name, final List<Runner> runners_with_name, final String defined_club) {
 
-        getParticipantsWithName(runner_name).
-            map(participant -> (Runner) participant).
-            forEachOrdered(runner -> runner.setClub(defined_club));
+        runners_with_name.forEach(runner -> runner.setClub(defined_club));
 
         race.getNotesProcessor().appendToNotes(CLUB + " " + defined_club + " " + SUBSTITUTED_FOR_UNKNOWN_CLUBS_FOR_RUNNER_NAME + " " + runner_name + LINE_SEPARATOR);
     }
@@ -71,14 +71,9 @@ public abstract class SeriesRaceScorer {
 
         if (individual_race == null) return null;
 
-        for (final RaceResult result : individual_race.getResultsProcessor().getOverallResults()) {
+        final SingleRaceResult individual_result = ((SeriesRaceResultsProcessor) race.getResultsProcessor()).getIndividualRaceResult(runner, individual_race);
 
-            final SingleRaceResult individual_result = (SingleRaceResult) result;
-            if (individual_result.getParticipant().equals(runner))
-                return individual_result.getPerformance();
-        }
-
-        return null;
+        return individual_result != null ? individual_result.getPerformance() : null;
     }
 
     protected Performance getSeriesPerformance(final Runner runner, final Comparator<Integer> comparator) {
@@ -180,7 +180,7 @@ public class RaceTest {
             deleteDirectory(test_run_output_retained_directory);
 
         if (output_directory_should_be_retained)
-            copyDirectory(test_run_output_directory, test_run_output_retained_directory);
+            TestRaces.copyDirectory(test_run_output_directory, test_run_output_retained_directory);
 
         deleteDirectory(test_run_input_directory);
         deleteDirectory(test_run_output_directory);
@@ -289,7 +289,7 @@ public class RaceTest {
         if (!Files.exists(resources_input_directory_relative_to_project))
             throw new RuntimeException(DIR_NAME_MISSING_CONFIG + ": '" + resources_input_directory_relative_to_project.resolve(FILE_NAME_PER_TEST_CONFIG) + "'");
 
-        copyDirectory(resources_input_directory_relative_to_project, test_run_input_directory);
+        TestRaces.copyDirectory(resources_input_directory_relative_to_project, test_run_input_directory);
 
         ///////////////////////////////////////////////////
 
@@ -407,7 +407,7 @@ public class RaceTest {
         if (!Files.exists(reference_input_directory))
             throw new RuntimeException(ERROR_MISSING_CONFIG + ": '" + reference_input_directory + File.separator + FILE_NAME_PER_TEST_CONFIG + "'");
 
-        copyDirectory(reference_input_directory, test_run_input_directory);
+        TestRaces.copyDirectory(reference_input_directory, test_run_input_directory);
     }
 
     private void assertThatDirectoryContainsAllExpectedContent(final Path expected, final Path actual) throws IOException {
@@ -492,26 +492,6 @@ public class RaceTest {
         return ignored_file_names.contains(entry.toString());
     }
 
-    private static void copyDirectory(final Path source_directory, final Path destination_directory) throws IOException {
-
-        Files.walkFileTree(source_directory, new SimpleFileVisitor<>() {
-
-            @Override
-            public FileVisitResult preVisitDirectory(final Path dir, final BasicFileAttributes attrs) throws IOException {
-
-                Files.copy(dir, destination_directory.resolve(source_directory.relativize(dir)));
-                return CONTINUE;
-            }
-
-            @Override
-            public FileVisitResult visitFile(final Path file, final BasicFileAttributes attrs) throws IOException {
-
-                Files.copy(file, destination_directory.resolve(source_directory.relativize(file)));
-                return CONTINUE;
-            }
-        });
-    }
-
     private static void deleteDirectory(final Path directory) throws IOException {
 
         if (directory != null && Files.isDirectory(directory))
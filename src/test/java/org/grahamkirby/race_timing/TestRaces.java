@@ -0,0 +1,89 @@
+/*
+ * race-timing - <https://github.com/grahamkirby/race-timing>
+ * Copyright © 2026 Graham Kirby (race-timing@kirby-family.net)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.grahamkirby.race_timing;
+
+import org.grahamkirby.race_timing.common.Config;
+import org.grahamkirby.race_timing.common.RaceFactory;
+
+import java.io.IOException;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+
+import static java.nio.file.FileVisitResult.CONTINUE;
+
+/** Sets up races in temporary directories for tests that process them. */
+public final class TestRaces {
+
+    private static final String INPUT_DIRECTORY_NAME = "input";
+
+    private TestRaces() {
+    }
+
+    //////////////////////////////////////////////////////////////////////////////////////////////////
+
+    /** Copies the given input directory to an input directory within the given run directory, alongside
+     *  an empty output directory.
+     *  @return the path of the copied config file */
+    public static Path copyInputs(final Path source_input_directory, final Path run_directory) throws IOException {
+
+        final Path input_directory = run_directory.resolve(INPUT_DIRECTORY_NAME);
+
+        Files.createDirectories(run_directory);
+        copyDirectory(source_input_directory, input_directory);
+        Files.createDirectories(run_directory.resolve(Config.OUTPUT_DIRECTORY_NAME));
+
+        return input_directory.resolve(Config.CONFIG_FILE_NAME);
+    }
+
+    /** Processes the race with the given config file, with the given command line options.
+     *  @return the race's output directory */
+    public static Path processRace(final Path config_path, final String... options) {
+
+        final String[] args = new String[options.length + 1];
+        args[0] = config_path.toString();
+        System.arraycopy(options, 0, args, 1, options.length);
+
+        new RaceFactory().createAndProcessRace(args);
+
+        return config_path.getParent().resolveSibling(Config.OUTPUT_DIRECTORY_NAME);
+    }
+
+    /** Copies a directory and all its contents. The destination directory must not already exist. */
+    public static void copyDirectory(final Path source_directory, final Path destination_directory) throws IOException {
+
+        Files.walkFileTree(source_directory, new SimpleFileVisitor<>() {
+
+            @Override
+            public FileVisitResult preVisitDirectory(final Path dir, final BasicFileAttributes attrs) throws IOException {
+
+                Files.copy(dir, destination_directory.resolve(source_directory.relativize(dir)));
+                return CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult visitFile(final Path file, final BasicFileAttributes attrs) throws IOException {
+
+                Files.copy(file, destination_directory.resolve(source_directory.relativize(file)));
+                return CONTINUE;
+            }
+        });
+    }
+}
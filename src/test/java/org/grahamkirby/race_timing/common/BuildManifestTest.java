@@ -0,0 +1,113 @@
+/*
+ * race-timing - <https://github.com/grahamkirby/race-timing>
+ * Copyright © 2026 Graham Kirby (race-timing@kirby-family.net)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.grahamkirby.race_timing.common;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+import java.util.List;
+
+import static org.grahamkirby.race_timing.TestRaces.copyInputs;
+import static org.grahamkirby.race_timing.TestRaces.processRace;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BuildManifestTest {
+
+    private static final Path INPUT_DIRECTORY = Path.of("src/test/resources/real/individual_race/balmullo/2026/input");
+    private static final String RAW_RESULTS_FILE_NAME = "rawtimes.txt";
+    private static final String OVERALL_RESULTS_FILE_NAME = "balmullo_overall_2026.csv";
+    private static final String MANIFEST_FILE_NAME = "balmullo_build_manifest_2026.txt";
+
+    // Used to detect whether an output file has been rewritten.
+    private static final FileTime EARLY_TIME = FileTime.fromMillis(0);
+
+    @Test
+    public void skippedWhenUpToDate(@TempDir final Path run_directory) throws IOException {
+
+        final Path config_path = copyInputs(INPUT_DIRECTORY, run_directory);
+        final Path results_path = run_directory.resolve(Config.OUTPUT_DIRECTORY_NAME).resolve(OVERALL_RESULTS_FILE_NAME);
+
+        processRace(config_path);
+        assertTrue(Files.exists(results_path.resolveSibling(MANIFEST_FILE_NAME)));
+
+        Files.setLastModifiedTime(results_path, EARLY_TIME);
+        processRace(config_path);
+
+        assertEquals(EARLY_TIME, Files.getLastModifiedTime(results_path));
+    }
+
+    @Test
+    public void changedOutputIsRegenerated(@TempDir final Path run_directory) throws IOException {
+
+        final Path config_path = copyInputs(INPUT_DIRECTORY, run_directory);
+        final Path results_path = run_directory.resolve(Config.OUTPUT_DIRECTORY_NAME).resolve(OVERALL_RESULTS_FILE_NAME);
+
+        processRace(config_path);
+        final List<String> original_results = Files.readAllLines(results_path);
+
+        markOutput(results_path);
+        processRace(config_path);
+
+        assertEquals(original_results, Files.readAllLines(results_path));
+    }
+
+    @Test
+    public void changedInputIsReprocessed(@TempDir final Path run_directory) throws IOException {
+
+        final Path config_path = copyInputs(INPUT_DIRECTORY, run_directory);
+        final Path results_path = run_directory.resolve(Config.OUTPUT_DIRECTORY_NAME).resolve(OVERALL_RESULTS_FILE_NAME);
+
+        processRace(config_path);
+        final List<String> original_results = Files.readAllLines(results_path);
+
+        // Remove the last finisher.
+        final Path raw_results_path = config_path.resolveSibling(RAW_RESULTS_FILE_NAME);
+        final List<String> raw_results = Files.readAllLines(raw_results_path);
+        Files.write(raw_results_path, raw_results.subList(0, raw_results.size() - 1), StandardOpenOption.TRUNCATE_EXISTING);
+
+        processRace(config_path);
+
+        assertEquals(original_results.size() - 1, Files.readAllLines(results_path).size());
+    }
+
+    @Test
+    public void forcedProcessingIgnoresManifest(@TempDir final Path run_directory) throws IOException {
+
+        final Path config_path = copyInputs(INPUT_DIRECTORY, run_directory);
+        final Path results_path = run_directory.resolve(Config.OUTPUT_DIRECTORY_NAME).resolve(OVERALL_RESULTS_FILE_NAME);
+
+        processRace(config_path);
+
+        Files.setLastModifiedTime(results_path, EARLY_TIME);
+        processRace(config_path, RaceFactory.FORCE_OPTION);
+
+        assertNotEquals(EARLY_TIME, Files.getLastModifiedTime(results_path));
+    }
+
+    //////////////////////////////////////////////////////////////////////////////////////////////////
+
+    private static void markOutput(final Path output_path) throws IOException {
+
+        Files.write(output_path, List.of("marked"), StandardOpenOption.APPEND);
+    }
+}
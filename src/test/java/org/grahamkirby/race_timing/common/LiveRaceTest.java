@@ -0,0 +1,177 @@
+/*
+ * race-timing - <https://github.com/grahamkirby/race-timing>
+ * Copyright © 2026 Graham Kirby (race-timing@kirby-family.net)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.grahamkirby.race_timing.common;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.grahamkirby.race_timing.TestRaces.copyInputs;
+import static org.grahamkirby.race_timing.TestRaces.processRace;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LiveRaceTest {
+
+    private static final Path INPUT_DIRECTORY = Path.of("src/test/resources/real/individual_race/balmullo/2026/input");
+    private static final String RAW_RESULTS_FILE_NAME = "rawtimes.txt";
+    private static final String NOTES_FILE_NAME = "balmullo_processing_notes_2026.txt";
+    private static final int RESULTS_PER_UPDATE = 7;
+    private static final List<String> RESULTS_FILE_NAMES = List.of("balmullo_overall_2026.csv", "balmullo_overall_2026.html", "balmullo_prizes_2026.txt");
+
+    @Test
+    public void appendedResultsMatchFullProcessing(@TempDir final Path full_run_directory, @TempDir final Path live_run_directory) throws IOException {
+
+        final Path full_config_path = copyInputs(INPUT_DIRECTORY, full_run_directory);
+        final Path live_config_path = copyInputs(INPUT_DIRECTORY, live_run_directory);
+
+        final Path live_raw_results_path = live_config_path.resolveSibling(RAW_RESULTS_FILE_NAME);
+        final List<String> raw_results = Files.readAllLines(live_raw_results_path);
+        final int split = raw_results.size() / 2;
+
+        writeLines(live_raw_results_path, raw_results.subList(0, split), StandardOpenOption.TRUNCATE_EXISTING);
+
+        final LiveRace live_race = new LiveRace(live_config_path);
+        live_race.update();
+
+        // Notes are only written when the race is processed from scratch.
+        final Path live_notes_path = live_run_directory.resolve(Config.OUTPUT_DIRECTORY_NAME).resolve(NOTES_FILE_NAME);
+        Files.delete(live_notes_path);
+
+        // Append the remaining results a few at a time.
+        for (int i = split; i < raw_results.size(); i += RESULTS_PER_UPDATE) {
+
+            writeLines(live_raw_results_path, raw_results.subList(i, Math.min(i + RESULTS_PER_UPDATE, raw_results.size())), StandardOpenOption.APPEND);
+            live_race.update();
+        }
+
+        assertFalse(Files.exists(live_notes_path));
+
+        processRace(full_config_path);
+
+        for (final String file_name : RESULTS_FILE_NAMES)
+            assertEquals(
+                Files.readAllLines(full_run_directory.resolve(Config.OUTPUT_DIRECTORY_NAME).resolve(file_name)),
+                Files.readAllLines(live_run_directory.resolve(Config.OUTPUT_DIRECTORY_NAME).resolve(file_name)),
+                file_name);
+    }
+
+    @Test
+    public void truncatedRawResultsAreReprocessed(@TempDir final Path live_run_directory) throws IOException {
+
+        final Path live_config_path = copyInputs(INPUT_DIRECTORY, live_run_directory);
+        final Path live_raw_results_path = live_config_path.resolveSibling(RAW_RESULTS_FILE_NAME);
+        final List<String> raw_results = Files.readAllLines(live_raw_results_path);
+
+        final LiveRace live_race = new LiveRace(live_config_path);
+        live_race.update();
+
+        final Path live_notes_path = live_run_directory.resolve(Config.OUTPUT_DIRECTORY_NAME).resolve(NOTES_FILE_NAME);
+        Files.delete(live_notes_path);
+
+        writeLines(live_raw_results_path, raw_results.subList(0, 1), StandardOpenOption.TRUNCATE_EXISTING);
+        live_race.update();
+
+        assertTrue(Files.exists(live_notes_path));
+    }
+
+    @Test
+    public void editedEarlierLineIsReprocessed(@TempDir final Path full_run_directory, @TempDir final Path live_run_directory) throws IOException {
+
+        final Path full_config_path = copyInputs(INPUT_DIRECTORY, full_run_directory);
+        final Path live_config_path = copyInputs(INPUT_DIRECTORY, live_run_directory);
+        final Path live_raw_results_path = live_config_path.resolveSibling(RAW_RESULTS_FILE_NAME);
+
+        final LiveRace live_race = new LiveRace(live_config_path);
+        live_race.update();
+
+        // Swap the bib numbers of the first two finishers, leaving the file the same length.
+        final List<String> raw_results = new ArrayList<>(Files.readAllLines(live_raw_results_path));
+        final String[] first = raw_results.get(0).split("\t");
+        final String[] second = raw_results.get(1).split("\t");
+
+        raw_results.set(0, second[0] + "\t" + first[1]);
+        raw_results.set(1, first[0] + "\t" + second[1]);
+
+        final FileTime modified_time = Files.getLastModifiedTime(live_raw_results_path);
+        writeLines(live_raw_results_path, raw_results, StandardOpenOption.TRUNCATE_EXISTING);
+        writeLines(full_config_path.resolveSibling(RAW_RESULTS_FILE_NAME), raw_results, StandardOpenOption.TRUNCATE_EXISTING);
+
+        // In case the file system's timestamps are too coarse to distinguish the edit.
+        Files.setLastModifiedTime(live_raw_results_path, FileTime.fromMillis(modified_time.toMillis() + 1000));
+
+        live_race.update();
+
+        processRace(full_config_path);
+
+        for (final String file_name : RESULTS_FILE_NAMES)
+            assertEquals(
+                Files.readAllLines(full_run_directory.resolve(Config.OUTPUT_DIRECTORY_NAME).resolve(file_name)),
+                Files.readAllLines(live_run_directory.resolve(Config.OUTPUT_DIRECTORY_NAME).resolve(file_name)),
+                file_name);
+    }
+
+    @Test
+    public void editedLastLineIsReprocessedWhenResultsAppended(@TempDir final Path full_run_directory, @TempDir final Path live_run_directory) throws IOException {
+
+        final Path full_config_path = copyInputs(INPUT_DIRECTORY, full_run_directory);
+        final Path live_config_path = copyInputs(INPUT_DIRECTORY, live_run_directory);
+        final Path live_raw_results_path = live_config_path.resolveSibling(RAW_RESULTS_FILE_NAME);
+
+        final List<String> raw_results = new ArrayList<>(Files.readAllLines(live_raw_results_path));
+        final int last = raw_results.size() - 1;
+
+        writeLines(live_raw_results_path, raw_results.subList(0, last), StandardOpenOption.TRUNCATE_EXISTING);
+
+        final LiveRace live_race = new LiveRace(live_config_path);
+        live_race.update();
+
+        // Swap the bib numbers of the last two finishers already read, and append the final finisher.
+        final String[] first = raw_results.get(last - 2).split("\t");
+        final String[] second = raw_results.get(last - 1).split("\t");
+
+        raw_results.set(last - 2, second[0] + "\t" + first[1]);
+        raw_results.set(last - 1, first[0] + "\t" + second[1]);
+
+        writeLines(live_raw_results_path, raw_results, StandardOpenOption.TRUNCATE_EXISTING);
+        writeLines(full_config_path.resolveSibling(RAW_RESULTS_FILE_NAME), raw_results, StandardOpenOption.TRUNCATE_EXISTING);
+
+        live_race.update();
+
+        processRace(full_config_path);
+
+        for (final String file_name : RESULTS_FILE_NAMES)
+            assertEquals(
+                Files.readAllLines(full_run_directory.resolve(Config.OUTPUT_DIRECTORY_NAME).resolve(file_name)),
+                Files.readAllLines(live_run_directory.resolve(Config.OUTPUT_DIRECTORY_NAME).resolve(file_name)),
+                file_name);
+    }
+
+    //////////////////////////////////////////////////////////////////////////////////////////////////
+
+    private static void writeLines(final Path path, final List<String> lines, final StandardOpenOption option) throws IOException {
+
+        Files.write(path, lines, StandardOpenOption.WRITE, option);
+    }
+}
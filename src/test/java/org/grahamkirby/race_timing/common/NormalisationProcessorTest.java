@@ -25,6 +25,7 @@ import org.junit.jupiter.api.Test;
 
 import java.time.format.DateTimeParseException;
 import java.util.List;
+import java.util.Random;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -58,6 +59,56 @@ public class NormalisationProcessorTest {
         }
     }
 
+    @FuzzTest
+    void fuzzCleanSpacesAndQuotes(@NotNull final String s) {
+
+        assertEquals(cleanSpacesAndQuotesReference(s), NormalisationProcessor.cleanSpacesAndQuotes(s));
+    }
+
+    @Test
+    void cleanSpacesAndQuotesMatchesReference() {
+
+        // Strings built from characters that affect space and quote cleaning.
+        final String alphabet = "  \t\n\u2003\u00A0-'\"‘’“”aB";
+        final Random random = new Random(0);
+
+        for (int i = 0; i < 100_000; i++) {
+
+            final StringBuilder builder = new StringBuilder();
+            final int length = random.nextInt(12);
+
+            for (int j = 0; j < length; j++)
+                builder.append(alphabet.charAt(random.nextInt(alphabet.length())));
+
+            final String s = builder.toString();
+            assertEquals(cleanSpacesAndQuotesReference(s), NormalisationProcessor.cleanSpacesAndQuotes(s), "'" + s + "'");
+        }
+    }
+
+    @Test
+    void cleanSpacesAndQuotes() {
+
+        assertEquals("John O’Hare", NormalisationProcessor.cleanSpacesAndQuotes(" John  O'Hare "));
+        assertEquals("‘Jock’ Smith", NormalisationProcessor.cleanSpacesAndQuotes("'Jock' Smith"));
+        assertEquals("Anne “Nan” Smith-‘Jones’", NormalisationProcessor.cleanSpacesAndQuotes("Anne \"Nan\" Smith-'Jones'"));
+        assertEquals("a  b", NormalisationProcessor.cleanSpacesAndQuotes("a   b"));
+    }
+
+    /** Previous regex-based implementation, used to check that the single pass version is equivalent. */
+    private static String cleanSpacesAndQuotesReference(final String name) {
+
+        String s = name.replaceAll("(?i)  ", " ").strip();
+
+        s = s.replace("'", "’");
+        s = s.replace("\"", "”");
+        s = s.replaceAll("([- ])’", "$1‘");
+        s = s.replaceAll("^’", "‘");
+        s = s.replaceAll("([- ])”", "$1“");
+        s = s.replaceAll("^”", "“");
+
+        return s;
+    }
+
     private final List<String> expected_exception_message_roots = List.of(
     );
 
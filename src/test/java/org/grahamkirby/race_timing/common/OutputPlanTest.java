@@ -0,0 +1,107 @@
+/*
+ * race-timing - <https://github.com/grahamkirby/race-timing>
+ * Copyright © 2026 Graham Kirby (race-timing@kirby-family.net)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.grahamkirby.race_timing.common;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+import static org.grahamkirby.race_timing.TestRaces.copyInputs;
+import static org.grahamkirby.race_timing.TestRaces.processRace;
+import static org.grahamkirby.race_timing.common.OutputPlan.Output.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class OutputPlanTest {
+
+    private static final Path INDIVIDUAL_RACE_DIRECTORY = Path.of("src/test/resources/real/individual_race/balmullo/2026");
+    private static final Path RELAY_RACE_DIRECTORY = Path.of("src/test/resources/real/relay_race/devils_burdens/2024");
+
+    @Test
+    public void viewsRequiredByOutputs() {
+
+        final OutputPlan plan = OutputPlan.parse("overall_csv, LEG_HTML");
+
+        assertTrue(plan.includes(OVERALL_CSV));
+        assertTrue(plan.includes(LEG_HTML));
+        assertFalse(plan.includes(PRIZES_PDF));
+
+        assertTrue(plan.requires(OutputPlan.View.LEG_RANKINGS));
+        assertFalse(plan.requires(OutputPlan.View.PRIZES));
+        assertFalse(plan.requires(OutputPlan.View.COLLATED_TIMES));
+
+        assertTrue(plan.requiring(OutputPlan.View.PRIZES).requires(OutputPlan.View.PRIZES));
+        assertFalse(plan.requiring(OutputPlan.View.PRIZES).includes(PRIZES_HTML));
+
+        for (final OutputPlan.View view : OutputPlan.View.values())
+            assertTrue(OutputPlan.DEFAULT.requires(view));
+
+        assertFalse(OutputPlan.DEFAULT.includes(RESULTS_JSON));
+    }
+
+    @Test
+    public void invalidOutputName() {
+
+        final RuntimeException e = assertThrows(RuntimeException.class, () -> OutputPlan.parse("overall_csv,overall_pdf"));
+        assertEquals(Config.INVALID_OUTPUT + " 'overall_pdf'", e.getMessage());
+    }
+
+    @Test
+    public void outputsSelectedInConfig(@TempDir final Path run_directory) throws IOException {
+
+        final Path config_path = copyInputs(INDIVIDUAL_RACE_DIRECTORY.resolve("input"), run_directory);
+        Files.write(config_path, List.of("OUTPUTS = overall_html, prizes_text"), StandardOpenOption.APPEND);
+
+        final Path output_directory = processRace(config_path);
+
+        assertOutputsMatch(INDIVIDUAL_RACE_DIRECTORY, output_directory, "balmullo_overall_2026.html", "balmullo_prizes_2026.txt");
+        assertOutputsAbsent(output_directory, "balmullo_overall_2026.csv", "balmullo_prizes_2026.pdf", "balmullo_prizes_2026.html", "balmullo_combined_2026.html");
+    }
+
+    @Test
+    public void outputsSelectedOnCommandLine(@TempDir final Path run_directory) throws IOException {
+
+        final Path config_path = copyInputs(RELAY_RACE_DIRECTORY.resolve("input"), run_directory);
+        final Path output_directory = processRace(config_path, RaceFactory.OUTPUTS_OPTION + "leg_csv");
+
+        // Discrepancies are recorded in the notes even though the collated times are not output.
+        assertOutputsMatch(RELAY_RACE_DIRECTORY, output_directory,
+            "devils_burdens_leg_1_2024.csv", "devils_burdens_leg_4_2024.csv", "devils_burdens_processing_notes_2024.txt");
+        assertOutputsAbsent(output_directory,
+            "devils_burdens_leg_1_2024.html", "devils_burdens_overall_2024.csv", "devils_burdens_prizes_2024.pdf",
+            "devils_burdens_combined_2024.html", "devils_burdens_times_collated_2024.txt");
+    }
+
+    //////////////////////////////////////////////////////////////////////////////////////////////////
+
+    private static void assertOutputsMatch(final Path race_directory, final Path output_directory, final String... file_names) throws IOException {
+
+        for (final String file_name : file_names)
+            assertEquals(Files.readString(race_directory.resolve("expected").resolve(file_name)), Files.readString(output_directory.resolve(file_name)), file_name);
+    }
+
+    private static void assertOutputsAbsent(final Path output_directory, final String... file_names) {
+
+        for (final String file_name : file_names)
+            assertFalse(Files.exists(output_directory.resolve(file_name)), file_name);
+    }
+}
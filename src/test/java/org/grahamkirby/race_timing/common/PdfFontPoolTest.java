@@ -0,0 +1,38 @@
+/*
+ * race-timing - <https://github.com/grahamkirby/race-timing>
+ * Copyright © 2026 Graham Kirby (race-timing@kirby-family.net)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.grahamkirby.race_timing.common;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+
+import static org.grahamkirby.race_timing.common.CommonPrizesPDFPrinter.PDF_PRIZE_FONT_BOLD_NAME;
+import static org.grahamkirby.race_timing.common.CommonPrizesPDFPrinter.PDF_PRIZE_FONT_NAME;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PdfFontPoolTest {
+
+    @Test
+    public void fontReusedWithinDocument() throws IOException {
+
+        final PdfFontPool fonts = new PdfFontPool();
+
+        assertSame(fonts.getFont(PDF_PRIZE_FONT_NAME), fonts.getFont(PDF_PRIZE_FONT_NAME));
+        assertNotSame(fonts.getFont(PDF_PRIZE_FONT_NAME), fonts.getFont(PDF_PRIZE_FONT_BOLD_NAME));
+    }
+}
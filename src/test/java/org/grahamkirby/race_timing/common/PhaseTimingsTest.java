@@ -0,0 +1,162 @@
+/*
+ * race-timing - <https://github.com/grahamkirby/race-timing>
+ * Copyright © 2026 Graham Kirby (race-timing@kirby-family.net)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.grahamkirby.race_timing.common;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.Locale;
+
+import static org.grahamkirby.race_timing.TestRaces.copyInputs;
+import static org.grahamkirby.race_timing.TestRaces.processRace;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PhaseTimingsTest {
+
+    private static final Path INPUT_DIRECTORY = Path.of("src/test/resources/real/individual_race/balmullo/2026/input");
+    private static final String TIMINGS_FILE_NAME = "balmullo_timings_2026.txt";
+    private static final String NOTES_FILE_NAME = "balmullo_processing_notes_2026.txt";
+    private static final String EVENT_NAME = "org.grahamkirby.race_timing.RacePhase";
+
+    private static final List<String> EXPECTED_PHASES = List.of(
+        "load config", "adjust config", "validate config", "set up categories", "set up normalisation",
+        "load entries", "validate entries", "load raw results", "validate raw results",
+        "initialise results", "adjust times", "record DNFs", "sort results", "allocate prizes", "allocate team prizes",
+        "output overall.csv", "output overall.html", "output prizes.pdf", "output prizes.html", "output prizes.txt", "output combined.html");
+
+    @Test
+    public void timingsWrittenWhenConfigured(@TempDir final Path run_directory) throws IOException {
+
+        final Path config_path = copyInputs(INPUT_DIRECTORY, run_directory);
+        Files.write(config_path, List.of("OUTPUT_TIMINGS = true"), StandardOpenOption.APPEND);
+
+        processRace(config_path);
+
+        final Path output_directory = run_directory.resolve(Config.OUTPUT_DIRECTORY_NAME);
+        final List<String> phases = Files.readAllLines(output_directory.resolve(TIMINGS_FILE_NAME)).stream().
+            map(line -> line.split("\t")[0]).
+            toList();
+
+        for (final String phase : EXPECTED_PHASES)
+            assertTrue(phases.contains(phase), phase);
+
+        // The key must be recorded as used.
+        assertFalse(Files.readString(output_directory.resolve(NOTES_FILE_NAME)).contains(Config.UNUSED_KEYS));
+    }
+
+    @Test
+    public void timingsNotWrittenByDefault(@TempDir final Path run_directory) throws IOException {
+
+        final Path config_path = copyInputs(INPUT_DIRECTORY, run_directory);
+
+        processRace(config_path);
+
+        assertFalse(Files.exists(run_directory.resolve(Config.OUTPUT_DIRECTORY_NAME).resolve(TIMINGS_FILE_NAME)));
+    }
+
+    @Test
+    public void eventsRecordedWhenEnabled(@TempDir final Path run_directory) throws IOException {
+
+        final Path recording_path = run_directory.resolve("recording.jfr");
+
+        try (final Recording recording = new Recording()) {
+
+            recording.enable(EVENT_NAME);
+            recording.start();
+
+            new PhaseTimings(() -> "Test Race", () -> false).time("test phase", () -> {}, () -> 3);
+
+            recording.stop();
+            recording.dump(recording_path);
+        }
+
+        final List<RecordedEvent> events = RecordingFile.readAllEvents(recording_path).stream().
+            filter(event -> event.getEventType().getName().equals(EVENT_NAME)).
+            toList();
+
+        assertEquals(1, events.size());
+        assertEquals("Test Race", events.getFirst().getString("race_name"));
+        assertEquals("test phase", events.getFirst().getString("phase"));
+        assertEquals(3, events.getFirst().getInt("record_count"));
+    }
+
+    @Test
+    public void phasesNotKeptWhenSummaryNotRequired(@TempDir final Path run_directory) throws IOException {
+
+        final PhaseTimings timings = new PhaseTimings(() -> "Test Race", () -> false);
+        timings.time("test phase", () -> {});
+
+        final Path summary_path = run_directory.resolve(TIMINGS_FILE_NAME);
+        timings.writeSummary(summary_path);
+
+        assertFalse(Files.readString(summary_path).contains("test phase"));
+    }
+
+    @Test
+    public void summaryCoversPhasesSincePreviousSummary(@TempDir final Path run_directory) throws IOException {
+
+        final PhaseTimings timings = new PhaseTimings(() -> "Test Race", () -> true);
+        final Path summary_path = run_directory.resolve(TIMINGS_FILE_NAME);
+
+        timings.time("first phase", () -> {});
+        timings.writeSummary(summary_path);
+        timings.time("second phase", () -> {});
+        timings.writeSummary(summary_path);
+
+        final String summary = Files.readString(summary_path);
+
+        assertFalse(summary.contains("first phase"));
+        assertTrue(summary.contains("second phase"));
+    }
+
+    @Test
+    public void summaryIndependentOfDefaultLocale(@TempDir final Path run_directory) throws IOException {
+
+        final Locale default_locale = Locale.getDefault();
+
+        try {
+            // Uses a comma as the decimal separator.
+            Locale.setDefault(Locale.GERMANY);
+
+            final PhaseTimings timings = new PhaseTimings(() -> "Test Race", () -> true);
+            final Path summary_path = run_directory.resolve(TIMINGS_FILE_NAME);
+
+            timings.time("test phase", () -> {});
+            timings.writeSummary(summary_path);
+
+            final String time = Files.readAllLines(summary_path).stream().
+                filter(line -> line.startsWith("test phase")).
+                map(line -> line.split("\t")[2]).
+                findFirst().
+                orElseThrow();
+
+            assertDoesNotThrow(() -> Double.parseDouble(time));
+
+        } finally {
+            Locale.setDefault(default_locale);
+        }
+    }
+}
@@ -0,0 +1,132 @@
+/*
+ * race-timing - <https://github.com/grahamkirby/race-timing>
+ * Copyright © 2026 Graham Kirby (race-timing@kirby-family.net)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.grahamkirby.race_timing.common;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.function.BooleanSupplier;
+
+import static org.grahamkirby.race_timing.TestRaces.copyInputs;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RaceDaemonTest {
+
+    private static final Path INPUT_DIRECTORY = Path.of("src/test/resources/real/individual_race/balmullo/2026/input");
+    private static final String RAW_RESULTS_FILE_NAME = "rawtimes.txt";
+    private static final String OVERALL_RESULTS_FILE_NAME = "balmullo_overall_2026.csv";
+    private static final String MANIFEST_FILE_NAME = "balmullo_build_manifest_2026.txt";
+    private static final long TIMEOUT_MILLIS = 30_000;
+
+    @Test
+    public void changedInputIsReprocessed(@TempDir final Path root_directory) throws Exception {
+
+        final Path race_directory = root_directory.resolve("balmullo");
+        final Path config_path = copyInput(race_directory);
+        final Path results_path = race_directory.resolve(Config.OUTPUT_DIRECTORY_NAME).resolve(OVERALL_RESULTS_FILE_NAME);
+
+        final RaceDaemon daemon = new RaceDaemon(root_directory, 2);
+        final Thread daemon_thread = Thread.ofPlatform().start(() -> {
+            try {
+                daemon.processAndWatch();
+            } catch (final IOException | InterruptedException _) {
+            }
+        });
+
+        try {
+            // The manifest is written after all the other output.
+            waitFor(() -> Files.exists(results_path.resolveSibling(MANIFEST_FILE_NAME)));
+            final int original_number_of_results = Files.readAllLines(results_path).size();
+
+            // Remove the last finisher.
+            final Path raw_results_path = config_path.resolveSibling(RAW_RESULTS_FILE_NAME);
+            final List<String> raw_results = Files.readAllLines(raw_results_path);
+            Files.write(raw_results_path, raw_results.subList(0, raw_results.size() - 1), StandardOpenOption.TRUNCATE_EXISTING);
+
+            waitFor(() -> numberOfLines(results_path) == original_number_of_results - 1);
+
+        } finally {
+            daemon_thread.interrupt();
+            daemon_thread.join();
+        }
+    }
+
+    @Test
+    public void newRaceIsProcessed(@TempDir final Path root_directory) throws Exception {
+
+        final RaceDaemon daemon = new RaceDaemon(root_directory, 2);
+        final Thread daemon_thread = Thread.ofPlatform().start(() -> {
+            try {
+                daemon.processAndWatch();
+            } catch (final IOException | InterruptedException _) {
+            }
+        });
+
+        try {
+            // Allow the daemon to start watching.
+            Thread.sleep(RaceDaemon.DEBOUNCE_DELAY.toMillis());
+
+            final Path race_directory = root_directory.resolve("balmullo");
+            copyInput(race_directory);
+
+            waitFor(() -> Files.exists(race_directory.resolve(Config.OUTPUT_DIRECTORY_NAME).resolve(OVERALL_RESULTS_FILE_NAME)));
+
+        } finally {
+            daemon_thread.interrupt();
+            daemon_thread.join();
+        }
+    }
+
+    //////////////////////////////////////////////////////////////////////////////////////////////////
+
+    private static void waitFor(final BooleanSupplier condition) throws InterruptedException {
+
+        final long deadline = System.currentTimeMillis() + TIMEOUT_MILLIS;
+
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.currentTimeMillis() < deadline, "timed out");
+            Thread.sleep(50);
+        }
+    }
+
+    private static int numberOfLines(final Path path) {
+
+        try {
+            return Files.readAllLines(path).size();
+
+        } catch (final IOException _) {
+            // The file may be being rewritten.
+            return -1;
+        }
+    }
+
+    private static Path copyInput(final Path race_directory) throws IOException {
+
+        // Copy to a temporary directory first, so that the daemon doesn't see a partial copy.
+        final Path staging_directory = Files.createTempDirectory("race");
+        final Path config_path = copyInputs(INPUT_DIRECTORY, staging_directory);
+
+        Files.move(staging_directory, race_directory);
+        return race_directory.resolve(staging_directory.relativize(config_path));
+    }
+}
@@ -0,0 +1,64 @@
+/*
+ * race-timing - <https://github.com/grahamkirby/race-timing>
+ * Copyright © 2026 Graham Kirby (race-timing@kirby-family.net)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.grahamkirby.race_timing.common;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ResourceCacheTest {
+
+    private static final String KIND = "lines";
+
+    @Test
+    public void unchangedFileIsParsedOnce(@TempDir final Path directory) throws IOException {
+
+        final Path path = directory.resolve("resource.csv");
+        Files.writeString(path, "a" + System.lineSeparator());
+
+        final List<String> resource = ResourceCache.get(path, KIND, Files::readAllLines);
+
+        assertSame(resource, ResourceCache.get(path, KIND, _ -> fail("parsed again")));
+        assertNotSame(resource, ResourceCache.get(path, "other " + KIND, Files::readAllLines));
+    }
+
+    @Test
+    public void changedFileIsParsedAgain(@TempDir final Path directory) throws IOException {
+
+        final Path path = directory.resolve("resource.csv");
+        Files.writeString(path, "a" + System.lineSeparator());
+
+        assertEquals(List.of("a"), ResourceCache.get(path, KIND, Files::readAllLines));
+
+        Files.writeString(path, "a" + System.lineSeparator() + "b" + System.lineSeparator());
+
+        assertEquals(List.of("a", "b"), ResourceCache.get(path, KIND, Files::readAllLines));
+    }
+
+    @Test
+    public void missingPathIsNotCached() throws IOException {
+
+        assertEquals(List.of(), ResourceCache.get(null, KIND, Config::readAllLines));
+    }
+}
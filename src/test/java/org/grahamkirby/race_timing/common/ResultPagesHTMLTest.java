@@ -0,0 +1,117 @@
+/*
+ * race-timing - <https://github.com/grahamkirby/race-timing>
+ * Copyright © 2026 Graham Kirby (race-timing@kirby-family.net)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.grahamkirby.race_timing.common;
+
+import org.grahamkirby.race_timing.TestRaces;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.grahamkirby.race_timing.TestRaces.copyInputs;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ResultPagesHTMLTest {
+
+    private static final Path INDIVIDUAL_RACE_DIRECTORY = Path.of("src/test/resources/real/individual_race/balmullo/2024");
+    private static final Path RELAY_RACE_DIRECTORY = Path.of("src/test/resources/real/relay_race/devils_burdens/2024");
+
+    // Both races are from 2024.
+    private static final String PAGE_FILE_NAME_SUFFIX = "_2024.html";
+
+    @Test
+    public void individualRace(@TempDir final Path run_directory) throws IOException {
+
+        final Path output_directory = processRace(INDIVIDUAL_RACE_DIRECTORY, run_directory, "40");
+        final String index = Files.readString(output_directory.resolve("balmullo_overall_2024.html"));
+
+        // 89 finishers.
+        assertTrue(index.contains("<a href=\"balmullo_overall_page_3_2024.html\">81-89</a>"));
+        assertFalse(Files.exists(output_directory.resolve("balmullo_overall_page_4_2024.html")));
+
+        assertTrue(index.contains("<a href=\"balmullo_overall_category_mo_page_2_2024.html\">"));
+        assertTrue(index.contains("<a href=\"balmullo_overall_category_m90_page_1_2024.html\">" + Config.NO_RESULTS + "</a>"));
+
+        final String last_page = Files.readString(output_directory.resolve("balmullo_overall_page_3_2024.html"));
+        assertTrue(last_page.contains(">" + Config.PREVIOUS + "</a>"));
+        assertFalse(last_page.contains(">" + Config.NEXT + "</a>"));
+
+        assertEquals(getTableRows(INDIVIDUAL_RACE_DIRECTORY.resolve("expected").resolve("balmullo_overall_2024.html")), getTableRows(output_directory, "balmullo_overall_page_", 3));
+
+        assertTrue(Files.readString(output_directory.resolve("balmullo_combined_2024.html")).contains(Config.RESULTS_BY_PAGE));
+        assertEquals("", Files.readString(output_directory.resolve("balmullo_processing_notes_2024.txt")));
+    }
+
+    @Test
+    public void relayRaceLegs(@TempDir final Path run_directory) throws IOException {
+
+        final Path output_directory = processRace(RELAY_RACE_DIRECTORY, run_directory, "50");
+        final String index = Files.readString(output_directory.resolve("devils_burdens_leg_2_2024.html"));
+
+        assertTrue(index.contains("<a href=\"devils_burdens_leg_2_page_3_2024.html\">101-112</a>"));
+        assertEquals(getTableRows(RELAY_RACE_DIRECTORY.resolve("expected").resolve("devils_burdens_leg_2_2024.html")), getTableRows(output_directory, "devils_burdens_leg_2_page_", 3));
+    }
+
+    @Test
+    public void invalidPageSize(@TempDir final Path zero_run_directory, @TempDir final Path non_numeric_run_directory) throws IOException {
+
+        final Path zero_output_directory = processRace(INDIVIDUAL_RACE_DIRECTORY, zero_run_directory, "0");
+        final Path non_numeric_output_directory = processRace(INDIVIDUAL_RACE_DIRECTORY, non_numeric_run_directory, "forty");
+
+        assertEquals(Config.INVALID_PAGE_SIZE + " '0'", Files.readString(zero_output_directory.resolve("balmullo_processing_notes_2024.txt")).strip());
+        assertEquals(Config.INVALID_PAGE_SIZE + " 'forty'", Files.readString(non_numeric_output_directory.resolve("balmullo_processing_notes_2024.txt")).strip());
+    }
+
+    @Test
+    public void pageSizeWithTrailingSpace() {
+
+        assertEquals(40, ResultPagesHTML.parsePageSize("40 "));
+    }
+
+    //////////////////////////////////////////////////////////////////////////////////////////////////
+
+    private static Path processRace(final Path race_directory, final Path run_directory, final String page_size) throws IOException {
+
+        final Path config_path = copyInputs(race_directory.resolve("input"), run_directory);
+        Files.writeString(config_path, Files.readString(config_path) + System.lineSeparator() + Config.KEY_HTML_PAGE_SIZE + " = " + page_size + System.lineSeparator());
+
+        return TestRaces.processRace(config_path);
+    }
+
+    private static List<String> getTableRows(final Path output_directory, final String page_file_name_prefix, final int number_of_pages) throws IOException {
+
+        final List<String> rows = new ArrayList<>();
+
+        for (int page = 1; page <= number_of_pages; page++)
+            rows.addAll(getTableRows(output_directory.resolve(page_file_name_prefix + page + PAGE_FILE_NAME_SUFFIX)));
+
+        return rows;
+    }
+
+    private static List<String> getTableRows(final Path html_file) throws IOException {
+
+        return Files.readAllLines(html_file).stream().
+            map(String::strip).
+            filter(line -> line.startsWith("<td")).
+            toList();
+    }
+}
@@ -0,0 +1,92 @@
+/*
+ * race-timing - <https://github.com/grahamkirby/race-timing>
+ * Copyright © 2026 Graham Kirby (race-timing@kirby-family.net)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.grahamkirby.race_timing.common;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.grahamkirby.race_timing.common.Config.LINE_SEPARATOR;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class ResultTemplateTest {
+
+    // The fields don't depend on the result, so rows can be rendered without one.
+    private static final RaceResult NO_RESULT = null;
+
+    @Test
+    public void csvRow() {
+
+        final ResultTemplate<RaceResult> template = makeColumns(List.of("3", "4")).compile(ResultTemplate.CSV);
+
+        assertEquals("1,a\"b,3,4,2" + LINE_SEPARATOR, render(template));
+    }
+
+    @Test
+    public void csvRowWithNoValuesInMultipleColumns() {
+
+        final ResultTemplate<RaceResult> template = makeColumns(List.of()).compile(ResultTemplate.CSV);
+
+        assertEquals("1,a\"b,,2" + LINE_SEPARATOR, render(template));
+    }
+
+    @Test
+    public void htmlRow() {
+
+        final ResultTemplate<RaceResult> template = makeColumns(List.of("3")).compile(ResultTemplate.HTML);
+
+        final String expected = "        <tr>\n" +
+            "            <td>1</td>" + LINE_SEPARATOR +
+            "            <td>a\"b</td>" + LINE_SEPARATOR +
+            "            <td>3</td>" + LINE_SEPARATOR +
+            "            <td>2</td>" + LINE_SEPARATOR +
+            "        </tr>\n";
+
+        assertEquals(expected, render(template));
+    }
+
+    @Test
+    public void headers() {
+
+        final ResultTemplate<RaceResult> template = makeColumns(List.of()).compile(ResultTemplate.CSV);
+        final StringBuilder row = new StringBuilder();
+
+        template.appendHeaders(row);
+
+        assertEquals(List.of("A", "B", "C", "D", "E"), template.getHeaders());
+        assertEquals("A,B,C,D,E", row.toString());
+    }
+
+    //////////////////////////////////////////////////////////////////////////////////////////////////
+
+    private static ResultTemplate.Builder<RaceResult> makeColumns(final List<String> multiple_values) {
+
+        return new ResultTemplate.Builder<>().
+            column("A", _ -> "1").
+            column("B", _ -> "a\"b").
+            columns(List.of("C", "D"), _ -> multiple_values).
+            column("E", _ -> "2");
+    }
+
+    private static String render(final ResultTemplate<RaceResult> template) {
+
+        final StringBuilder row = new StringBuilder();
+        template.appendRow(NO_RESULT, row);
+        return row.toString();
+    }
+}
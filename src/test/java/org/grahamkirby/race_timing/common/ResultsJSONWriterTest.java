@@ -0,0 +1,108 @@
+/*
+ * race-timing - <https://github.com/grahamkirby/race-timing>
+ * Copyright © 2026 Graham Kirby (race-timing@kirby-family.net)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.grahamkirby.race_timing.common;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.grahamkirby.race_timing.TestRaces;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.grahamkirby.race_timing.TestRaces.copyInputs;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ResultsJSONWriterTest {
+
+    private static final Path INDIVIDUAL_RACE_DIRECTORY = Path.of("src/test/resources/real/individual_race/ceres_8/2025");
+    private static final Path RELAY_RACE_DIRECTORY = Path.of("src/test/resources/real/relay_race/devils_burdens/2024");
+    private static final Path SERIES_RACE_DIRECTORY = Path.of("src/test/resources/real/series_race/midweek/2025");
+
+    @Test
+    public void individualRace(@TempDir final Path run_directory) throws IOException {
+
+        final JsonNode results = processRace(INDIVIDUAL_RACE_DIRECTORY, run_directory, "ceres_8_results_2025.json");
+        final JsonNode first_result = results.get("overall").get(0).get("results").get(0);
+
+        // Pos,No,Runner,Club,Category,Time
+        assertEquals(getFirstCSVResult(INDIVIDUAL_RACE_DIRECTORY, "ceres_8_overall_2025.csv"), List.of(
+            first_result.get("position").asText(),
+            first_result.get("bib").asText(),
+            first_result.get("runner").asText(),
+            first_result.get("club").asText(),
+            first_result.get("category").asText(),
+            first_result.get("time").asText()));
+
+        assertEquals("Ceres 8", results.get("race").asText());
+        assertFalse(results.get("prizes").isEmpty());
+        assertFalse(results.get("team_prizes").isEmpty());
+        assertFalse(results.get("team_prizes").get(0).get("runners").isEmpty());
+    }
+
+    @Test
+    public void relayRace(@TempDir final Path run_directory) throws IOException {
+
+        final JsonNode results = processRace(RELAY_RACE_DIRECTORY, run_directory, "devils_burdens_results_2024.json");
+        final JsonNode first_result = results.get("overall").get(0).get("results").get(0);
+        final JsonNode legs = first_result.get("legs");
+
+        assertEquals(4, legs.size());
+        assertEquals(first_result.get("time").asText(), legs.get(3).get("split").asText());
+        assertEquals(legs.get(0).get("time").asText(), legs.get(0).get("split").asText());
+
+        // Paired legs are run by two runners.
+        assertTrue(legs.get(1).get("runners").asText().contains(Config.RUNNER_PAIR_NAMES_SEPARATOR));
+    }
+
+    @Test
+    public void seriesRace(@TempDir final Path run_directory) throws IOException {
+
+        final JsonNode results = processRace(SERIES_RACE_DIRECTORY, run_directory, "midweek_results_2025.json");
+        final JsonNode first_result = results.get("overall").get(0).get("results").get(0);
+
+        // Pos,Runner,Club,Category,St Andrews 5M,Strathkinness-Blebocraigs,Hill of Tarvit,Kirkcaldy Trail,Balmullo,Total,Completed
+        final List<String> expected = getFirstCSVResult(SERIES_RACE_DIRECTORY, "midweek_overall_2025.csv");
+
+        assertEquals(5, results.get("races").size());
+        assertEquals(5, results.get("races_taken_place").asInt());
+
+        assertEquals(expected.get(1), first_result.get("runner").asText());
+        assertEquals(expected.subList(4, 9), first_result.get("scores").valueStream().map(JsonNode::asText).toList());
+        assertEquals(expected.get(9), first_result.get("total").asText());
+        assertTrue(first_result.get("completed").asBoolean());
+    }
+
+    //////////////////////////////////////////////////////////////////////////////////////////////////
+
+    private static JsonNode processRace(final Path race_directory, final Path run_directory, final String json_file_name) throws IOException {
+
+        final Path config_path = copyInputs(race_directory.resolve("input"), run_directory);
+        final Path output_directory = TestRaces.processRace(config_path, RaceFactory.OUTPUTS_OPTION + "results_json");
+
+        return new ObjectMapper().readTree(output_directory.resolve(json_file_name).toFile());
+    }
+
+    private static List<String> getFirstCSVResult(final Path race_directory, final String csv_file_name) throws IOException {
+
+        return List.of(Files.readAllLines(race_directory.resolve("expected").resolve(csv_file_name)).get(1).split(Config.CSV_SEPARATOR));
+    }
+}
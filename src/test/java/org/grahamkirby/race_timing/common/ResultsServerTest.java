@@ -0,0 +1,181 @@
+/*
+ * race-timing - <https://github.com/grahamkirby/race-timing>
+ * Copyright © 2026 Graham Kirby (race-timing@kirby-family.net)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.grahamkirby.race_timing.common;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+import static org.grahamkirby.race_timing.TestRaces.copyInputs;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ResultsServerTest {
+
+    private static final Path INPUT_DIRECTORY = Path.of("src/test/resources/real/individual_race/balmullo/2026/input");
+    private static final Path SERIES_INPUT_DIRECTORY = Path.of("src/test/resources/real/series_race/midweek/2025/input");
+    private static final String RAW_RESULTS_FILE_NAME = "rawtimes.txt";
+    private static final String OVERALL_RESULTS_PAGE_NAME = "balmullo_overall_2026.html";
+    private static final String PRIZES_PAGE_NAME = "balmullo_prizes_2026.html";
+
+    private ResultsServer server;
+    private final HttpClient client = HttpClient.newHttpClient();
+
+    @BeforeEach
+    public void startServer() throws IOException {
+
+        server = new ResultsServer(0);
+        server.start();
+    }
+
+    @AfterEach
+    public void stopServer() {
+        server.stop();
+    }
+
+    //////////////////////////////////////////////////////////////////////////////////////////////////
+
+    @Test
+    public void pagesAreServedFromMemory(@TempDir final Path run_directory) throws Exception {
+
+        new LiveRace(copyInputs(INPUT_DIRECTORY, run_directory), server).update();
+
+        final HttpResponse<String> response = get(OVERALL_RESULTS_PAGE_NAME, null);
+
+        assertEquals(200, response.statusCode());
+        assertTrue(response.headers().firstValue("Content-Type").orElseThrow().startsWith("text/html"));
+        assertEquals(server.getETag(OVERALL_RESULTS_PAGE_NAME), response.headers().firstValue("ETag").orElseThrow());
+        assertFalse(response.body().isEmpty());
+
+        assertFalse(Files.exists(run_directory.resolve(Config.OUTPUT_DIRECTORY_NAME).resolve(OVERALL_RESULTS_PAGE_NAME)));
+        assertEquals(404, get("missing.html", null).statusCode());
+        assertTrue(get("", null).body().contains(PRIZES_PAGE_NAME));
+    }
+
+    @Test
+    public void unchangedPageIsNotModified(@TempDir final Path run_directory) throws Exception {
+
+        final Path config_path = copyInputs(INPUT_DIRECTORY, run_directory);
+
+        new LiveRace(config_path, server).update();
+        final String etag = server.getETag(OVERALL_RESULTS_PAGE_NAME);
+
+        // Processing the same data again should leave the page unchanged.
+        new LiveRace(config_path, server).update();
+        assertEquals(etag, server.getETag(OVERALL_RESULTS_PAGE_NAME));
+
+        final HttpResponse<String> response = get(OVERALL_RESULTS_PAGE_NAME, etag);
+
+        assertEquals(304, response.statusCode());
+        assertTrue(response.body().isEmpty());
+    }
+
+    @Test
+    public void changedPageHasNewETag(@TempDir final Path run_directory) throws Exception {
+
+        final Path config_path = copyInputs(INPUT_DIRECTORY, run_directory);
+        final Path raw_results_path = config_path.resolveSibling(RAW_RESULTS_FILE_NAME);
+        final List<String> raw_results = Files.readAllLines(raw_results_path);
+
+        Files.write(raw_results_path, raw_results.subList(0, raw_results.size() - 1), StandardOpenOption.TRUNCATE_EXISTING);
+
+        final LiveRace live_race = new LiveRace(config_path, server);
+        live_race.update();
+        final String etag = server.getETag(OVERALL_RESULTS_PAGE_NAME);
+
+        Files.write(raw_results_path, raw_results.subList(raw_results.size() - 1, raw_results.size()), StandardOpenOption.APPEND);
+        live_race.update();
+
+        assertNotEquals(etag, server.getETag(OVERALL_RESULTS_PAGE_NAME));
+        assertEquals(200, get(OVERALL_RESULTS_PAGE_NAME, etag).statusCode());
+    }
+
+    @Test
+    public void eventStreamReceivesNewFinishers(@TempDir final Path run_directory) throws Exception {
+
+        final Path config_path = copyInputs(INPUT_DIRECTORY, run_directory);
+        final Path raw_results_path = config_path.resolveSibling(RAW_RESULTS_FILE_NAME);
+        final List<String> raw_results = Files.readAllLines(raw_results_path);
+        final List<String> appended_results = raw_results.subList(raw_results.size() - 2, raw_results.size());
+
+        Files.write(raw_results_path, raw_results.subList(0, raw_results.size() - 2), StandardOpenOption.TRUNCATE_EXISTING);
+
+        final LiveRace live_race = new LiveRace(config_path, server);
+        live_race.update();
+
+        final HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + server.getPort() + ResultsServer.EVENTS_PATH)).build();
+        final Iterator<String> lines = client.send(request, HttpResponse.BodyHandlers.ofLines()).body().iterator();
+
+        assertTimeoutPreemptively(Duration.ofSeconds(10), () -> {
+
+            while (server.getNumberOfEventClients() == 0) Thread.sleep(10);
+
+            Files.write(raw_results_path, appended_results, StandardOpenOption.APPEND);
+            live_race.update();
+
+            final List<String> finisher_data = new ArrayList<>();
+
+            while (finisher_data.size() < appended_results.size()) {
+                if (lines.next().equals("event: " + ResultsEventStream.FINISHER_EVENT))
+                    finisher_data.add(lines.next());
+            }
+
+            for (int i = 0; i < appended_results.size(); i++) {
+
+                final String bib_number = appended_results.get(i).split("\t")[0];
+                assertTrue(finisher_data.get(i).startsWith("data: {\"bib_number\":" + bib_number + ","), finisher_data.get(i));
+                assertTrue(finisher_data.get(i).contains("\"position\":\"" + (raw_results.size() - appended_results.size() + i + 1) + "\""), finisher_data.get(i));
+            }
+        });
+    }
+
+    @Test
+    public void seriesPagesAreServed(@TempDir final Path run_directory) throws Exception {
+
+        new LiveRace(copyInputs(SERIES_INPUT_DIRECTORY, run_directory), server).update();
+
+        final HttpResponse<String> response = get("midweek_overall_2025.html", null);
+
+        assertEquals(200, response.statusCode());
+        assertTrue(response.body().contains("<td>"));
+        assertEquals(200, get("midweek_prizes_2025.html", null).statusCode());
+    }
+
+    //////////////////////////////////////////////////////////////////////////////////////////////////
+
+    private HttpResponse<String> get(final String page_name, final String if_none_match) throws IOException, InterruptedException {
+
+        final HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create("http://localhost:" + server.getPort() + "/" + page_name));
+        if (if_none_match != null) builder.header("If-None-Match", if_none_match);
+
+        return client.send(builder.build(), HttpResponse.BodyHandlers.ofString());
+    }
+}
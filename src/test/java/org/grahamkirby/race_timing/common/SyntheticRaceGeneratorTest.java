@@ -0,0 +1,90 @@
+/*
+ * race-timing - <https://github.com/grahamkirby/race-timing>
+ * Copyright © 2026 Graham Kirby (race-timing@kirby-family.net)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.grahamkirby.race_timing.common;
+
+import org.grahamkirby.race_timing.common.SyntheticRaceGenerator.SeriesScoring;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SyntheticRaceGeneratorTest {
+
+    @Test
+    public void individualRaceIsValid(@TempDir final Path race_directory) throws IOException {
+
+        final Path config_path = new SyntheticRaceGenerator(0).
+            setDnfPercentage(2).
+            setDeadHeatPercentage(2).
+            writeIndividualRace(race_directory, 1000);
+
+        process(config_path);
+
+        assertEquals(1001, Files.readAllLines(race_directory.resolve(Config.OUTPUT_DIRECTORY_NAME).resolve("synthetic_overall_2026.csv")).size());
+    }
+
+    @Test
+    public void relayRaceIsValid(@TempDir final Path race_directory) throws IOException {
+
+        final Path config_path = new SyntheticRaceGenerator(0).
+            setDnfPercentage(1).
+            setMissingDataPercentage(2).
+            writeRelayRace(race_directory, 100);
+
+        process(config_path);
+
+        assertEquals(101, Files.readAllLines(race_directory.resolve(Config.OUTPUT_DIRECTORY_NAME).resolve("synthetic_relay_overall_2026.csv")).size());
+    }
+
+    @Test
+    public void seriesRacesAreValid(@TempDir final Path directory) throws IOException {
+
+        for (final SeriesScoring scoring : SeriesScoring.values()) {
+
+            final Path race_directory = directory.resolve(scoring.name());
+            final Path config_path = new SyntheticRaceGenerator(0).writeSeriesRace(race_directory, 200, 8, scoring);
+
+            process(config_path);
+
+            assertTrue(Files.exists(race_directory.resolve(Config.OUTPUT_DIRECTORY_NAME).resolve("synthetic_series_overall_2026.csv")), scoring.name());
+        }
+    }
+
+    @Test
+    public void sameSeedGivesSameRace(@TempDir final Path race_directory1, @TempDir final Path race_directory2) throws IOException {
+
+        final Path config_path1 = new SyntheticRaceGenerator(1).writeRelayRace(race_directory1, 50);
+        final Path config_path2 = new SyntheticRaceGenerator(1).writeRelayRace(race_directory2, 50);
+
+        for (final String file_name : new String[]{"config.txt", "entries.txt", "rawtimes.txt"})
+            assertEquals(
+                Files.readAllLines(config_path1.resolveSibling(file_name)),
+                Files.readAllLines(config_path2.resolveSibling(file_name)));
+    }
+
+    //////////////////////////////////////////////////////////////////////////////////////////////////
+
+    private static void process(final Path config_path) {
+
+        new RaceFactory().createAndProcessRace(new String[]{config_path.toString()});
+    }
+}
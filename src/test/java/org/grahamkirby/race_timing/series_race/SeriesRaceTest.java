@@ -17,16 +17,33 @@
  */
 package org.grahamkirby.race_timing.series_race;
 
-import org.junit.jupiter.api.Disabled;
+import org.grahamkirby.race_timing.common.Config;
+import org.grahamkirby.race_timing.common.RaceFactory;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.List;
 
-import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.grahamkirby.race_timing.TestRaces.copyInputs;
+import static org.grahamkirby.race_timing.TestRaces.processRace;
+import static org.junit.jupiter.api.Assertions.*;
 
 public class SeriesRaceTest {
 
+    private static final Path LARGE_RACE_INPUT_DIRECTORY = Path.of("src/test/resources/synthetic/series_race/midweek/large_race/input");
+    private static final List<String> OUTPUT_FILE_NAMES = List.of("midweek_overall_2023.csv", "midweek_prizes_2023.txt", "midweek_processing_notes_2023.txt");
+    private static final Path INDIVIDUAL_RACE_INPUT = Path.of("balmullo", "input");
+    private static final Path INDIVIDUAL_RACE_SNAPSHOT = Path.of("balmullo", "output", "balmullo_snapshot_2023.bin");
+    private static final String SNAPSHOT_RUNNER_NAME = "Ben Kinninmonth";
+    private static final String ALTERED_SNAPSHOT_RUNNER_NAME = "Ben Kinninmouth";
+
     @Test
     public void seriesRaceUnsupportedOperations() throws IOException {
 
@@ -44,4 +61,65 @@ public class SeriesRaceTest {
             () -> ((SeriesRaceResultsProcessor)race.getResultsProcessor()).recordDNF("")
         );
     }
+
+    @Test
+    public void resultsAreUnchangedWhenIndividualRacesAreLoadedFromSnapshots(@TempDir final Path uncached_run_directory, @TempDir final Path cached_run_directory) throws IOException {
+
+        final Path uncached_config_path = copyInputs(LARGE_RACE_INPUT_DIRECTORY, uncached_run_directory);
+        final Path cached_config_path = copyInputs(LARGE_RACE_INPUT_DIRECTORY, cached_run_directory);
+        final Path cached_input_directory = cached_config_path.getParent();
+
+        Files.writeString(cached_config_path, System.lineSeparator() + Config.KEY_CACHE_INDIVIDUAL_RACES + " = true" + System.lineSeparator(), StandardOpenOption.APPEND);
+
+        final List<List<String>> uncached_output = readOutput(processRace(uncached_config_path));
+
+        assertFalse(Files.exists(uncached_config_path.getParent().resolve(INDIVIDUAL_RACE_SNAPSHOT)));
+
+        // The first run saves the snapshots.
+        assertEquals(uncached_output, readOutput(processRace(cached_config_path)));
+
+        final Path snapshot_path = cached_input_directory.resolve(INDIVIDUAL_RACE_SNAPSHOT);
+        assertTrue(Files.exists(snapshot_path));
+
+        // The second run loads the snapshots rather than saving them again. This and later runs are
+        // forced, since the series would otherwise be skipped as up to date.
+        final FileTime original_snapshot_time = FileTime.fromMillis(0);
+        Files.setLastModifiedTime(snapshot_path, original_snapshot_time);
+
+        assertEquals(uncached_output, readOutput(processRace(cached_config_path, RaceFactory.FORCE_OPTION)));
+        assertEquals(original_snapshot_time, Files.getLastModifiedTime(snapshot_path));
+
+        // A runner's name altered in the snapshot shows in the results only if the snapshot is read.
+        replaceInSnapshot(snapshot_path, SNAPSHOT_RUNNER_NAME, ALTERED_SNAPSHOT_RUNNER_NAME);
+
+        final List<List<String>> altered_output = readOutput(processRace(cached_config_path, RaceFactory.FORCE_OPTION));
+        assertTrue(altered_output.getFirst().stream().anyMatch(line -> line.contains(ALTERED_SNAPSHOT_RUNNER_NAME)));
+
+        // A change to the inputs of an individual race means that it is processed again.
+        Files.writeString(cached_input_directory.resolve(INDIVIDUAL_RACE_INPUT).resolve("rawtimes.txt"), "# Checked" + System.lineSeparator(), StandardOpenOption.APPEND);
+
+        assertEquals(uncached_output, readOutput(processRace(cached_config_path, RaceFactory.FORCE_OPTION)));
+        assertNotEquals(original_snapshot_time, Files.getLastModifiedTime(snapshot_path));
+    }
+
+    //////////////////////////////////////////////////////////////////////////////////////////////////
+
+    private static void replaceInSnapshot(final Path snapshot_path, final String original, final String replacement) throws IOException {
+
+        // Strings of the same length, so that the snapshot's length prefixes remain valid.
+        final String contents = Files.readString(snapshot_path, StandardCharsets.ISO_8859_1);
+        assertTrue(contents.contains(original));
+
+        Files.writeString(snapshot_path, contents.replace(original, replacement), StandardCharsets.ISO_8859_1);
+    }
+
+    private static List<List<String>> readOutput(final Path output_directory) throws IOException {
+
+        final List<List<String>> output = new ArrayList<>();
+
+        for (final String file_name : OUTPUT_FILE_NAMES)
+            output.add(Files.readAllLines(output_directory.resolve(file_name)));
+
+        return output;
+    }
 }